@@ -0,0 +1,28 @@
+#!/bin/sh
+# Regenerates src/main/resources/geo/zcta-centroids-2020.tsv from the Census 2020 ZCTA gazetteer:
+# https://www2.census.gov/geo/docs/maps-data/data/gazetteer/2020_Gazetteer/2020_Gaz_zcta_national.zip
+#
+# Usage: scripts/trim-zcta-gazetteer.sh path/to/2020_Gaz_zcta_national.txt
+set -eu
+
+src=${1:?usage: $0 path/to/2020_Gaz_zcta_national.txt}
+dest=$(dirname "$0")/../src/main/resources/geo/zcta-centroids-2020.tsv
+
+awk -F '\t' '
+    NR == 1 {
+        for (i = 1; i <= NF; i++) {
+            gsub(/ +$/, "", $i)
+            column[$i] = i
+        }
+        print "GEOID\tINTPTLAT\tINTPTLONG"
+        print "# Census 2020 ZCTA gazetteer, trimmed to zip and internal point. Regenerate with scripts/trim-zcta-gazetteer.sh."
+        next
+    }
+    {
+        lon = $column["INTPTLONG"]
+        gsub(/ +$/, "", lon)
+        print $column["GEOID"] "\t" $column["INTPTLAT"] "\t" lon
+    }
+' "$src" > "$dest"
+
+echo "Wrote $(($(wc -l < "$dest") - 2)) zip centroids to $dest"
@@ -0,0 +1,50 @@
+package com.callcastlecare.api.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache that can read and write many entries in one round trip, e.g. a Redis {@code MGET}
+ * and a pipelined batch of {@code SET}s.
+ */
+public interface BatchCache {
+
+    /**
+     * @param keys distinct keys to look up
+     * @return the entries found, by key; missing keys are absent
+     */
+    Map<Object, Cache.ValueWrapper> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Look up many keys in {@code cache}, in one batch if it supports it and otherwise one by one.
+     */
+    static Map<Object, Cache.ValueWrapper> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BatchCache batch) {
+            return batch.getAll(keys);
+        }
+        Map<Object, Cache.ValueWrapper> found = new LinkedHashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Write many entries to {@code cache}, in one batch if it supports it and otherwise one by one.
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof BatchCache batch) {
+            batch.putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+}
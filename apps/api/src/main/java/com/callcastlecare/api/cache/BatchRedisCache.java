@@ -0,0 +1,82 @@
+package com.callcastlecare.api.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link RedisCache} that also reads many keys with one {@code MGET} and writes many
+ * entries in one pipeline. Keys, values and TTLs go through the same conversion, serializers
+ * and TTL function as single-key operations, so entries are interchangeable with them.
+ */
+public class BatchRedisCache extends RedisCache implements BatchCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public BatchRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                           RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        List<?> ordered = List.copyOf(keys);
+        byte[][] redisKeys = new byte[ordered.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = serializeCacheKey(createCacheKey(ordered.get(i)));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            byte[] value = values != null ? values.get(i) : null;
+            // A value the codec cannot read deserializes to null and counts as a miss
+            ValueWrapper wrapper = value != null ? toValueWrapper(deserializeCacheValue(value)) : null;
+            if (wrapper != null) {
+                found.put(ordered.get(i), wrapper);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> connection.stringCommands().set(
+                        serializeCacheKey(createCacheKey(key)),
+                        serializeCacheValue(toStoreValue(value)),
+                        expiration(key, value),
+                        RedisStringCommands.SetOption.upsert()));
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    private Expiration expiration(Object key, Object value) {
+        Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return ttl != null && !ttl.isZero() && !ttl.isNegative() ? Expiration.from(ttl) : Expiration.persistent();
+    }
+}
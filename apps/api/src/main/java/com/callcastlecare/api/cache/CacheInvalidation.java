@@ -0,0 +1,19 @@
+package com.callcastlecare.api.cache;
+
+/**
+ * An eviction broadcast to the other nodes so they can drop their local copy.
+ *
+ * @param origin the ID of the node that made the change; nodes ignore their own messages
+ * @param cacheName the cache the entry belongs to
+ * @param key the evicted key, or {@code null} when the whole cache was cleared
+ */
+public record CacheInvalidation(String origin, String cacheName, Object key) {
+
+    public static CacheInvalidation clear(String origin, String cacheName) {
+        return new CacheInvalidation(origin, cacheName, null);
+    }
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.callcastlecare.api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans local cache evictions out to every node sharing the same caches. Delivery is best
+ * effort: a lost message leaves a stale local entry until its TTL expires.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,112 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/cachestats}: one summary per cache of the meters recorded by
+ * {@link InstrumentedCache} and {@link SizeRecordingRedisSerializer}, for tuning TTLs and
+ * sizes without a metrics backend. Latencies are in milliseconds and sizes in bytes, both
+ * since startup.
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public record CacheStats(long hits, long misses, Double hitRatio, Latency get, Latency load,
+                             Latency redisGet, Latency redisPut, Double meanValueSize, Double maxValueSize) {
+    }
+
+    public record Latency(long count, double meanMs, double maxMs, Double p50Ms, Double p99Ms) {
+    }
+
+    @ReadOperation
+    public Map<String, CacheStats> caches() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        for (String cache : cacheNames()) {
+            stats.put(cache, stats(cache));
+        }
+        return stats;
+    }
+
+    @ReadOperation
+    public CacheStats cache(@Selector String name) {
+        return cacheNames().contains(name) ? stats(name) : null;
+    }
+
+    private TreeSet<String> cacheNames() {
+        TreeSet<String> names = new TreeSet<>();
+        meterRegistry.find("cache.access").timers().forEach(timer -> names.add(timer.getId().getTag("cache")));
+        return names;
+    }
+
+    private CacheStats stats(String cache) {
+        Timer hits = timer("cache.access", cache, "get", "hit");
+        Timer misses = timer("cache.access", cache, "get", "miss");
+        long hitCount = hits != null ? hits.count() : 0;
+        long missCount = misses != null ? misses.count() : 0;
+        long total = hitCount + missCount;
+
+        Timer load = meterRegistry.find("cache.load").tag("cache", cache).timer();
+        DistributionSummary sizes = meterRegistry.find("cache.value.size").tag("cache", cache).summary();
+        boolean sized = sizes != null && sizes.count() > 0;
+
+        return new CacheStats(hitCount, missCount, total == 0 ? null : (double) hitCount / total,
+                latency(hits, misses),
+                latency(load, null),
+                latency(timer("cache.redis", cache, "get", "hit"), timer("cache.redis", cache, "get", "miss")),
+                latency(timer("cache.redis", cache, "put", "none"), null),
+                sized ? sizes.mean() : null,
+                sized ? sizes.max() : null);
+    }
+
+    private Timer timer(String name, String cache, String operation, String result) {
+        return meterRegistry.find(name).tag("cache", cache).tag("operation", operation).tag("result", result).timer();
+    }
+
+    /**
+     * Combine up to two timers. Percentiles are only exact for a single timer, so they are
+     * reported only when the other one has no samples.
+     */
+    private static Latency latency(Timer first, Timer second) {
+        long firstCount = first != null ? first.count() : 0;
+        long secondCount = second != null ? second.count() : 0;
+        long count = firstCount + secondCount;
+        if (count == 0) {
+            return null;
+        }
+        double totalMs = (first != null ? first.totalTime(TimeUnit.MILLISECONDS) : 0)
+                + (second != null ? second.totalTime(TimeUnit.MILLISECONDS) : 0);
+        double maxMs = Math.max(first != null ? first.max(TimeUnit.MILLISECONDS) : 0,
+                second != null ? second.max(TimeUnit.MILLISECONDS) : 0);
+        Timer only = secondCount == 0 ? first : firstCount == 0 ? second : null;
+        return new Latency(count, totalMs / count, maxMs, percentile(only, 0.5), percentile(only, 0.99));
+    }
+
+    private static Double percentile(Timer timer, double percentile) {
+        if (timer == null) {
+            return null;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every operation on a cache and records whether gets hit.
+ *
+ * <p>Operations are recorded on one timer family, {@code <metric>{cache,operation,result}},
+ * with median and p99 plus histogram buckets for backends that aggregate them. When
+ * load tracking is on, the time from a miss to the {@code put} of the same key on the same
+ * thread is recorded as {@code cache.load}; that is how a non-sync {@code @Cacheable} fills a
+ * missing entry, so it measures the cost of the cached method itself.
+ *
+ * <p>Batch reads and writes record one sample per key, each with an equal share of the batch's
+ * time, so hit ratios and per-key latency stay comparable with single-key operations.
+ */
+public class InstrumentedCache implements Cache, BatchCache {
+
+    private final Cache delegate;
+    private final Timer hits;
+    private final Timer misses;
+    private final Timer puts;
+    private final Timer evictions;
+    private final Timer clears;
+    private final Timer loads;
+    // Per cache, so a cached method that reads other caches does not lose its own pending load
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    public InstrumentedCache(Cache delegate, String metric, boolean trackLoads, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = timer(metric, name, "get", "hit", meterRegistry);
+        this.misses = timer(metric, name, "get", "miss", meterRegistry);
+        this.puts = timer(metric, name, "put", "none", meterRegistry);
+        this.evictions = timer(metric, name, "evict", "none", meterRegistry);
+        this.clears = timer(metric, name, "clear", "none", meterRegistry);
+        this.loads = trackLoads
+                ? Timer.builder("cache.load").tag("cache", name).publishPercentileHistogram().register(meterRegistry)
+                : null;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper value = delegate.get(key);
+        long end = System.nanoTime();
+        (value != null ? hits : misses).record(end - start, TimeUnit.NANOSECONDS);
+        if (loads != null) {
+            // A miss that is never followed by a put (the method threw, or unless= applied) is
+            // replaced by this thread's next get instead of lingering
+            if (value == null) {
+                pendingLoad.set(new PendingLoad(key, end));
+            } else {
+                pendingLoad.remove();
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long start = System.nanoTime();
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long loadStart = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                if (loads != null) {
+                    loads.record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+        (loaded[0] ? misses : hits).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return value;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        long start = System.nanoTime();
+        Map<Object, ValueWrapper> found = BatchCache.getAll(delegate, keys);
+        if (!keys.isEmpty()) {
+            long share = (System.nanoTime() - start) / keys.size();
+            for (int i = 0; i < keys.size(); i++) {
+                (i < found.size() ? hits : misses).record(share, TimeUnit.NANOSECONDS);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        long start = System.nanoTime();
+        BatchCache.putAll(delegate, entries);
+        if (!entries.isEmpty()) {
+            long share = (System.nanoTime() - start) / entries.size();
+            for (int i = 0; i < entries.size(); i++) {
+                puts.record(share, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad pending = loads != null ? pendingLoad.get() : null;
+        if (pending != null && Objects.equals(pending.key(), key)) {
+            pendingLoad.remove();
+            loads.record(System.nanoTime() - pending.missedAt(), TimeUnit.NANOSECONDS);
+        }
+        puts.record(() -> delegate.put(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.record(() -> delegate.evict(key));
+    }
+
+    @Override
+    public void clear() {
+        clears.record(delegate::clear);
+    }
+
+    private static Timer timer(String metric, String cache, String operation, String result, MeterRegistry meterRegistry) {
+        return Timer.builder(metric)
+                .tag("cache", cache)
+                .tag("operation", operation)
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record PendingLoad(Object key, long missedAt) {
+    }
+}
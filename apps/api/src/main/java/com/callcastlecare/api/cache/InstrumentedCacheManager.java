@@ -0,0 +1,55 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of a cache manager in an {@link InstrumentedCache}.
+ *
+ * <p>{@link com.callcastlecare.api.config.CacheConfig} applies it twice when Redis is enabled:
+ * around the Redis caches as {@code cache.redis}, which times round trips, and around the
+ * outermost manager as {@code cache.access}, which is what {@code @Cacheable} callers see and
+ * also records load times.
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final String metric;
+    private final boolean trackLoads;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public InstrumentedCacheManager(CacheManager delegate, String metric, boolean trackLoads, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.metric = metric;
+        this.trackLoads = trackLoads;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new InstrumentedCache(target, metric, trackLoads, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
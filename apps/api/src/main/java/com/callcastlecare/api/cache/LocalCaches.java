@@ -0,0 +1,98 @@
+package com.callcastlecare.api.cache;
+
+import com.callcastlecare.api.config.LocalCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the in-process Caffeine caches used as the L1 tier in front of Redis and as the only
+ * tier when Redis is disabled. Caffeine's W-TinyLFU admission keeps frequently read entries
+ * when the bound is reached instead of whatever was written last.
+ */
+public final class LocalCaches {
+
+    private LocalCaches() {
+    }
+
+    /**
+     * A builder bounded by {@code spec}: by weight when {@code maxWeight} is set, otherwise by
+     * entry count. Statistics are recorded so hits and evictions can be exported.
+     */
+    public static Caffeine<Object, Object> builder(LocalCacheProperties.Spec spec, Duration ttl) {
+        return builder(spec, ttl, 0);
+    }
+
+    /**
+     * As {@link #builder(LocalCacheProperties.Spec, Duration)}, but each write expires after
+     * its own {@linkplain #jitter jittered} TTL so entries loaded together do not all expire
+     * together.
+     */
+    public static Caffeine<Object, Object> builder(LocalCacheProperties.Spec spec, Duration ttl, double jitter) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (jitter > 0) {
+            builder.expireAfter(new JitteredExpiry(ttl, jitter));
+        } else {
+            builder.expireAfterWrite(ttl);
+        }
+        if (spec.getMaxWeight() > 0) {
+            return builder.maximumWeight(spec.getMaxWeight()).weigher(LocalCaches::weigh);
+        }
+        return builder.maximumSize(spec.getMaxSize());
+    }
+
+    /**
+     * Shorten {@code ttl} by a random fraction of up to {@code jitter}, so the configured TTL
+     * stays the upper bound on staleness.
+     */
+    public static Duration jitter(Duration ttl, double jitter) {
+        if (jitter <= 0) {
+            return ttl;
+        }
+        return Duration.ofNanos((long) (ttl.toNanos() * (1 - ThreadLocalRandom.current().nextDouble(Math.min(jitter, 1)))));
+    }
+
+    /**
+     * Weigh an entry by the number of elements it holds, so one cached list of fifty pricing
+     * options counts like fifty single options.
+     */
+    static int weigh(Object key, Object value) {
+        if (value instanceof Cache.ValueWrapper wrapper) {
+            value = wrapper.get();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size() + 1;
+        } else if (value instanceof Map<?, ?> map) {
+            return map.size() + 1;
+        } else if (value instanceof Object[] array) {
+            return array.length + 1;
+        }
+        return 1;
+    }
+
+    /**
+     * Expire-after-write with a freshly jittered TTL on every create and update.
+     */
+    private record JitteredExpiry(Duration ttl, double fraction) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return jitter(ttl, fraction).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return jitter(ttl, fraction).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations over a Redis pub/sub channel.
+ *
+ * <p>Messages are plain text, {@code origin|cache|type|key}, so keys round-trip with their
+ * original type and compare equal to the keys in the local caches. Only String, Long and
+ * Integer keys are sent as-is; any other key is sent as a clear of the whole cache, which is
+ * always safe. Pub/sub does not buffer messages for disconnected subscribers, so the local
+ * TTL remains the upper bound on staleness.
+ *
+ * <p>Subscribing happens in the background and is retried until Redis is reachable, so an
+ * outage at startup does not stop the application; until then this node only misses
+ * invalidations, which the TTL covers. Once subscribed, the listener container handles
+ * reconnects itself.
+ */
+@Slf4j
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener, SmartLifecycle {
+
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channel;
+    private final Duration retryInterval;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread subscriber;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter failed;
+
+    public RedisCacheInvalidationBus(RedisConnectionFactory connectionFactory, String channel, Duration retryInterval,
+                                     MeterRegistry meterRegistry) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.channel = channel;
+        this.retryInterval = retryInterval;
+        this.published = meterRegistry.counter("cache.invalidations", "result", "published");
+        this.received = meterRegistry.counter("cache.invalidations", "result", "received");
+        this.failed = meterRegistry.counter("cache.invalidations", "result", "failed");
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        subscriber = Thread.ofPlatform().name("cache-invalidation-subscriber").daemon().start(this::subscribe);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        subscriber.interrupt();
+        listenerContainer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void subscribe() {
+        while (running && !listenerContainer.isListening()) {
+            try {
+                listenerContainer.start();
+                log.info("Subscribed to cache invalidation channel {}", channel);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not subscribe to cache invalidation channel {}, retrying in {}: {}",
+                        channel, retryInterval, e.getMessage());
+                listenerContainer.stop();
+            }
+            try {
+                Thread.sleep(retryInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, encode(invalidation));
+            published.increment();
+        } catch (RuntimeException e) {
+            // The change itself has been applied; other nodes catch up when their entries expire
+            failed.increment();
+            log.warn("Failed to publish invalidation for cache {}: {}", invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            failed.increment();
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+            return;
+        }
+        received.increment();
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    static String encode(CacheInvalidation invalidation) {
+        Object key = invalidation.key();
+        String type;
+        if (key == null) {
+            type = "*";
+        } else if (key instanceof String) {
+            type = "s";
+        } else if (key instanceof Long) {
+            type = "l";
+        } else if (key instanceof Integer) {
+            type = "i";
+        } else {
+            type = "*";
+            key = null;
+        }
+        return invalidation.origin() + SEPARATOR + invalidation.cacheName() + SEPARATOR + type + SEPARATOR
+                + (key != null ? key : "");
+    }
+
+    static CacheInvalidation decode(String payload) {
+        // The key comes last, so it may itself contain the separator
+        String[] parts = payload.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected origin|cache|type|key but got: " + payload);
+        }
+        Object key = switch (parts[2]) {
+            case "*" -> null;
+            case "s" -> parts[3];
+            case "l" -> Long.valueOf(parts[3]);
+            case "i" -> Integer.valueOf(parts[3]);
+            default -> throw new IllegalArgumentException("Unknown key type: " + parts[2]);
+        };
+        return new CacheInvalidation(parts[0], parts[1], key);
+    }
+}
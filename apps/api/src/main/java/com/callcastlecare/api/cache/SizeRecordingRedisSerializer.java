@@ -0,0 +1,43 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Records the size of each value written to a Redis cache as {@code cache.value.size}.
+ */
+public class SizeRecordingRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final DistributionSummary sizes;
+
+    public SizeRecordingRedisSerializer(RedisSerializer<T> delegate, String cacheName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.sizes = DistributionSummary.builder("cache.value.size")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            sizes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
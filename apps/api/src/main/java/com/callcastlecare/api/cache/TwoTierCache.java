@@ -0,0 +1,217 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A bounded local cache (L1) in front of a shared cache such as Redis (L2).
+ *
+ * <p>Reads try L1 first, then L2, and copy L2 hits into L1. Writes and evictions go to L2
+ * first and then L1, so this node never serves a value it has just replaced. Evictions are
+ * then broadcast on the {@link CacheInvalidationBus} so other nodes drop their L1 copy; if a
+ * broadcast is lost, the L1 TTL still bounds how long another node can serve the old value.
+ * Puts are not broadcast: {@code @Cacheable} fills them from the source of truth, and changes
+ * go through {@code @CacheEvict}.
+ *
+ * <p>Loads through {@link #get(Object, Callable)} ({@code @Cacheable(sync = true)}) are
+ * coalesced per key: concurrent misses on one node wait for a single load instead of each
+ * querying L2 and the source.
+ *
+ * <p>Batch reads take what L1 holds and fetch only the rest from L2, in one batch when L2
+ * supports it; batch writes go to L2 in one batch and then to L1.
+ *
+ * <p>L1 holds the same instances it hands out; callers must treat cached values as immutable.
+ */
+public class TwoTierCache implements Cache, BatchCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local,
+                        Cache remote, CacheInvalidationBus invalidationBus, String nodeId,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.nodeId = nodeId;
+
+        this.localHits = meterRegistry.counter("cache.tier.gets", "cache", name, "tier", "l1", "result", "hit");
+        this.localMisses = meterRegistry.counter("cache.tier.gets", "cache", name, "tier", "l1", "result", "miss");
+        this.remoteHits = meterRegistry.counter("cache.tier.gets", "cache", name, "tier", "l2", "result", "hit");
+        this.remoteMisses = meterRegistry.counter("cache.tier.gets", "cache", name, "tier", "l2", "result", "miss");
+        Gauge.builder("cache.tier.hit.ratio", this, cache -> ratio(cache.localHits, cache.localMisses))
+                .tag("cache", name).tag("tier", "l1")
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.hit.ratio", this, cache -> ratio(cache.remoteHits, cache.remoteMisses))
+                .tag("cache", name).tag("tier", "l2")
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name).tag("tier", "l1")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+
+        ValueWrapper shared = getRemote(key);
+        if (shared != null) {
+            local.put(key, shared);
+        }
+        return shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return (T) cached.get();
+        }
+        localMisses.increment();
+
+        // Caffeine runs at most one mapping function per key; concurrent callers wait for it
+        return (T) local.get(key, k -> {
+            ValueWrapper shared = getRemote(k);
+            if (shared != null) {
+                return shared;
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            remote.put(k, value);
+            return new SimpleValueWrapper(value);
+        }).get();
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new LinkedHashMap<>(local.getAllPresent(keys));
+        localHits.increment(found.size());
+        localMisses.increment(keys.size() - found.size());
+        List<Object> misses = new ArrayList<>(keys.size() - found.size());
+        for (Object key : keys) {
+            if (!found.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        Map<Object, ValueWrapper> shared = BatchCache.getAll(remote, misses);
+        remoteHits.increment(shared.size());
+        remoteMisses.increment(misses.size() - shared.size());
+        shared.forEach((key, wrapper) -> {
+            ValueWrapper entry = new SimpleValueWrapper(wrapper.get());
+            local.put(key, entry);
+            found.put(key, entry);
+        });
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        BatchCache.putAll(remote, entries);
+        entries.forEach((key, value) -> local.put(key, new SimpleValueWrapper(value)));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationBus.publish(CacheInvalidation.clear(nodeId, name));
+    }
+
+    /**
+     * Drop entries from this node's L1 only, leaving the shared tier untouched.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper shared = remote.get(key);
+        if (shared == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        return new SimpleValueWrapper(shared.get());
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? Double.NaN : hits.count() / total;
+    }
+}
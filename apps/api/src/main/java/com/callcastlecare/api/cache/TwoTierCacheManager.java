@@ -0,0 +1,83 @@
+package com.callcastlecare.api.cache;
+
+import com.callcastlecare.api.config.LocalCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a shared cache manager and puts a {@link TwoTierCache} local tier in front of every
+ * cache configured under {@code cache.local.caches}. Other caches are returned unchanged.
+ *
+ * <p>Each manager has its own node ID. It publishes its evictions on the invalidation bus and
+ * applies evictions from other nodes to its local tier only; the shared tier has already been
+ * updated by the node that made the change.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final LocalCacheProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote, LocalCacheProperties properties,
+                               CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> decorate(n, remoteCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private Cache decorate(String name, Cache remoteCache) {
+        LocalCacheProperties.Spec spec = properties.getCaches().get(name);
+        if (!properties.isEnabled() || spec == null) {
+            return remoteCache;
+        }
+        return new TwoTierCache(name, LocalCaches.builder(spec, spec.getTtl(), properties.getTtlJitter()).build(),
+                remoteCache, invalidationBus, nodeId, meterRegistry);
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        // Only caches this node has already created can hold a stale entry
+        if (caches.get(invalidation.cacheName()) instanceof TwoTierCache cache) {
+            if (invalidation.isClear()) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(invalidation.key());
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.callcastlecare.api.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the encodings written by {@link BinaryOutput}. Reading past the end throws
+ * {@link IllegalArgumentException}.
+ */
+public final class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    public BinaryInput(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    public int readInt() {
+        require(4);
+        return (buffer[position++] & 0xFF) << 24
+                | (buffer[position++] & 0xFF) << 16
+                | (buffer[position++] & 0xFF) << 8
+                | (buffer[position++] & 0xFF);
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        long header = readVarLong();
+        if (header == 0) {
+            return null;
+        }
+        int length = Math.toIntExact(header - 1);
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > limit) {
+            throw new IllegalArgumentException("Unexpected end of input");
+        }
+    }
+}
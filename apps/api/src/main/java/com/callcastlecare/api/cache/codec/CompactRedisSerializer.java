@@ -0,0 +1,153 @@
+package com.callcastlecare.api.cache.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer for one cache's value type using a {@link ValueCodec}.
+ *
+ * <p>Layout: a marker byte, the 4-byte schema fingerprint, then the encoded value. Bodies of
+ * at least {@code compressionThreshold} bytes are deflated, in which case the marker says so
+ * and the uncompressed length precedes the body; compression is kept only if it saves space.
+ *
+ * <p>A value with an unknown marker or a different fingerprint, such as JSON left by an older
+ * release or a value written before a DTO gained a field, deserializes to {@code null} and is
+ * treated as a cache miss.
+ */
+@Slf4j
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    // Neither marker is a valid first byte of JSON text
+    private static final int PLAIN = 0xC0;
+    private static final int DEFLATED = 0xC1;
+    private static final int HEADER_BYTES = 5;
+
+    // zlib streams allocate their native buffers on creation, which costs more than compressing
+    // a typical cache value, so a few are kept for reuse across threads
+    private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(16);
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(16);
+
+    private final ValueCodec<T> codec;
+    private final int fingerprint;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(Type type, int compressionThreshold) {
+        this.codec = ValueCodecs.forType(type);
+        this.compressionThreshold = compressionThreshold;
+        CRC32 crc = new CRC32();
+        crc.update(codec.schema().getBytes(StandardCharsets.UTF_8));
+        this.fingerprint = (int) crc.getValue();
+    }
+
+    @Override
+    public byte[] serialize(T value) {
+        if (value == null) {
+            return null;
+        }
+        BinaryOutput out = new BinaryOutput(256);
+        out.writeByte(PLAIN);
+        out.writeInt(fingerprint);
+        try {
+            codec.write(out, value);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot encode " + codec.schema(), e);
+        }
+
+        int bodyLength = out.size() - HEADER_BYTES;
+        if (bodyLength < compressionThreshold) {
+            return out.toByteArray();
+        }
+        byte[] compressed = deflate(out.buffer(), bodyLength);
+        if (compressed == null) {
+            return out.toByteArray();
+        }
+        BinaryOutput framed = new BinaryOutput(HEADER_BYTES + 5 + compressed.length);
+        framed.writeByte(DEFLATED);
+        framed.writeInt(fingerprint);
+        framed.writeVarLong(bodyLength);
+        framed.writeBytes(compressed, 0, compressed.length);
+        return framed.toByteArray();
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES) {
+            return null;
+        }
+        int marker = bytes[0] & 0xFF;
+        if (marker != PLAIN && marker != DEFLATED) {
+            return null;
+        }
+        BinaryInput in = new BinaryInput(bytes, 0, bytes.length);
+        in.readByte();
+        if (in.readInt() != fingerprint) {
+            log.debug("Discarding cached {} written with a different schema", codec.schema());
+            return null;
+        }
+        try {
+            if (marker == DEFLATED) {
+                int length = Math.toIntExact(in.readVarLong());
+                byte[] body = inflate(bytes, bytes.length - in.position(), in.position(), length);
+                in = new BinaryInput(body, 0, body.length);
+            }
+            return codec.read(in);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot decode " + codec.schema(), e);
+        }
+    }
+
+    private static byte[] deflate(byte[] buffer, int length) {
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        try {
+            deflater.setInput(buffer, HEADER_BYTES, length);
+            deflater.finish();
+            byte[] compressed = new byte[length];
+            int size = deflater.deflate(compressed);
+            if (!deflater.finished() || size >= length) {
+                return null;
+            }
+            return Arrays.copyOf(compressed, size);
+        } finally {
+            deflater.reset();
+            if (!DEFLATERS.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int compressedLength, int offset, int length) {
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        try {
+            inflater.setInput(bytes, offset, compressedLength);
+            byte[] body = new byte[length];
+            if (inflater.inflate(body) != length) {
+                throw new IllegalArgumentException("Truncated compressed value");
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed value", e);
+        } finally {
+            inflater.reset();
+            if (!INFLATERS.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.callcastlecare.api.cache.codec;
+
+/**
+ * Binary encoding for one Java type. Codecs do not write type names or field names; both
+ * sides derive the layout from the same {@link #schema()}, which is fingerprinted so that a
+ * value written by a different version of a class is detected instead of misread.
+ *
+ * @param <T> the encoded type
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Write a non-null value.
+     */
+    void write(BinaryOutput out, T value);
+
+    T read(BinaryInput in);
+
+    /**
+     * A canonical description of the layout, e.g. {@code List<OrderDto{id:Long,...}>}.
+     */
+    String schema();
+}
@@ -0,0 +1,463 @@
+package com.callcastlecare.api.cache.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Derives {@link ValueCodec}s from Java types.
+ *
+ * <p>Supported types are boxed and primitive {@code boolean}, {@code int}, {@code long} and
+ * {@code double}, {@code String}, {@code BigDecimal}, enums, {@code LocalDate},
+ * {@code LocalTime}, {@code LocalDateTime}, {@code List} and {@code Set} of a supported type,
+ * {@code Object[]} of scalars, and classes with a no-arg constructor whose instance fields
+ * are all supported (our Lombok DTOs). Bean fields are written in name order behind a null
+ * bitmap; enums are written by ordinal, and their constant names are part of the schema, so
+ * reordering constants changes the fingerprint. Unsupported types are rejected when the
+ * codec is built, not when a value is first cached.
+ */
+public final class ValueCodecs {
+
+    private static final Map<Type, ValueCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    private ValueCodecs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ValueCodec<T> forType(Type type) {
+        ValueCodec<?> codec = CODECS.get(type);
+        if (codec == null) {
+            // Not computeIfAbsent: building a bean codec recursively builds codecs for its fields
+            codec = create(type);
+            ValueCodec<?> existing = CODECS.putIfAbsent(type, codec);
+            if (existing != null) {
+                codec = existing;
+            }
+        }
+        return (ValueCodec<T>) codec;
+    }
+
+    private static ValueCodec<?> create(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            if (raw == List.class || raw == Set.class) {
+                return new CollectionCodec(raw == Set.class, forType(parameterized.getActualTypeArguments()[0]));
+            }
+            throw new IllegalArgumentException("Unsupported cache value type: " + type);
+        }
+        if (!(type instanceof Class<?> cls)) {
+            throw new IllegalArgumentException("Unsupported cache value type: " + type);
+        }
+        if (cls == Boolean.class || cls == boolean.class) {
+            return BOOLEAN;
+        } else if (cls == Integer.class || cls == int.class) {
+            return INTEGER;
+        } else if (cls == Long.class || cls == long.class) {
+            return LONG;
+        } else if (cls == Double.class || cls == double.class) {
+            return DOUBLE;
+        } else if (cls == String.class) {
+            return STRING;
+        } else if (cls == BigDecimal.class) {
+            return BIG_DECIMAL;
+        } else if (cls == LocalDate.class) {
+            return LOCAL_DATE;
+        } else if (cls == LocalTime.class) {
+            return LOCAL_TIME;
+        } else if (cls == LocalDateTime.class) {
+            return LOCAL_DATE_TIME;
+        } else if (cls == Object[].class) {
+            return OBJECT_ARRAY;
+        } else if (cls.isEnum()) {
+            return new EnumCodec<>(cls);
+        } else if (cls.isPrimitive() || cls.isArray() || cls.isInterface() || cls.getName().startsWith("java.")) {
+            throw new IllegalArgumentException("Unsupported cache value type: " + cls.getName());
+        }
+        return new BeanCodec<>(cls);
+    }
+
+    private static final ValueCodec<Boolean> BOOLEAN = new ScalarCodec<>("Boolean") {
+        @Override
+        public void write(BinaryOutput out, Boolean value) {
+            out.writeByte(value ? 1 : 0);
+        }
+
+        @Override
+        public Boolean read(BinaryInput in) {
+            return in.readByte() != 0;
+        }
+    };
+
+    private static final ValueCodec<Integer> INTEGER = new ScalarCodec<>("Integer") {
+        @Override
+        public void write(BinaryOutput out, Integer value) {
+            out.writeSignedVarLong(value);
+        }
+
+        @Override
+        public Integer read(BinaryInput in) {
+            return Math.toIntExact(in.readSignedVarLong());
+        }
+    };
+
+    private static final ValueCodec<Long> LONG = new ScalarCodec<>("Long") {
+        @Override
+        public void write(BinaryOutput out, Long value) {
+            out.writeSignedVarLong(value);
+        }
+
+        @Override
+        public Long read(BinaryInput in) {
+            return in.readSignedVarLong();
+        }
+    };
+
+    private static final ValueCodec<Double> DOUBLE = new ScalarCodec<>("Double") {
+        @Override
+        public void write(BinaryOutput out, Double value) {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double read(BinaryInput in) {
+            return in.readDouble();
+        }
+    };
+
+    private static final ValueCodec<String> STRING = new ScalarCodec<>("String") {
+        @Override
+        public void write(BinaryOutput out, String value) {
+            out.writeString(value);
+        }
+
+        @Override
+        public String read(BinaryInput in) {
+            return in.readString();
+        }
+    };
+
+    private static final ValueCodec<BigDecimal> BIG_DECIMAL = new ScalarCodec<>("BigDecimal") {
+        @Override
+        public void write(BinaryOutput out, BigDecimal value) {
+            out.writeSignedVarLong(value.scale());
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 63) {
+                // Prices fit a long; a zero byte count tells the reader to expect one
+                out.writeVarLong(0);
+                out.writeSignedVarLong(unscaled.longValue());
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                out.writeVarLong(bytes.length);
+                out.writeBytes(bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public BigDecimal read(BinaryInput in) {
+            int scale = Math.toIntExact(in.readSignedVarLong());
+            int length = Math.toIntExact(in.readVarLong());
+            if (length == 0) {
+                return BigDecimal.valueOf(in.readSignedVarLong(), scale);
+            }
+            return new BigDecimal(new BigInteger(in.readBytes(length)), scale);
+        }
+    };
+
+    private static final ValueCodec<LocalDate> LOCAL_DATE = new ScalarCodec<>("LocalDate") {
+        @Override
+        public void write(BinaryOutput out, LocalDate value) {
+            out.writeSignedVarLong(value.toEpochDay());
+        }
+
+        @Override
+        public LocalDate read(BinaryInput in) {
+            return LocalDate.ofEpochDay(in.readSignedVarLong());
+        }
+    };
+
+    private static final ValueCodec<LocalTime> LOCAL_TIME = new ScalarCodec<>("LocalTime") {
+        @Override
+        public void write(BinaryOutput out, LocalTime value) {
+            // Whole seconds, the usual case for time slots, take at most three bytes
+            if (value.getNano() == 0) {
+                out.writeVarLong((long) value.toSecondOfDay() << 1);
+            } else {
+                out.writeVarLong(value.toNanoOfDay() << 1 | 1);
+            }
+        }
+
+        @Override
+        public LocalTime read(BinaryInput in) {
+            long encoded = in.readVarLong();
+            return (encoded & 1) == 0
+                    ? LocalTime.ofSecondOfDay(encoded >>> 1)
+                    : LocalTime.ofNanoOfDay(encoded >>> 1);
+        }
+    };
+
+    private static final ValueCodec<LocalDateTime> LOCAL_DATE_TIME = new ScalarCodec<>("LocalDateTime") {
+        @Override
+        public void write(BinaryOutput out, LocalDateTime value) {
+            LOCAL_DATE.write(out, value.toLocalDate());
+            LOCAL_TIME.write(out, value.toLocalTime());
+        }
+
+        @Override
+        public LocalDateTime read(BinaryInput in) {
+            return LocalDateTime.of(LOCAL_DATE.read(in), LOCAL_TIME.read(in));
+        }
+    };
+
+    /**
+     * Arrays of mixed scalars, such as the {@code [livingArea, lotSize]} pairs cached for
+     * property lookups. Each element carries a one-byte type tag.
+     */
+    private static final ValueCodec<Object[]> OBJECT_ARRAY = new ScalarCodec<>("Object[]") {
+        private final List<ValueCodec<?>> tagged = List.of(BOOLEAN, INTEGER, LONG, DOUBLE, STRING, BIG_DECIMAL);
+        private final List<Class<?>> types = List.of(Boolean.class, Integer.class, Long.class, Double.class,
+                String.class, BigDecimal.class);
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(BinaryOutput out, Object[] value) {
+            out.writeVarLong(value.length);
+            for (Object element : value) {
+                if (element == null) {
+                    out.writeByte(0);
+                    continue;
+                }
+                int tag = types.indexOf(element.getClass());
+                if (tag < 0) {
+                    throw new IllegalArgumentException("Unsupported array element type: " + element.getClass().getName());
+                }
+                out.writeByte(tag + 1);
+                ((ValueCodec<Object>) tagged.get(tag)).write(out, element);
+            }
+        }
+
+        @Override
+        public Object[] read(BinaryInput in) {
+            Object[] value = new Object[Math.toIntExact(in.readVarLong())];
+            for (int i = 0; i < value.length; i++) {
+                int tag = in.readByte();
+                if (tag > tagged.size()) {
+                    throw new IllegalArgumentException("Unknown array element tag: " + tag);
+                }
+                value[i] = tag == 0 ? null : tagged.get(tag - 1).read(in);
+            }
+            return value;
+        }
+    };
+
+    private abstract static class ScalarCodec<T> implements ValueCodec<T> {
+        private final String schema;
+
+        ScalarCodec(String schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public String schema() {
+            return schema;
+        }
+    }
+
+    private static final class EnumCodec<E> implements ValueCodec<E> {
+        private final E[] constants;
+        private final String schema;
+
+        @SuppressWarnings("unchecked")
+        EnumCodec(Class<?> type) {
+            this.constants = (E[]) type.getEnumConstants();
+            this.schema = type.getSimpleName() + Arrays.stream(constants)
+                    .map(constant -> ((Enum<?>) constant).name())
+                    .collect(Collectors.joining(",", "(", ")"));
+        }
+
+        @Override
+        public void write(BinaryOutput out, E value) {
+            out.writeVarLong(((Enum<?>) value).ordinal());
+        }
+
+        @Override
+        public E read(BinaryInput in) {
+            int ordinal = Math.toIntExact(in.readVarLong());
+            if (ordinal >= constants.length) {
+                throw new IllegalArgumentException("Unknown ordinal " + ordinal + " for " + schema);
+            }
+            return constants[ordinal];
+        }
+
+        @Override
+        public String schema() {
+            return schema;
+        }
+    }
+
+    private static final class CollectionCodec implements ValueCodec<Collection<Object>> {
+        private final boolean set;
+        private final ValueCodec<Object> elements;
+
+        @SuppressWarnings("unchecked")
+        CollectionCodec(boolean set, ValueCodec<?> elements) {
+            this.set = set;
+            this.elements = (ValueCodec<Object>) elements;
+        }
+
+        @Override
+        public void write(BinaryOutput out, Collection<Object> value) {
+            out.writeVarLong(value.size());
+            for (Object element : value) {
+                if (element == null) {
+                    out.writeByte(0);
+                } else {
+                    out.writeByte(1);
+                    elements.write(out, element);
+                }
+            }
+        }
+
+        @Override
+        public Collection<Object> read(BinaryInput in) {
+            int size = Math.toIntExact(in.readVarLong());
+            Collection<Object> value = set ? new LinkedHashSet<>() : new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                value.add(in.readByte() == 0 ? null : elements.read(in));
+            }
+            return value;
+        }
+
+        @Override
+        public String schema() {
+            return (set ? "Set<" : "List<") + elements.schema() + ">";
+        }
+    }
+
+    private static final class BeanCodec<T> implements ValueCodec<T> {
+        private final String name;
+        private final MethodHandle constructor;
+        private final BeanField[] fields;
+        private final int bitmapBytes;
+
+        BeanCodec(Class<T> type) {
+            this.name = type.getSimpleName();
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                Constructor<T> noArgs = type.getDeclaredConstructor();
+                this.constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+
+                List<Field> declared = new ArrayList<>();
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        declared.add(field);
+                    }
+                }
+                // Declaration order is not guaranteed by reflection; name order is stable
+                declared.sort(Comparator.comparing(Field::getName));
+                this.fields = new BeanField[declared.size()];
+                for (int i = 0; i < fields.length; i++) {
+                    Field field = declared.get(i);
+                    fields[i] = new BeanField(field.getName(), field.getType().isPrimitive(),
+                            lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class)),
+                            lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class)),
+                            ValueCodecs.<Object>forType(field.getGenericType()));
+                }
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot derive a codec for " + type.getName(), e);
+            }
+            this.bitmapBytes = (fields.length + 7) / 8;
+        }
+
+        @Override
+        public void write(BinaryOutput out, T value) {
+            Object[] values = new Object[fields.length];
+            byte[] bitmap = new byte[bitmapBytes];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = fields[i].get(value);
+                if (values[i] == null) {
+                    bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            out.writeBytes(bitmap, 0, bitmapBytes);
+            for (int i = 0; i < fields.length; i++) {
+                if (values[i] != null) {
+                    fields[i].codec.write(out, values[i]);
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(BinaryInput in) {
+            T value;
+            try {
+                value = (T) constructor.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot instantiate " + name, e);
+            }
+            byte[] bitmap = in.readBytes(bitmapBytes);
+            for (int i = 0; i < fields.length; i++) {
+                boolean isNull = (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+                if (!isNull) {
+                    fields[i].set(value, fields[i].codec.read(in));
+                } else if (!fields[i].primitive) {
+                    // Overrides defaults such as @Builder.Default empty lists
+                    fields[i].set(value, null);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public String schema() {
+            StringBuilder schema = new StringBuilder(name).append('{');
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    schema.append(',');
+                }
+                schema.append(fields[i].name).append(':').append(fields[i].codec.schema());
+            }
+            return schema.append('}').toString();
+        }
+    }
+
+    private record BeanField(String name, boolean primitive, MethodHandle getter, MethodHandle setter,
+                             ValueCodec<Object> codec) {
+
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read " + name, e);
+            }
+        }
+
+        void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot write " + name, e);
+            }
+        }
+    }
+}
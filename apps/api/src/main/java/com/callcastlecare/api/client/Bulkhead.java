@@ -0,0 +1,82 @@
+package com.callcastlecare.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls to one downstream service.
+ *
+ * <p>With requests handled on virtual threads the container no longer bounds how many callers
+ * can be blocked on a slow dependency at once, so each blocking client takes a permit per call.
+ * Callers that cannot get one within the acquire timeout fail fast instead of piling more load
+ * onto a dependency that is already struggling.
+ */
+public class Bulkhead {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @Getter
+    private final String name;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("max-concurrent-calls for " + name + " must be positive");
+        }
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = meterRegistry.counter("downstream.calls.rejected", "downstream", name);
+        Gauge.builder("downstream.calls.active", permits, p -> maxConcurrentCalls - p.availablePermits())
+                .tag("downstream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wait up to the acquire timeout for a permit. A caller that gets one must {@link #release()} it.
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Run a call while holding a permit.
+     *
+     * @throws BulkheadFullException if no permit became available within the acquire timeout
+     */
+    public <T, E extends Exception> T execute(Call<T, E> call) throws E {
+        if (!tryAcquire()) {
+            throw new BulkheadFullException(name);
+        }
+        try {
+            return call.call();
+        } finally {
+            release();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.callcastlecare.api.client;
+
+/**
+ * Thrown when a call to a downstream service is refused because its {@link Bulkhead} has no
+ * permit free within the acquire timeout.
+ */
+public class BulkheadFullException extends IllegalStateException {
+
+    public BulkheadFullException(String downstream) {
+        super("Too many concurrent calls to " + downstream);
+    }
+}
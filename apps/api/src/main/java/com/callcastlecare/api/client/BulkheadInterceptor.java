@@ -0,0 +1,48 @@
+package com.callcastlecare.api.client;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Applies a {@link Bulkhead} to every call made through a synchronous AWS SDK client, so the
+ * cap holds for all callers without wrapping each call site. The permit is held for the whole
+ * execution, retries included.
+ */
+public class BulkheadInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Boolean> PERMIT = new ExecutionAttribute<>("BulkheadPermit");
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        if (!bulkhead.tryAcquire()) {
+            throw new BulkheadFullException(bulkhead.getName());
+        }
+        executionAttributes.putAttribute(PERMIT, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        release(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        release(executionAttributes);
+    }
+
+    // Release only a permit this execution holds, and only once
+    private void release(ExecutionAttributes executionAttributes) {
+        if (Boolean.TRUE.equals(executionAttributes.getAttribute(PERMIT))) {
+            executionAttributes.putAttribute(PERMIT, Boolean.FALSE);
+            bulkhead.release();
+        }
+    }
+}
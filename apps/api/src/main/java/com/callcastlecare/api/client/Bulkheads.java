@@ -0,0 +1,34 @@
+package com.callcastlecare.api.client;
+
+import com.callcastlecare.api.config.DownstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One {@link Bulkhead} per downstream service, sized from {@code downstream.limits.<name>}, so
+ * every client of the same service shares its cap.
+ */
+@Component
+@RequiredArgsConstructor
+public class Bulkheads {
+
+    public static final String ZILLOW = "zillow";
+    public static final String COGNITO = "cognito";
+    public static final String TWILIO = "twilio";
+    public static final String RESEND = "resend";
+
+    private final DownstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public Bulkhead get(String downstream) {
+        return bulkheads.computeIfAbsent(downstream, name -> {
+            DownstreamProperties.Limit limit = properties.limitFor(name);
+            return new Bulkhead(name, limit.getMaxConcurrentCalls(), limit.getAcquireTimeout(), meterRegistry);
+        });
+    }
+}
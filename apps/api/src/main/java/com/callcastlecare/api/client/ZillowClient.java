@@ -3,6 +3,8 @@ package com.callcastlecare.api.client;
 import com.callcastlecare.api.dto.AddressDto;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -12,14 +14,27 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Service
 @Slf4j
 public class ZillowClient {
 
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Map<String, String> STREET_ABBREVIATIONS = Map.of(
+            "street", "st", "avenue", "ave", "road", "rd", "drive", "dr", "boulevard", "blvd",
+            "lane", "ln", "court", "ct", "place", "pl", "apartment", "apt", "suite", "ste");
+    // Returned when the API fails; recognised by identity so it is never cached
+    private static final Object[] DEFAULT_SIZE_DATA = { 1800, "0.25 acres" };
+    
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final SingleFlight<String, Object[]> lookups;
+    private final Bulkhead callPermits;
+    private final Timer callTimer;
     
     @Value("${zillow.api.key:66919cbde3mshbde07fa46d45f97p139cadjsn4f4821f6a9e3}")
     private String zillowApiKey;
@@ -27,24 +42,76 @@ public class ZillowClient {
     @Value("${zillow.api.host:zillow-com1.p.rapidapi.com}")
     private String zillowApiHost;
     
-    public ZillowClient() {
+    public ZillowClient(MeterRegistry meterRegistry, Bulkheads bulkheads) {
         this.httpClient = new OkHttpClient.Builder()
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
                 .build();
         this.objectMapper = new ObjectMapper();
+        this.lookups = new SingleFlight<>("zillow", meterRegistry);
+        this.callPermits = bulkheads.get(Bulkheads.ZILLOW);
+        this.callTimer = Timer.builder("zillow.calls")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Normalised cache and coalescing key for an address, so that formatting differences
+     * such as case, punctuation, street suffix spelling or a ZIP+4 map to the same lookup.
+     */
+    public static String addressKey(AddressDto address) {
+        String zip = address.getZip() == null ? "" : address.getZip().trim();
+        return normalize(address.getStreet()) + "|" + normalize(address.getCity()) + "|"
+                + normalize(address.getState()) + "|" + (zip.length() > 5 ? zip.substring(0, 5) : zip);
+    }
+    
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String[] words = NON_ALPHANUMERIC.split(value.toLowerCase(Locale.ROOT).trim());
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(STREET_ABBREVIATIONS.getOrDefault(word, word));
+        }
+        return normalized.toString();
     }
     
     /**
      * Fetches property size data from Zillow API based on the provided address
      * Only retrieves the lot size and living area (square footage) needed for service pricing
+     * Concurrent cache misses for the same address share a single outbound call
+     * Default size data returned because the API failed is not cached, so the next request
+     * for the address asks the API again
      * 
      * @param address The address to look up
      * @return Object array containing [livingArea, lotSize]
+     * @throws BulkheadFullException if too many Zillow calls are already in flight
      */
-    @Cacheable(value = "propertyData", key = "#address.street + '-' + #address.city + '-' + #address.state + '-' + #address.zip")
+    @Cacheable(value = "propertyData", key = "T(com.callcastlecare.api.client.ZillowClient).addressKey(#address)",
+            unless = "T(com.callcastlecare.api.client.ZillowClient).isDefaultSizeData(#result)")
     public Object[] getPropertySizeData(AddressDto address) {
+        return lookups.execute(addressKey(address), () -> fetchWithPermit(address));
+    }
+    
+    /**
+     * Bounds the number of concurrent outbound calls; callers that cannot get a permit in
+     * time are refused rather than quoted from made-up size data.
+     *
+     * @throws BulkheadFullException if no permit became available within the acquire timeout
+     */
+    private Object[] fetchWithPermit(AddressDto address) {
+        return callPermits.execute(() -> callTimer.record(() -> fetchPropertySizeData(address)));
+    }
+    
+    private Object[] fetchPropertySizeData(AddressDto address) {
         try {
             // In a production environment, we would first search for the property by address to get the zpid
             // For demonstration, using a direct property lookup with a sample zpid
@@ -98,6 +165,13 @@ public class ZillowClient {
      * @return Object array with default [livingArea, lotSize]
      */
     private Object[] getDefaultSizeData() {
-        return new Object[] { 1800, "0.25 acres" };
+        return DEFAULT_SIZE_DATA;
+    }
+    
+    /**
+     * Whether a result is the default size data rather than the property's own
+     */
+    public static boolean isDefaultSizeData(Object[] propertySizeData) {
+        return propertySizeData == DEFAULT_SIZE_DATA;
     }
 }
@@ -9,7 +9,7 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
 @Configuration
 @Getter
@@ -30,10 +30,10 @@ public class AppConfig {
     }
     
     @Bean
-    public SqsClient sqsClient() {
+    public SqsAsyncClient sqsAsyncClient() {
         AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(awsAccessKey, awsSecretKey);
         
-        return SqsClient.builder()
+        return SqsAsyncClient.builder()
                 .region(Region.of(awsRegion))
                 .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
                 .build();
@@ -0,0 +1,14 @@
+package com.callcastlecare.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} methods. They run on Boot's application task executor, which uses
+ * virtual threads when {@code spring.threads.virtual.enabled} is set, as it is for request
+ * handling and scheduled jobs.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
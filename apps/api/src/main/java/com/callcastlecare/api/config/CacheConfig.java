@@ -1,9 +1,29 @@
 package com.callcastlecare.api.config;
 
+import com.callcastlecare.api.cache.BatchRedisCacheManager;
+import com.callcastlecare.api.cache.CacheInvalidationBus;
+import com.callcastlecare.api.cache.InProcessCacheInvalidationBus;
+import com.callcastlecare.api.cache.InstrumentedCacheManager;
+import com.callcastlecare.api.cache.LocalCaches;
+import com.callcastlecare.api.cache.RedisCacheInvalidationBus;
+import com.callcastlecare.api.cache.SizeRecordingRedisSerializer;
+import com.callcastlecare.api.cache.TwoTierCacheManager;
+import com.callcastlecare.api.cache.codec.CompactRedisSerializer;
+import com.callcastlecare.api.dto.CustomerDto;
+import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.WorkerDto;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,49 +32,135 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
-public class CacheConfig {
+public class CacheConfig implements CachingConfigurer {
 
     // Redis configuration is now handled by RedisConfig class
     
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    
+    // Every cache, its TTL and value type; shared by the Redis and standalone cache managers
+    private static final List<CacheDefinition> CACHES = List.of(
+            new CacheDefinition("customers", Duration.ofMinutes(5), CustomerDto.class),
+            new CacheDefinition("workers", Duration.ofMinutes(5), WorkerDto.class),
+            new CacheDefinition("orders", Duration.ofMinutes(2), OrderDto.class),
+            new CacheDefinition("propertyData", Duration.ofDays(7), Object[].class)
+    );
+    
+    private record CacheDefinition(String name, Duration ttl, Type valueType) {
+    }
+    
+    @Value("${cache.codec.format:compact}")
+    private String codecFormat;
+    
+    @Value("${cache.codec.compression-threshold:1024}")
+    private int compressionThreshold;
+    
+    /**
+     * Treat cache failures (e.g. Redis unavailable or an entry written in an older format)
+     * as misses instead of failing the request.
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler(true);
+    }
+    
+    /**
+     * In-process caches for single-node and test deployments without Redis. Each cache keeps
+     * its Redis TTL and takes its size or weight bound from {@code cache.local.caches}.
+     */
     @Bean
     @Primary
     @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "false")
-    public CacheManager simpleCacheManager() {
-        return new ConcurrentMapCacheManager("customers", "workers", "orders", "pricingOptions");
+    public CacheManager simpleCacheManager(LocalCacheProperties localCacheProperties, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches created on demand for names not listed below
+        cacheManager.setCaffeine(LocalCaches.builder(new LocalCacheProperties.Spec(), DEFAULT_TTL));
+        for (CacheDefinition cache : CACHES) {
+            LocalCacheProperties.Spec spec = localCacheProperties.getCaches()
+                    .getOrDefault(cache.name(), new LocalCacheProperties.Spec());
+            Cache<Object, Object> nativeCache = LocalCaches.builder(spec, cache.ttl(), localCacheProperties.getTtlJitter()).build();
+            cacheManager.registerCustomCache(cache.name(), nativeCache);
+            // Bound here because the instrumented wrapper hides the Caffeine caches from Boot's cache metrics
+            CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, cache.name());
+        }
+        return new InstrumentedCacheManager(cacheManager, "cache.access", true, meterRegistry);
     }
     
+    @Bean
+    @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "false")
+    public CacheInvalidationBus inProcessCacheInvalidationBus() {
+        return new InProcessCacheInvalidationBus();
+    }
+    
+    /**
+     * Broadcasts local-tier evictions to the other API replicas over Redis pub/sub.
+     */
     @Bean
     @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = true)
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public RedisCacheInvalidationBus redisCacheInvalidationBus(RedisConnectionFactory redisConnectionFactory,
+                                                               @Value("${cache.invalidation.channel:cache:invalidations}") String channel,
+                                                               @Value("${cache.invalidation.retry-interval:5s}") Duration retryInterval,
+                                                               MeterRegistry meterRegistry) {
+        return new RedisCacheInvalidationBus(redisConnectionFactory, channel, retryInterval, meterRegistry);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                          LocalCacheProperties localCacheProperties,
+                                          CacheInvalidationBus cacheInvalidationBus,
+                                          MeterRegistry meterRegistry) {
+        // Without JavaTimeModule the DTOs' LocalDate/LocalDateTime fields fail to serialize
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
         RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
-                        )
-                );
+                .entryTtl(DEFAULT_TTL)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(json));
+        
+        // Per-cache settings derive from cacheConfig and differ only in TTL and value codec.
+        // TTLs are jittered per write so entries cached together do not expire together.
+        double jitter = localCacheProperties.getTtlJitter();
+        Map<String, RedisCacheConfiguration> cacheConfigs = new LinkedHashMap<>();
+        for (CacheDefinition cache : CACHES) {
+            RedisCacheConfiguration ttl = jitter > 0
+                    ? cacheConfig.entryTtl((key, value) -> LocalCaches.jitter(cache.ttl(), jitter))
+                    : cacheConfig.entryTtl(cache.ttl());
+            cacheConfigs.put(cache.name(), ttl
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            valueSerializer(cache, json, meterRegistry))));
+        }
+        // Also reads and writes many keys per round trip (MGET and pipelined SETs) for batch lookups
+        RedisCacheManager redisCacheManager = new BatchRedisCacheManager(redisConnectionFactory, cacheConfig, cacheConfigs);
+        redisCacheManager.afterPropertiesSet();
         
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfig)
-                .withCacheConfiguration("customers", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)))
-                .withCacheConfiguration("workers", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)))
-                .withCacheConfiguration("orders", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(2)))
-                .withCacheConfiguration("pricingOptions", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)))
-                .withCacheConfiguration("pricingOptionsByServiceType", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)))
-                .withCacheConfiguration("pricingOptionsByServiceTypeAndBillingPeriod", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)))
-                .withCacheConfiguration("propertyData", 
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofDays(7)))
-                .build();
+        // Configured caches get a bounded in-process tier in front of Redis, kept in step across nodes by the bus.
+        // Redis round trips are timed beneath the local tier, and what callers see is timed on top of it.
+        CacheManager twoTier = new TwoTierCacheManager(
+                new InstrumentedCacheManager(redisCacheManager, "cache.redis", false, meterRegistry),
+                localCacheProperties, cacheInvalidationBus, meterRegistry);
+        return new InstrumentedCacheManager(twoTier, "cache.access", true, meterRegistry);
+    }
+    
+    /**
+     * The compact binary codec for a cache's values unless {@code cache.codec.format=json},
+     * recording the size of each value written. The codec is built here so an unsupported
+     * value type fails at startup.
+     */
+    private RedisSerializer<?> valueSerializer(CacheDefinition cache, RedisSerializer<Object> json,
+                                               MeterRegistry meterRegistry) {
+        RedisSerializer<?> serializer = "compact".equalsIgnoreCase(codecFormat)
+                ? new CompactRedisSerializer<>(cache.valueType(), compressionThreshold)
+                : json;
+        return new SizeRecordingRedisSerializer<>(serializer, cache.name(), meterRegistry);
     }
 }
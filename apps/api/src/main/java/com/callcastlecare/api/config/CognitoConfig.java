@@ -1,5 +1,7 @@
 package com.callcastlecare.api.config;
 
+import com.callcastlecare.api.client.BulkheadInterceptor;
+import com.callcastlecare.api.client.Bulkheads;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +19,7 @@ public class CognitoConfig {
 
     private final CognitoProperties cognitoProperties;
     private final AppConfig appConfig;
+    private final Bulkheads bulkheads;
 
     @Bean
     public CognitoIdentityProviderClient cognitoIdentityProviderClient() {
@@ -24,6 +27,8 @@ public class CognitoConfig {
                 .region(Region.of(cognitoProperties.getRegion()))
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(appConfig.getAwsAccessKey(), appConfig.getAwsSecretKey())))
+                .overrideConfiguration(config -> config.addExecutionInterceptor(
+                        new BulkheadInterceptor(bulkheads.get(Bulkheads.COGNITO))))
                 .build();
     }
 }
@@ -0,0 +1,37 @@
+package com.callcastlecare.api.config;
+
+import com.callcastlecare.api.dispatch.DispatchIndex;
+import com.callcastlecare.api.dispatch.DispatchWorker;
+import com.callcastlecare.api.dispatch.ProximityLoadScoringPolicy;
+import com.callcastlecare.api.dispatch.ScoringPolicy;
+import com.callcastlecare.api.geo.GeoGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the dispatch index, its scoring policy and the worker proximity index.
+ * The default scoring policy is replaced by declaring another {@link ScoringPolicy} bean
+ * marked {@code @Primary}.
+ */
+@Configuration
+public class DispatchConfig {
+
+    @Bean
+    public ScoringPolicy scoringPolicy(
+            @Value("${dispatch.scoring.same-zip-weight:100}") double sameZipWeight,
+            @Value("${dispatch.scoring.same-area-weight:50}") double sameAreaWeight,
+            @Value("${dispatch.scoring.load-penalty:10}") double loadPenalty) {
+        return new ProximityLoadScoringPolicy(sameZipWeight, sameAreaWeight, loadPenalty);
+    }
+
+    @Bean
+    public DispatchIndex dispatchIndex(ScoringPolicy scoringPolicy) {
+        return new DispatchIndex(scoringPolicy);
+    }
+
+    @Bean
+    public GeoGrid<DispatchWorker> workerGeoIndex(@Value("${geo.grid.cell-degrees:0.05}") double cellDegrees) {
+        return new GeoGrid<>(cellDegrees);
+    }
+}
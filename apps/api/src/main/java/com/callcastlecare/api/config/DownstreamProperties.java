@@ -0,0 +1,35 @@
+package com.callcastlecare.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-downstream concurrency caps (bulkheads) applied to
+ * blocking clients: zillow, cognito, sqs, twilio and resend.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "downstream")
+public class DownstreamProperties {
+    // Used for any downstream not listed under limits
+    private Limit defaults = new Limit();
+
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    public Limit limitFor(String downstream) {
+        return limits.getOrDefault(downstream, defaults);
+    }
+
+    @Data
+    public static class Limit {
+        private int maxConcurrentCalls = 16;
+
+        // How long a caller waits for a permit before the call is refused
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,16 @@
+package com.callcastlecare.api.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * H2 dialect that renders {@code SKIP LOCKED}, which H2 2.x supports but Hibernate's
+ * {@link H2Dialect} does not declare. Without it the outbox claim query in the h2 profile
+ * waits on rows another relay holds instead of skipping them.
+ */
+public class H2SkipLockedDialect extends H2Dialect {
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+}
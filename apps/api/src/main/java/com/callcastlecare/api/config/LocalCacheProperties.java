@@ -0,0 +1,39 @@
+package com.callcastlecare.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the in-process caches: the L1 tier in front of Redis, and the
+ * only tier when Redis is disabled.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.local")
+public class LocalCacheProperties {
+    private boolean enabled = true;
+    
+    // Fraction by which each entry's TTL is randomly shortened, in both tiers, so entries
+    // loaded together (e.g. after a deploy) do not all expire and reload together
+    private double ttlJitter = 0;
+    
+    // Only caches listed here get a local tier; others go straight to the shared cache.
+    // Without Redis every cache is local and uses the size bound listed here, or the default.
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+    
+    @Data
+    public static class Spec {
+        private long maxSize = 1000;
+        
+        // Bound by total weight (elements of cached collections) instead of entry count when set
+        private long maxWeight = 0;
+        
+        // L1 TTL in front of Redis; without Redis the cache's Redis TTL applies instead
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
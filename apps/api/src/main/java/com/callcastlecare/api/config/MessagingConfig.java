@@ -0,0 +1,81 @@
+package com.callcastlecare.api.config;
+
+import com.callcastlecare.api.messaging.SqsBatchPublisher;
+import com.callcastlecare.api.messaging.SqsEventHandlerRegistry;
+import com.callcastlecare.api.messaging.SqsQueueConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.time.Duration;
+
+/**
+ * Configuration for SQS messaging components.
+ */
+@Configuration
+public class MessagingConfig {
+
+    @Value("${aws.sqs.order-queue-url}")
+    private String orderQueueUrl;
+
+    @Value("${sqs.publisher.capacity:1000}")
+    private int publisherCapacity;
+
+    @Value("${sqs.publisher.linger-ms:20}")
+    private long publisherLingerMs;
+
+    @Value("${sqs.publisher.offer-timeout-ms:500}")
+    private long publisherOfferTimeoutMs;
+
+    @Value("${sqs.publisher.max-in-flight-batches:8}")
+    private int publisherMaxInFlightBatches;
+
+    @Value("${sqs.consumer.concurrency:32}")
+    private int consumerConcurrency;
+
+    @Value("${sqs.consumer.pollers:2}")
+    private int consumerPollers;
+
+    @Value("${sqs.consumer.wait-time-seconds:20}")
+    private long consumerWaitTimeSeconds;
+
+    @Value("${sqs.consumer.visibility-timeout-seconds:30}")
+    private long consumerVisibilityTimeoutSeconds;
+
+    @Value("${sqs.consumer.max-processing-seconds:900}")
+    private long consumerMaxProcessingSeconds;
+
+    @Value("${sqs.consumer.delete-linger-ms:100}")
+    private long consumerDeleteLingerMs;
+
+    @Value("${sqs.consumer.shutdown-timeout-seconds:30}")
+    private long consumerShutdownTimeoutSeconds;
+
+    @Bean
+    public SqsBatchPublisher orderEventPublisher(SqsAsyncClient sqsAsyncClient, MeterRegistry meterRegistry) {
+        SqsBatchPublisher.Settings settings = new SqsBatchPublisher.Settings(
+                publisherCapacity,
+                Duration.ofMillis(publisherLingerMs),
+                Duration.ofMillis(publisherOfferTimeoutMs),
+                publisherMaxInFlightBatches);
+        return new SqsBatchPublisher(sqsAsyncClient, orderQueueUrl, settings, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sqs.consumer.enabled", havingValue = "true")
+    public SqsQueueConsumer orderQueueConsumer(SqsAsyncClient sqsAsyncClient, SqsEventHandlerRegistry handlers,
+                                               MeterRegistry meterRegistry) {
+        SqsQueueConsumer.Settings settings = new SqsQueueConsumer.Settings(
+                consumerConcurrency,
+                consumerPollers,
+                Duration.ofSeconds(consumerWaitTimeSeconds),
+                Duration.ofSeconds(consumerVisibilityTimeoutSeconds),
+                Duration.ofSeconds(consumerMaxProcessingSeconds),
+                Duration.ofMillis(consumerDeleteLingerMs),
+                Duration.ofSeconds(consumerShutdownTimeoutSeconds));
+        return new SqsQueueConsumer(sqsAsyncClient, orderQueueUrl, handlers, settings, meterRegistry);
+    }
+}
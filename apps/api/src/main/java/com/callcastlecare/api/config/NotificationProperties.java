@@ -0,0 +1,59 @@
+package com.callcastlecare.api.config;
+
+import com.callcastlecare.api.notification.NotificationChannel;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuration properties for asynchronous notification delivery.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+    private boolean enabled = true;
+    
+    // How long stop() waits for consumers to finish the message they are sending
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    
+    private Map<NotificationChannel, Channel> channels = new EnumMap<>(NotificationChannel.class);
+    
+    private Templates templates = new Templates();
+    
+    public Channel channel(NotificationChannel channel) {
+        return channels.computeIfAbsent(channel, c -> new Channel());
+    }
+    
+    @Data
+    public static class Channel {
+        // Messages waiting to be sent; when full, new ones go straight to the dead-letter store
+        private int queueCapacity = 1000;
+        
+        // Consumers sending in parallel (virtual threads), further bounded by the downstream cap
+        private int concurrency = 4;
+        
+        // Provider rate limit: sustained sends per second, and how many may go at once after a lull
+        private double ratePerSecond = 10;
+        private int burst = 10;
+        
+        // Attempts before a message is dead-lettered; retries back off exponentially, with jitter
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(5);
+    }
+    
+    @Data
+    public static class Templates {
+        // Directory with one subdirectory of templates per channel; a file: location can be edited live
+        private String location = "classpath:notification-templates/";
+        
+        // Locale used while customers have no language preference of their own
+        private Locale defaultLocale = Locale.ENGLISH;
+    }
+}
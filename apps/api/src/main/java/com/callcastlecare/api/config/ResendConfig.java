@@ -0,0 +1,53 @@
+package com.callcastlecare.api.config;
+
+import com.callcastlecare.api.client.Bulkheads;
+import com.callcastlecare.api.notification.ResendBatchSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for sending email through Resend.
+ */
+@Configuration
+public class ResendConfig {
+
+    @Value("${resend.api-key}")
+    private String apiKey;
+
+    @Value("${resend.base-url:https://api.resend.com}")
+    private String baseUrl;
+
+    @Value("${resend.batch.capacity:5000}")
+    private int batchCapacity;
+
+    @Value("${resend.batch.max-size:100}")
+    private int batchMaxSize;
+
+    @Value("${resend.batch.linger-ms:200}")
+    private long batchLingerMs;
+
+    @Value("${resend.batch.offer-timeout-ms:500}")
+    private long batchOfferTimeoutMs;
+
+    @Value("${resend.batch.request-timeout-ms:10000}")
+    private long batchRequestTimeoutMs;
+
+    @Value("${resend.batch.requests-per-second:2}")
+    private double batchRequestsPerSecond;
+
+    @Bean
+    public ResendBatchSender resendBatchSender(Bulkheads bulkheads, MeterRegistry meterRegistry) {
+        ResendBatchSender.Settings settings = new ResendBatchSender.Settings(
+                batchCapacity,
+                batchMaxSize,
+                Duration.ofMillis(batchLingerMs),
+                Duration.ofMillis(batchOfferTimeoutMs),
+                Duration.ofMillis(batchRequestTimeoutMs),
+                batchRequestsPerSecond);
+        return new ResendBatchSender(baseUrl, apiKey, settings, bulkheads.get(Bulkheads.RESEND), meterRegistry);
+    }
+}
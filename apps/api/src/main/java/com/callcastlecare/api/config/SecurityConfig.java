@@ -1,10 +1,17 @@
 package com.callcastlecare.api.config;
 
+import com.callcastlecare.api.security.JwksKeyStore;
 import com.callcastlecare.api.security.JwtConverter;
+import com.callcastlecare.api.security.VerifiedTokenCache;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -12,6 +19,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -26,8 +34,8 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final SecurityProperties securityProperties;
-    private final CognitoProperties cognitoProperties;
     private final JwtConverter jwtConverter;
+    private final JwksKeyStore jwksKeyStore;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -51,10 +59,7 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt
-                    .decoder(jwtDecoder())
-                    .jwtAuthenticationConverter(jwtConverter)
-                )
+                .jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager()))
             );
 
         // Allow frames for H2 console
@@ -63,9 +68,32 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Decode RS256 tokens against the keys held by {@link JwksKeyStore}. Claims (exp, nbf) are
+     * checked by the decoder's default validators, as with {@code withJwkSetUri}.
+     */
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withJwkSetUri(cognitoProperties.getJwkUrl()).build();
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwksKeyStore));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    /**
+     * Verify bearer tokens with the JWT decoder and convert them with {@link JwtConverter},
+     * reusing the result for repeated tokens unless the token cache is disabled.
+     */
+    private AuthenticationManager jwtAuthenticationManager() {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder());
+        provider.setJwtAuthenticationConverter(jwtConverter);
+
+        SecurityProperties.TokenCache tokenCache = securityProperties.getTokenCache();
+        if (!tokenCache.isEnabled()) {
+            return provider::authenticate;
+        }
+        return new VerifiedTokenCache(provider, tokenCache.getMaxSize(), tokenCache.getMaxTtl());
     }
 
     @Bean
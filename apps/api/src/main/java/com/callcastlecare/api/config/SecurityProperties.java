@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for security settings.
  */
@@ -18,4 +20,33 @@ public class SecurityProperties {
     private String[] allowedHeaders;
     private String[] exposedHeaders;
     private long maxAge;
+    private TokenCache tokenCache = new TokenCache();
+    private Jwks jwks = new Jwks();
+    
+    @Data
+    public static class TokenCache {
+        // Reuse the verified result of a bearer token until it expires, instead of parsing and
+        // checking its signature on every request
+        private boolean enabled = true;
+        private long maxSize = 10000;
+        
+        // Upper bound on how long a result is reused; entries never outlive the token's exp
+        private Duration maxTtl = Duration.ofMinutes(10);
+    }
+    
+    @Data
+    public static class Jwks {
+        // Where the signing keys are read from: an http(s) URL, file: or classpath: location.
+        // Defaults to aws.cognito.jwk-url; point it at a local file for offline tests.
+        private String location;
+        
+        // A token signed with a key we do not have refreshes the set at most this often
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+        
+        // Connect and read timeout for remote fetches
+        private Duration timeout = Duration.ofSeconds(5);
+        
+        // Optional file holding the last set fetched, used when the location is unreachable at startup
+        private String backupFile;
+    }
 }
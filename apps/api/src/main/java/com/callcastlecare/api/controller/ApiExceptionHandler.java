@@ -0,0 +1,52 @@
+package com.callcastlecare.api.controller;
+
+import com.callcastlecare.api.client.BulkheadFullException;
+import com.callcastlecare.api.exception.OrderStatusConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps concurrency conflicts to 409 responses so clients can refresh and retry, and input the
+ * services reject with {@link IllegalArgumentException} to 400. A downstream service at its
+ * concurrency cap yields 503 so the client retries later instead of getting a guessed answer.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(OrderStatusConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleOrderStatusConflict(OrderStatusConflictException e) {
+        log.info("Order status conflict: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", e.getMessage(),
+                "orderId", e.getOrderId(),
+                "currentStatus", e.getCurrentStatus()));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.info("Optimistic locking conflict: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "The resource was modified concurrently, please retry"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        log.info("Rejected request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", Objects.requireNonNullElse(e.getMessage(), "Bad request")));
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, Object>> handleBulkheadFull(BulkheadFullException e) {
+        log.warn("Shedding request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "error", "The service is busy, please retry"));
+    }
+}
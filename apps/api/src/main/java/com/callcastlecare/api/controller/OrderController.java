@@ -1,17 +1,27 @@
 package com.callcastlecare.api.controller;
 
+import com.callcastlecare.api.dispatch.DispatchCandidate;
 import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.OrderPageDto;
 import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.service.DispatchService;
 import com.callcastlecare.api.service.OrderService;
 import com.callcastlecare.api.service.SecurityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * REST controller for managing orders.
@@ -22,9 +32,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final DispatchService dispatchService;
     // This field is used in @PreAuthorize annotations for security expressions
     // e.g., @securityService.isOrderParticipant(#id, principal)
     private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new order.
@@ -51,39 +63,121 @@ public class OrderController {
     }
 
     /**
-     * Get all orders for a customer.
+     * Get many orders by ID in one call.
+     *
+     * <p>Access is checked once for the whole batch against the orders as loaded, so they are
+     * not read a second time; a caller who is not a participant in every requested order,
+     * including IDs that do not exist, is denied the whole batch.
+     *
+     * @param ids the order IDs
+     * @return the orders, in the order requested
+     */
+    @GetMapping(params = "ids")
+    @PostAuthorize("hasRole('ADMIN') or @securityService.isOrderParticipantForAll(#ids, returnObject.body, principal)")
+    public ResponseEntity<List<OrderDto>> getOrdersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(orderService.getOrdersByIds(ids));
+    }
+
+    /**
+     * Get a page of orders for a customer, newest first.
      *
      * @param customerId the customer ID
-     * @return list of orders for the customer
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the maximum number of orders to return (optional)
+     * @return a page of orders for the customer
      */
     @GetMapping("/customer/{customerId}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, principal)")
-    public ResponseEntity<List<OrderDto>> getOrdersByCustomerId(@PathVariable Long customerId) {
-        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId));
+    public ResponseEntity<OrderPageDto> getOrdersByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId, cursor, limit));
     }
 
     /**
-     * Get all orders assigned to a worker.
+     * Stream all orders for a customer as newline-delimited JSON.
+     *
+     * @param customerId the customer ID
+     * @return the orders, one JSON object per line
+     */
+    @GetMapping(value = "/customer/{customerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, principal)")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByCustomerId(@PathVariable Long customerId) {
+        return ndjson(sink -> orderService.streamOrdersByCustomerId(customerId, sink));
+    }
+
+    /**
+     * Get a page of orders assigned to a worker, newest first.
      *
      * @param workerId the worker ID
-     * @return list of orders assigned to the worker
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the maximum number of orders to return (optional)
+     * @return a page of orders assigned to the worker
      */
     @GetMapping("/worker/{workerId}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isWorkerOwner(#workerId, principal)")
-    public ResponseEntity<List<OrderDto>> getOrdersByWorkerId(@PathVariable Long workerId) {
-        return ResponseEntity.ok(orderService.getOrdersByWorkerId(workerId));
+    public ResponseEntity<OrderPageDto> getOrdersByWorkerId(
+            @PathVariable Long workerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersByWorkerId(workerId, cursor, limit));
     }
 
     /**
-     * Get orders by status.
+     * Stream all orders assigned to a worker as newline-delimited JSON.
+     *
+     * @param workerId the worker ID
+     * @return the orders, one JSON object per line
+     */
+    @GetMapping(value = "/worker/{workerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isWorkerOwner(#workerId, principal)")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByWorkerId(@PathVariable Long workerId) {
+        return ndjson(sink -> orderService.streamOrdersByWorkerId(workerId, sink));
+    }
+
+    /**
+     * Get a page of orders by status, newest first.
      *
      * @param status the order status
-     * @return list of orders with the specified status
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the maximum number of orders to return (optional)
+     * @return a page of orders with the specified status
      */
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderDto>> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<OrderPageDto> getOrdersByStatus(
+            @PathVariable Order.OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersByStatus(status, cursor, limit));
+    }
+
+    /**
+     * Stream all orders with a status as newline-delimited JSON.
+     *
+     * @param status the order status
+     * @return the orders, one JSON object per line
+     */
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByStatus(@PathVariable Order.OrderStatus status) {
+        return ndjson(sink -> orderService.streamOrdersByStatus(status, sink));
+    }
+
+    /**
+     * Rank the available workers for a pending order.
+     *
+     * @param id the order ID
+     * @param limit the maximum number of candidates (optional)
+     * @return the candidate workers, best first
+     */
+    @GetMapping("/{id}/candidates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DispatchCandidate>> getDispatchCandidates(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dispatchService.findCandidates(id, limit));
     }
 
     /**
@@ -92,7 +186,7 @@ public class OrderController {
      * @param id the order ID
      * @param status the new status
      * @param workerId the worker ID (optional, required for ACCEPTED status)
-     * @return the updated order
+     * @return the updated order, or 409 if the order is no longer in the status the transition requires
      */
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isOrderParticipant(#id, principal)")
@@ -117,4 +211,18 @@ public class OrderController {
             @RequestParam String proofUrl) {
         return ResponseEntity.ok(orderService.addProofToOrder(id, proofUrl));
     }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<OrderDto>> producer) {
+        StreamingResponseBody body = out -> producer.accept(order -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(order));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
@@ -1,6 +1,8 @@
 package com.callcastlecare.api.controller;
 
 import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.dto.QuoteDto;
+import com.callcastlecare.api.dto.QuoteRequestDto;
 import com.callcastlecare.api.model.Order;
 import com.callcastlecare.api.service.PricingOptionService;
 import jakarta.validation.Valid;
@@ -86,4 +88,15 @@ public class PricingOptionController {
         return ResponseEntity.ok(pricingOptionService.getPricingOptionsByServiceTypeAndBillingPeriod(
                 serviceType, billingPeriod));
     }
+
+    /**
+     * Quote every pricing option that fits an address.
+     *
+     * @param quoteRequestDto the address and optional service type and billing period
+     * @return the property measurements and matching options, cheapest first
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<QuoteDto> quote(@Valid @RequestBody QuoteRequestDto quoteRequestDto) {
+        return ResponseEntity.ok(pricingOptionService.quote(quoteRequestDto));
+    }
 }
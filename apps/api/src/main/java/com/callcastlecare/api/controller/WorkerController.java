@@ -1,7 +1,9 @@
 package com.callcastlecare.api.controller;
 
+import com.callcastlecare.api.dto.NearbyWorkerDto;
 import com.callcastlecare.api.dto.WorkerDto;
 import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.service.DispatchService;
 import com.callcastlecare.api.service.WorkerService;
 import com.callcastlecare.api.service.SecurityService;
 import jakarta.validation.Valid;
@@ -22,6 +24,7 @@ import java.util.List;
 public class WorkerController {
 
     private final WorkerService workerService;
+    private final DispatchService dispatchService;
     // This field is used in @PreAuthorize annotations for security expressions
     // e.g., @securityService.isWorkerOwner(#id, principal)
     private final SecurityService securityService;
@@ -102,4 +105,27 @@ public class WorkerController {
     public ResponseEntity<List<WorkerDto>> getAvailableWorkersByRole(@PathVariable String role) {
         return ResponseEntity.ok(workerService.getAvailableWorkersByRole(role));
     }
+
+    /**
+     * Get available workers near a location, closest first.
+     *
+     * @param lat the latitude (with lon, instead of zip)
+     * @param lon the longitude
+     * @param zip the zip code to search around (instead of lat/lon)
+     * @param role only workers with this role (optional)
+     * @param radiusKm the search radius in km (optional)
+     * @param limit the maximum number of workers (optional)
+     * @return the nearby workers with their distance
+     */
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<List<NearbyWorkerDto>> getNearbyWorkers(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String zip,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dispatchService.findNearbyWorkers(lat, lon, zip, role, radiusKm, limit));
+    }
 }
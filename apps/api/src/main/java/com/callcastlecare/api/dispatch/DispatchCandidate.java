@@ -0,0 +1,7 @@
+package com.callcastlecare.api.dispatch;
+
+/**
+ * A worker ranked for an order, higher scores first.
+ */
+public record DispatchCandidate(Long workerId, double score) {
+}
@@ -0,0 +1,178 @@
+package com.callcastlecare.api.dispatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of dispatchable workers by role and zip area.
+ *
+ * <p>Each (role, area) bucket is an immutable array that writers replace, so matching
+ * reads never lock and iterate plain arrays. Writes are serialised; they only happen
+ * when a worker's status, availability or profile changes, or on a full rebuild.
+ *
+ * <p>Matching scores only the workers in the order's area; it widens to every worker with
+ * the role only when nobody in the area can take the order.
+ */
+public class DispatchIndex {
+
+    private static final DispatchWorker[] EMPTY = new DispatchWorker[0];
+    private static final Comparator<DispatchCandidate> WORST_FIRST = Comparator
+            .comparingDouble(DispatchCandidate::score)
+            .thenComparing(DispatchCandidate::workerId, Comparator.reverseOrder());
+
+    private final ScoringPolicy scoringPolicy;
+    private volatile Map<Long, DispatchWorker> workers = new ConcurrentHashMap<>();
+    private volatile Map<String, Map<String, DispatchWorker[]>> byRoleAndArea = new ConcurrentHashMap<>();
+
+    public DispatchIndex(ScoringPolicy scoringPolicy) {
+        this.scoringPolicy = scoringPolicy;
+    }
+
+    /**
+     * The zip area used for bucketing: the first three digits of the zip code.
+     */
+    public static String area(String zip) {
+        return zip.length() > 3 ? zip.substring(0, 3) : zip;
+    }
+
+    /**
+     * Rank the workers that can take an order.
+     *
+     * @param order the order to match
+     * @param limit the maximum number of candidates
+     * @return up to {@code limit} candidates, best first
+     */
+    public List<DispatchCandidate> match(DispatchOrder order, int limit) {
+        Map<String, DispatchWorker[]> areas = byRoleAndArea.get(order.role());
+        if (areas == null || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<DispatchCandidate> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        String area = area(order.zip());
+        DispatchWorker[] local = areas.getOrDefault(area, EMPTY);
+        score(order, local, best, limit);
+        if (best.isEmpty()) {
+            for (Map.Entry<String, DispatchWorker[]> bucket : areas.entrySet()) {
+                if (!bucket.getKey().equals(area)) {
+                    score(order, bucket.getValue(), best, limit);
+                }
+            }
+        }
+
+        DispatchCandidate[] ranked = best.toArray(new DispatchCandidate[0]);
+        Arrays.sort(ranked, WORST_FIRST.reversed());
+        return List.of(ranked);
+    }
+
+    /**
+     * Add or replace a worker. The worker's active order count is carried over from the
+     * entry it replaces.
+     */
+    public synchronized void upsert(DispatchWorker worker) {
+        DispatchWorker previous = workers.get(worker.getId());
+        if (previous != null) {
+            removeFromBuckets(previous);
+            worker.adjustActiveOrders(previous.getActiveOrders() - worker.getActiveOrders());
+        }
+        workers.put(worker.getId(), worker);
+        addToBuckets(byRoleAndArea, worker);
+    }
+
+    /**
+     * Remove a worker that is no longer approved or available.
+     */
+    public synchronized void remove(Long workerId) {
+        DispatchWorker previous = workers.remove(workerId);
+        if (previous != null) {
+            removeFromBuckets(previous);
+        }
+    }
+
+    /**
+     * Replace the whole index, e.g. from a periodic reload of the database.
+     */
+    public synchronized void replaceAll(Collection<DispatchWorker> dispatchable) {
+        Map<Long, DispatchWorker> newWorkers = new ConcurrentHashMap<>(dispatchable.size() * 2);
+        Map<String, Map<String, List<DispatchWorker>>> grouped = new ConcurrentHashMap<>();
+        for (DispatchWorker worker : dispatchable) {
+            newWorkers.put(worker.getId(), worker);
+            for (String role : worker.getRoles()) {
+                grouped.computeIfAbsent(role, r -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(area(worker.getZip()), a -> new ArrayList<>())
+                        .add(worker);
+            }
+        }
+
+        Map<String, Map<String, DispatchWorker[]>> newBuckets = new ConcurrentHashMap<>();
+        grouped.forEach((role, areas) -> {
+            Map<String, DispatchWorker[]> roleBuckets = new ConcurrentHashMap<>();
+            areas.forEach((area, list) -> roleBuckets.put(area, list.toArray(EMPTY)));
+            newBuckets.put(role, roleBuckets);
+        });
+
+        this.byRoleAndArea = newBuckets;
+        this.workers = newWorkers;
+    }
+
+    /**
+     * Record that a worker took on ({@code +1}) or finished ({@code -1}) an order.
+     */
+    public void adjustActiveOrders(Long workerId, int delta) {
+        DispatchWorker worker = workers.get(workerId);
+        if (worker != null) {
+            worker.adjustActiveOrders(delta);
+        }
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    private void score(DispatchOrder order, DispatchWorker[] bucket, PriorityQueue<DispatchCandidate> best, int limit) {
+        for (DispatchWorker worker : bucket) {
+            double score = scoringPolicy.score(order, worker);
+            if (score == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new DispatchCandidate(worker.getId(), score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new DispatchCandidate(worker.getId(), score));
+            }
+        }
+    }
+
+    private static void addToBuckets(Map<String, Map<String, DispatchWorker[]>> buckets, DispatchWorker worker) {
+        for (String role : worker.getRoles()) {
+            buckets.computeIfAbsent(role, r -> new ConcurrentHashMap<>())
+                    .merge(area(worker.getZip()), new DispatchWorker[]{worker}, (current, added) -> {
+                        DispatchWorker[] copy = Arrays.copyOf(current, current.length + 1);
+                        copy[current.length] = worker;
+                        return copy;
+                    });
+        }
+    }
+
+    private void removeFromBuckets(DispatchWorker worker) {
+        for (String role : worker.getRoles()) {
+            Map<String, DispatchWorker[]> areas = byRoleAndArea.get(role);
+            if (areas == null) {
+                continue;
+            }
+            areas.computeIfPresent(area(worker.getZip()), (area, current) -> {
+                DispatchWorker[] remaining = Arrays.stream(current)
+                        .filter(w -> !w.getId().equals(worker.getId()))
+                        .toArray(DispatchWorker[]::new);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.callcastlecare.api.dispatch;
+
+/**
+ * The parts of an order the dispatch engine matches on.
+ *
+ * @param orderId the order ID
+ * @param role the worker role required for the order's service type
+ * @param zip the zip code of the service address
+ */
+public record DispatchOrder(Long orderId, String role, String zip) {
+}
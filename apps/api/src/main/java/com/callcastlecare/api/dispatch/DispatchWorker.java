@@ -0,0 +1,47 @@
+package com.callcastlecare.api.dispatch;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An approved, available worker as held by the {@link DispatchIndex}.
+ * Everything except the active order count is immutable; a change to the worker
+ * replaces the entry.
+ */
+public final class DispatchWorker {
+
+    private final Long id;
+    private final String zip;
+    private final Set<String> roles;
+    private final AtomicInteger activeOrders;
+
+    public DispatchWorker(Long id, String zip, Set<String> roles, int activeOrders) {
+        this.id = id;
+        this.zip = zip;
+        this.roles = Set.copyOf(roles);
+        this.activeOrders = new AtomicInteger(activeOrders);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getZip() {
+        return zip;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * @return the number of orders the worker has accepted and not yet completed
+     */
+    public int getActiveOrders() {
+        return activeOrders.get();
+    }
+
+    void adjustActiveOrders(int delta) {
+        activeOrders.updateAndGet(current -> Math.max(0, current + delta));
+    }
+}
@@ -0,0 +1,29 @@
+package com.callcastlecare.api.dispatch;
+
+/**
+ * Default policy: prefer workers in the order's zip code, then in the same zip area
+ * (first three digits), and penalise each order a worker already has in hand.
+ */
+public class ProximityLoadScoringPolicy implements ScoringPolicy {
+
+    private final double sameZipWeight;
+    private final double sameAreaWeight;
+    private final double loadPenalty;
+
+    public ProximityLoadScoringPolicy(double sameZipWeight, double sameAreaWeight, double loadPenalty) {
+        this.sameZipWeight = sameZipWeight;
+        this.sameAreaWeight = sameAreaWeight;
+        this.loadPenalty = loadPenalty;
+    }
+
+    @Override
+    public double score(DispatchOrder order, DispatchWorker worker) {
+        double score = 0;
+        if (order.zip().equals(worker.getZip())) {
+            score += sameZipWeight;
+        } else if (DispatchIndex.area(order.zip()).equals(DispatchIndex.area(worker.getZip()))) {
+            score += sameAreaWeight;
+        }
+        return score - loadPenalty * worker.getActiveOrders();
+    }
+}
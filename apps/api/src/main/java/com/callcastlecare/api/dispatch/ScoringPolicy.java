@@ -0,0 +1,16 @@
+package com.callcastlecare.api.dispatch;
+
+/**
+ * Ranks a worker for an order. Implementations are called on the request path for every
+ * worker in the order's area, so they must be cheap and must not touch the database.
+ * Declare a {@code @Primary} {@code ScoringPolicy} bean to replace the default.
+ */
+@FunctionalInterface
+public interface ScoringPolicy {
+
+    /**
+     * @return the worker's score for the order, higher is better; {@link Double#NEGATIVE_INFINITY}
+     *         excludes the worker
+     */
+    double score(DispatchOrder order, DispatchWorker worker);
+}
@@ -25,5 +25,9 @@ public class AddressDto {
     @NotBlank(message = "Zip code is required")
     private String zip;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     private Boolean isPrimary;
 }
@@ -0,0 +1,30 @@
+package com.callcastlecare.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyWorkerDto {
+    private Long id;
+    
+    private String zip;
+    
+    @Builder.Default
+    private List<String> roles = new ArrayList<>();
+    
+    private Integer activeOrders;
+    
+    private Double latitude;
+    
+    private Double longitude;
+    
+    private Double distanceKm;
+}
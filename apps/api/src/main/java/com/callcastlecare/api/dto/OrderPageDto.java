@@ -0,0 +1,26 @@
+package com.callcastlecare.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a single page of a keyset-paginated order listing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+    @Builder.Default
+    private List<OrderDto> items = new ArrayList<>();
+    
+    // Opaque cursor for the next page, or null when this is the last page
+    private String nextCursor;
+    
+    private int limit;
+}
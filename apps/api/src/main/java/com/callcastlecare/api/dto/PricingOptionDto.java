@@ -38,4 +38,9 @@ public class PricingOptionDto {
     
     @NotBlank(message = "Size range is required")
     private String sizeRange;
+    
+    // Parsed from sizeRange when both are omitted
+    private Double minSize;
+    
+    private Double maxSize;
 }
@@ -0,0 +1,23 @@
+package com.callcastlecare.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteDto {
+    private Integer livingArea;
+    
+    private Double lotSizeAcres;
+    
+    // Every pricing option whose size range fits the property, cheapest first
+    @Builder.Default
+    private List<PricingOptionDto> options = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.callcastlecare.api.dto;
+
+import com.callcastlecare.api.model.Order;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRequestDto {
+    @NotNull(message = "Address is required")
+    @Valid
+    private AddressDto address;
+    
+    // Optional filters; all service types and billing periods are quoted when omitted
+    private Order.ServiceType serviceType;
+    
+    private Order.BillingPeriod billingPeriod;
+}
@@ -42,6 +42,10 @@ public class WorkerDto {
     @NotBlank(message = "Zip code is required")
     private String zip;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @NotBlank(message = "Phone number is required")
     private String phone;
     
@@ -0,0 +1,9 @@
+package com.callcastlecare.api.event;
+
+/**
+ * Published when an order is placed.
+ *
+ * @param orderId the order ID
+ */
+public record OrderCreatedEvent(Long orderId) {
+}
@@ -0,0 +1,13 @@
+package com.callcastlecare.api.event;
+
+import com.callcastlecare.api.model.Order;
+
+/**
+ * Published when an order moves to a new status.
+ *
+ * @param orderId the order ID
+ * @param workerId the assigned worker, or null while the order is pending
+ * @param status the new status
+ */
+public record OrderStatusChangedEvent(Long orderId, Long workerId, Order.OrderStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.callcastlecare.api.event;
+
+/**
+ * Published when a pricing option is created or updated.
+ *
+ * @param pricingOptionId the pricing option ID
+ */
+public record PricingOptionChangedEvent(Long pricingOptionId) {
+}
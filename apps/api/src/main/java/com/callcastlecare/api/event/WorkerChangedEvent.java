@@ -0,0 +1,25 @@
+package com.callcastlecare.api.event;
+
+import com.callcastlecare.api.model.Worker;
+
+import java.util.List;
+
+/**
+ * Published when a worker's status, availability or profile is written.
+ * Carries a copy of the fields listeners need so they never touch the detached entity.
+ */
+public record WorkerChangedEvent(Long workerId, Worker.WorkerStatus status, boolean available,
+                                 String zip, Double latitude, Double longitude, List<String> roles) {
+
+    public static WorkerChangedEvent of(Worker worker) {
+        return new WorkerChangedEvent(worker.getId(), worker.getStatus(), Boolean.TRUE.equals(worker.getAvailability()),
+                worker.getZip(), worker.getLatitude(), worker.getLongitude(), List.copyOf(worker.getRoles()));
+    }
+
+    /**
+     * @return whether the worker can currently be offered orders
+     */
+    public boolean dispatchable() {
+        return status == Worker.WorkerStatus.APPROVED && available;
+    }
+}
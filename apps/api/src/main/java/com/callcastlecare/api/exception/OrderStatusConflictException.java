@@ -0,0 +1,20 @@
+package com.callcastlecare.api.exception;
+
+import com.callcastlecare.api.model.Order;
+import lombok.Getter;
+
+/**
+ * Thrown when an order status transition loses a race or its precondition no longer holds.
+ */
+@Getter
+public class OrderStatusConflictException extends RuntimeException {
+
+    private final Long orderId;
+    private final Order.OrderStatus currentStatus;
+
+    public OrderStatusConflictException(Long orderId, Order.OrderStatus currentStatus, Order.OrderStatus requestedStatus) {
+        super("Order " + orderId + " is " + currentStatus + " and cannot move to " + requestedStatus);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+    }
+}
@@ -0,0 +1,199 @@
+package com.callcastlecare.api.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index over fixed-size latitude/longitude grid cells.
+ *
+ * <p>A k-nearest query scans rings of cells outward from the query point and stops as soon
+ * as the next ring cannot contain anything closer than the current k-th match, so its cost
+ * depends on local density rather than on the number of indexed points. Like the dispatch
+ * index, each cell is an immutable array replaced by serialised writers, so queries never lock.
+ *
+ * @param <T> the indexed value
+ */
+public class GeoGrid<T> {
+
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private final double cellDegrees;
+    private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private volatile Map<Long, Entry<T>[]> cells = new ConcurrentHashMap<>();
+
+    private record Entry<T>(Long id, GeoPoint point, T value) {
+    }
+
+    private record Candidate<T>(Entry<T> entry, double squared) {
+    }
+
+    /**
+     * @param cellDegrees the cell edge in degrees; 0.05 is about 5.5 km of latitude
+     */
+    public GeoGrid(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Add or move a value.
+     */
+    public synchronized void put(Long id, GeoPoint point, T value) {
+        Entry<T> entry = new Entry<>(id, point, value);
+        Entry<T> previous = entries.put(id, entry);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.merge(cellKey(point), newArray(entry), (current, added) -> {
+            Entry<T>[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = entry;
+            return copy;
+        });
+    }
+
+    public synchronized void remove(Long id) {
+        Entry<T> previous = entries.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * Replace the whole grid.
+     */
+    public synchronized void replaceAll(Map<Long, GeoPoint> points, Map<Long, T> values) {
+        Map<Long, List<Entry<T>>> grouped = new ConcurrentHashMap<>();
+        entries.clear();
+        points.forEach((id, point) -> {
+            Entry<T> entry = new Entry<>(id, point, values.get(id));
+            entries.put(id, entry);
+            grouped.computeIfAbsent(cellKey(point), key -> new ArrayList<>()).add(entry);
+        });
+        Map<Long, Entry<T>[]> newCells = new ConcurrentHashMap<>(grouped.size() * 2);
+        grouped.forEach((key, list) -> newCells.put(key, list.toArray(newArray(0))));
+        this.cells = newCells;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the values nearest to a point, closest first.
+     *
+     * @param origin the query point
+     * @param k the maximum number of results
+     * @param maxDistanceKm ignore values further away than this
+     * @param filter only values accepted by the filter are returned
+     */
+    public List<GeoMatch<T>> nearest(GeoPoint origin, int k, double maxDistanceKm, Predicate<T> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // Rank by squared equirectangular distance in degrees, which is cheap and accurate at
+        // city scale; the exact great-circle distance is only computed for the results
+        double cosLat = Math.cos(Math.toRadians(origin.latitude()));
+        double maxDegrees = maxDistanceKm / KM_PER_DEGREE;
+        double maxSquared = maxDegrees * maxDegrees;
+        PriorityQueue<Candidate<T>> best = new PriorityQueue<>(Math.min(k, 64) + 1,
+                Comparator.comparingDouble((Candidate<T> candidate) -> candidate.squared()).reversed());
+
+        double ringDegrees = ringWidthKm(origin) / KM_PER_DEGREE;
+        int maxRing = (int) Math.ceil(maxDegrees / ringDegrees) + 1;
+        int originLat = cellIndex(origin.latitude());
+        int originLon = cellIndex(origin.longitude());
+
+        Map<Long, Entry<T>[]> snapshot = cells;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything in this ring or beyond is at least (ring - 1) cell widths away
+            double nearestInRing = Math.max(0, ring - 1) * ringDegrees;
+            if (best.size() == k && nearestInRing * nearestInRing > best.peek().squared()) {
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                int step = Math.abs(dLat) == ring ? 1 : 2 * ring;
+                for (int dLon = -ring; dLon <= ring; dLon += step) {
+                    Entry<T>[] cell = snapshot.get(cellKey(originLat + dLat, originLon + dLon));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry<T> entry : cell) {
+                        double y = entry.point().latitude() - origin.latitude();
+                        double x = (entry.point().longitude() - origin.longitude()) * cosLat;
+                        double squared = x * x + y * y;
+                        if (squared > maxSquared || (best.size() == k && squared >= best.peek().squared())
+                                || !filter.test(entry.value())) {
+                            continue;
+                        }
+                        if (best.size() == k) {
+                            best.poll();
+                        }
+                        best.add(new Candidate<>(entry, squared));
+                    }
+                }
+            }
+        }
+
+        List<GeoMatch<T>> result = new ArrayList<>(best.size());
+        for (Candidate<T> candidate : best) {
+            GeoPoint point = candidate.entry().point();
+            result.add(new GeoMatch<>(candidate.entry().value(), point, origin.distanceKm(point)));
+        }
+        result.sort(Comparator.comparingDouble(GeoMatch::distanceKm));
+        return result;
+    }
+
+    /**
+     * Find every value within a radius, closest first.
+     */
+    public List<GeoMatch<T>> within(GeoPoint origin, double radiusKm, Predicate<T> filter) {
+        return nearest(origin, Integer.MAX_VALUE, radiusKm, filter);
+    }
+
+    private double ringWidthKm(GeoPoint origin) {
+        // The narrowest cell edge near the origin: longitude degrees shrink towards the poles
+        double latitude = Math.min(89, Math.abs(origin.latitude()) + cellDegrees);
+        return cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(GeoPoint point) {
+        return cellKey(cellIndex(point.latitude()), cellIndex(point.longitude()));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private void removeFromCell(Entry<T> entry) {
+        cells.computeIfPresent(cellKey(entry.point()), (key, current) -> {
+            Entry<T>[] remaining = Arrays.stream(current)
+                    .filter(e -> !e.id().equals(entry.id()))
+                    .toArray(this::newArray);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<T>[] newArray(int length) {
+        return (Entry<T>[]) new Entry[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<T>[] newArray(Entry<T> entry) {
+        Entry<T>[] array = newArray(1);
+        array[0] = entry;
+        return array;
+    }
+}
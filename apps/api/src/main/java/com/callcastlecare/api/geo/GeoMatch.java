@@ -0,0 +1,7 @@
+package com.callcastlecare.api.geo;
+
+/**
+ * A value found by a {@link GeoGrid} query with its distance from the query point.
+ */
+public record GeoMatch<T>(T value, GeoPoint point, double distanceKm) {
+}
@@ -0,0 +1,87 @@
+package com.callcastlecare.api.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline zip code to centroid lookup, loaded once at startup.
+ *
+ * <p>Reads either a Census ZCTA gazetteer file (tab separated, {@code GEOID ... INTPTLAT
+ * INTPTLONG}), such as the trimmed copy bundled under {@code geo/}, or a
+ * {@code zip,latitude,longitude} CSV set through {@code geo.zip-centroids.location}.
+ */
+@Component
+@Slf4j
+public class ZipCentroids {
+
+    private final Map<String, GeoPoint> centroids;
+
+    public ZipCentroids(@Value("${geo.zip-centroids.location:classpath:geo/zcta-centroids-2020.tsv}") Resource location) {
+        this.centroids = load(location);
+        log.info("Loaded {} zip centroids from {}", centroids.size(), location.getDescription());
+    }
+
+    /**
+     * @param zip a five digit zip code, optionally with a +4 suffix
+     * @return the centroid, or empty if the zip is unknown
+     */
+    public Optional<GeoPoint> lookup(String zip) {
+        if (zip == null || zip.length() < 5) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(centroids.get(zip.substring(0, 5)));
+    }
+
+    public int size() {
+        return centroids.size();
+    }
+
+    private static Map<String, GeoPoint> load(Resource location) {
+        Map<String, GeoPoint> loaded = new HashMap<>(64 * 1024);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return loaded;
+            }
+            boolean gazetteer = header.contains("\t");
+            String[] columns = header.trim().split(gazetteer ? "\t" : ",");
+            int zipColumn = gazetteer ? indexOf(columns, "GEOID") : 0;
+            int latColumn = gazetteer ? indexOf(columns, "INTPTLAT") : 1;
+            int lonColumn = gazetteer ? indexOf(columns, "INTPTLONG") : 2;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.trim().split(gazetteer ? "\t" : ",");
+                loaded.put(fields[zipColumn].trim(), new GeoPoint(
+                        Double.parseDouble(fields[latColumn].trim()),
+                        Double.parseDouble(fields[lonColumn].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load zip centroids from " + location.getDescription(), e);
+        }
+        return loaded;
+    }
+
+    private static int indexOf(String[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].trim().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Zip centroid file is missing the " + name + " column");
+    }
+}
@@ -0,0 +1,112 @@
+package com.callcastlecare.api.messaging;
+
+import com.callcastlecare.api.model.OutboxEvent;
+import com.callcastlecare.api.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background relay that drains the transactional outbox to SQS.
+ * Delivery is at-least-once: an event is only marked sent after SQS accepted it,
+ * so consumers should de-duplicate on the {@code eventId} message attribute.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    
+    private final OutboxService outboxService;
+    private final SqsBatchPublisher orderEventPublisher;
+    
+    @Value("${outbox.relay.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${outbox.relay.retention-days:7}")
+    private int retentionDays;
+    
+    @Value("${outbox.relay.publish-timeout-seconds:30}")
+    private long publishTimeoutSeconds;
+    
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            // Claiming commits before publishing, so no DB connection is held during SQS calls
+            batch = outboxService.claimDue(batchSize);
+            if (!batch.isEmpty()) {
+                publish(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+    
+    @Scheduled(cron = "${outbox.relay.purge-cron:0 0 * * * *}")
+    public void purge() {
+        int purged = outboxService.purgeSent(Duration.ofDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox events", purged);
+        }
+    }
+    
+    private void publish(List<OutboxEvent> batch) {
+        // Hand the whole batch to the publisher first so it can fill SendMessageBatch calls
+        Map<Long, CompletableFuture<String>> results = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            results.put(event.getId(), orderEventPublisher.publish(event.getPayload(), attributes(event)));
+        }
+        
+        List<Long> sent = new ArrayList<>();
+        Map<Long, String> failed = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(publishTimeoutSeconds);
+        
+        for (Map.Entry<Long, CompletableFuture<String>> result : results.entrySet()) {
+            try {
+                result.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(result.getKey());
+            } catch (ExecutionException e) {
+                failed.put(result.getKey(), e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                // The message may still reach SQS; a later redelivery is acceptable under at-least-once
+                failed.put(result.getKey(), "Timed out waiting for SQS");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.put(result.getKey(), "Interrupted while waiting for SQS");
+            }
+        }
+        
+        if (!sent.isEmpty()) {
+            outboxService.markSent(sent);
+            log.debug("Relayed {} outbox events to SQS", sent.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxService.recordFailures(failed);
+        }
+    }
+    
+    private static Map<String, MessageAttributeValue> attributes(OutboxEvent event) {
+        return Map.of(
+                "eventId", stringAttribute(event.getId().toString()),
+                "eventType", stringAttribute(event.getEventType()),
+                "aggregateId", stringAttribute(event.getAggregateId().toString()));
+    }
+    
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.callcastlecare.api.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers outgoing messages for one queue and sends them with {@code SendMessageBatch}.
+ * A batch is flushed when it reaches the SQS limit of 10 entries or 256 KB, or when the
+ * linger time since its first message has elapsed.
+ *
+ * <p>Memory is bounded by the buffer capacity; {@link #publish} blocks for up to the offer
+ * timeout when the buffer is full and then rejects the message. The number of batches
+ * awaiting an SQS response is capped as well, which stops the flusher from draining the
+ * buffer faster than SQS accepts it.
+ */
+@Slf4j
+public class SqsBatchPublisher implements AutoCloseable {
+
+    public static final int MAX_BATCH_ENTRIES = 10;
+    public static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final String queueUrl;
+    private final Settings settings;
+    private final BlockingQueue<PendingMessage> buffer;
+    private final Semaphore inFlightBatches;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Counter sentMessages;
+    private final Counter failedMessages;
+    private final Counter rejectedMessages;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+
+    /**
+     * Tuning for a publisher.
+     *
+     * @param capacity the maximum number of buffered messages
+     * @param linger how long a partial batch waits for more messages
+     * @param offerTimeout how long {@link #publish} blocks when the buffer is full
+     * @param maxInFlightBatches the maximum number of batches awaiting an SQS response
+     */
+    public record Settings(int capacity, Duration linger, Duration offerTimeout, int maxInFlightBatches) {
+    }
+
+    public SqsBatchPublisher(SqsAsyncClient sqsAsyncClient, String queueUrl, Settings settings, MeterRegistry meterRegistry) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrl = queueUrl;
+        this.settings = settings;
+        this.buffer = new ArrayBlockingQueue<>(settings.capacity());
+        this.inFlightBatches = new Semaphore(settings.maxInFlightBatches());
+
+        String queue = queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+        this.sentMessages = meterRegistry.counter("sqs.publisher.messages", "queue", queue, "result", "sent");
+        this.failedMessages = meterRegistry.counter("sqs.publisher.messages", "queue", queue, "result", "failed");
+        this.rejectedMessages = meterRegistry.counter("sqs.publisher.messages", "queue", queue, "result", "rejected");
+        this.batchSize = DistributionSummary.builder("sqs.publisher.batch.size")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("sqs.publisher.flush")
+                .tag("queue", queue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("sqs.publisher.buffer.size", buffer, BlockingQueue::size)
+                .tag("queue", queue)
+                .register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "sqs-publisher-" + queue);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue a message for sending.
+     *
+     * @param body the message body
+     * @param attributes the message attributes
+     * @return a future completed with the SQS message ID, or exceptionally if the message
+     *         was rejected or SQS did not accept it
+     */
+    public CompletableFuture<String> publish(String body, Map<String, MessageAttributeValue> attributes) {
+        PendingMessage message = new PendingMessage(body, attributes, new CompletableFuture<>());
+        if (!running) {
+            message.result().completeExceptionally(new IllegalStateException("Publisher is closed"));
+            return message.result();
+        }
+        try {
+            if (!buffer.offer(message, settings.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejectedMessages.increment();
+                message.result().completeExceptionally(new RejectedExecutionException("SQS publish buffer is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message.result().completeExceptionally(e);
+        }
+        return message.result();
+    }
+
+    /**
+     * Stop accepting messages, flush what is buffered and wait for outstanding batches.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(settings.linger().toMillis() + 5000);
+            if (inFlightBatches.tryAcquire(settings.maxInFlightBatches(), 10, TimeUnit.SECONDS)) {
+                inFlightBatches.release(settings.maxInFlightBatches());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingMessage left;
+        while ((left = buffer.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Publisher is closed"));
+        }
+    }
+
+    private void runFlusher() {
+        PendingMessage carry = null;
+        while (running || carry != null || !buffer.isEmpty()) {
+            try {
+                PendingMessage first = carry != null ? carry : buffer.poll(100, TimeUnit.MILLISECONDS);
+                carry = null;
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingMessage> batch = new ArrayList<>(MAX_BATCH_ENTRIES);
+                batch.add(first);
+                int bytes = first.size();
+                long deadline = System.nanoTime() + settings.linger().toNanos();
+
+                while (batch.size() < MAX_BATCH_ENTRIES) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMessage next = remaining > 0 && running
+                            ? buffer.poll(remaining, TimeUnit.NANOSECONDS)
+                            : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (bytes + next.size() > MAX_BATCH_BYTES) {
+                        carry = next;
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += next.size();
+                }
+
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in SQS publisher for {}", queueUrl, e);
+            }
+        }
+    }
+
+    private void send(List<PendingMessage> batch) throws InterruptedException {
+        inFlightBatches.acquire();
+
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(batch.get(i).body())
+                    .messageAttributes(batch.get(i).attributes())
+                    .build());
+        }
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build();
+
+        long start = System.nanoTime();
+        CompletableFuture<SendMessageBatchResponse> response;
+        try {
+            response = sqsAsyncClient.sendMessageBatch(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((result, error) -> {
+            inFlightBatches.release();
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+            complete(batch, result, error);
+        });
+    }
+
+    private void complete(List<PendingMessage> batch, SendMessageBatchResponse result, Throwable error) {
+        if (error != null) {
+            log.warn("SendMessageBatch of {} messages to {} failed: {}", batch.size(), queueUrl, error.getMessage());
+            failedMessages.increment(batch.size());
+            batch.forEach(message -> message.result().completeExceptionally(error));
+            return;
+        }
+
+        result.successful().forEach(entry -> {
+            batch.get(Integer.parseInt(entry.id())).result().complete(entry.messageId());
+            sentMessages.increment();
+        });
+        for (BatchResultErrorEntry entry : result.failed()) {
+            batch.get(Integer.parseInt(entry.id())).result().completeExceptionally(
+                    new IllegalStateException(entry.code() + ": " + entry.message()));
+            failedMessages.increment();
+        }
+        // Entries missing from the response are treated as failed so callers retry them
+        batch.forEach(message -> message.result().completeExceptionally(
+                new IllegalStateException("No result returned for batch entry")));
+    }
+
+    private record PendingMessage(String body, Map<String, MessageAttributeValue> attributes,
+                                  CompletableFuture<String> result) {
+
+        int size() {
+            int size = body.getBytes(StandardCharsets.UTF_8).length;
+            for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+                size += attribute.getKey().length() + attribute.getValue().dataType().length();
+                if (attribute.getValue().stringValue() != null) {
+                    size += attribute.getValue().stringValue().getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.callcastlecare.api.messaging;
+
+import java.util.Map;
+
+/**
+ * A message received from SQS, as seen by an {@link SqsEventHandler}.
+ *
+ * @param messageId the SQS message ID
+ * @param eventId the producer's event ID, stable across redeliveries; use it to de-duplicate
+ * @param eventType the event type the message was routed by
+ * @param body the raw message body
+ * @param attributes the string message attributes
+ * @param receiveCount how many times SQS has delivered this message
+ */
+public record SqsEvent(String messageId, String eventId, String eventType, String body,
+                       Map<String, String> attributes, int receiveCount) {
+}
@@ -0,0 +1,18 @@
+package com.callcastlecare.api.messaging;
+
+/**
+ * Handles one type of event consumed from the order queue. Implementations registered as
+ * Spring beans are picked up by {@link SqsEventHandlerRegistry}.
+ *
+ * <p>Delivery is at-least-once, so handlers must be idempotent. Throwing leaves the message
+ * on the queue to be redelivered after its visibility timeout.
+ */
+public interface SqsEventHandler {
+
+    /**
+     * @return the {@code eventType} message attribute this handler consumes
+     */
+    String eventType();
+
+    void handle(SqsEvent event) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.callcastlecare.api.messaging;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of {@link SqsEventHandler}s keyed by event type.
+ */
+@Component
+public class SqsEventHandlerRegistry {
+
+    private final Map<String, SqsEventHandler> handlers;
+
+    @Autowired
+    public SqsEventHandlerRegistry(ObjectProvider<SqsEventHandler> handlers) {
+        this(handlers.orderedStream().toList());
+    }
+
+    public SqsEventHandlerRegistry(List<SqsEventHandler> handlers) {
+        Map<String, SqsEventHandler> byType = new HashMap<>();
+        for (SqsEventHandler handler : handlers) {
+            SqsEventHandler existing = byType.putIfAbsent(handler.eventType(), handler);
+            if (existing != null) {
+                throw new IllegalStateException("Multiple handlers registered for event type " + handler.eventType()
+                        + ": " + existing.getClass().getName() + ", " + handler.getClass().getName());
+            }
+        }
+        this.handlers = Map.copyOf(byType);
+    }
+
+    public Optional<SqsEventHandler> find(String eventType) {
+        return eventType == null ? Optional.empty() : Optional.ofNullable(handlers.get(eventType));
+    }
+}
@@ -0,0 +1,353 @@
+package com.callcastlecare.api.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-polling consumer for one SQS queue. Pollers receive up to 10 messages at a time and
+ * hand each one to the {@link SqsEventHandler} registered for its {@code eventType}, running
+ * every handler on its own virtual thread. A semaphore caps the number of messages being
+ * handled at once, and pollers only ask SQS for as many messages as there are free permits.
+ *
+ * <p>Each message is acknowledged as soon as its own handler finishes, independent of the
+ * other messages from its receive. Acknowledged receipts wait at most the delete linger and
+ * are then deleted together with {@code DeleteMessageBatch}. Failed messages are left on the
+ * queue for redelivery. While a
+ * handler runs, its message's visibility timeout is extended periodically, up to the maximum
+ * processing time, so slow handlers do not cause duplicate deliveries.
+ */
+@Slf4j
+public class SqsQueueConsumer implements SmartLifecycle {
+
+    private static final int MAX_RECEIVE = 10;
+    private static final String EVENT_TYPE = "eventType";
+    private static final String EVENT_ID = "eventId";
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final String queueUrl;
+    private final SqsEventHandlerRegistry handlers;
+    private final Settings settings;
+    private final Semaphore permits;
+    private final Map<String, InFlightMessage> inFlight = new ConcurrentHashMap<>();
+    // Receipt handles of finished messages waiting for the next batched delete
+    private final Queue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter received;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter unhandled;
+    private final Counter extensions;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+    private ScheduledExecutorService heartbeat;
+    private ScheduledExecutorService deleter;
+
+    /**
+     * Tuning for a consumer.
+     *
+     * @param concurrency the maximum number of messages handled at once
+     * @param pollers the number of concurrent long-poll loops
+     * @param waitTime the long-poll wait time, at most 20 seconds
+     * @param visibilityTimeout the visibility timeout requested on receive and on each extension
+     * @param maxProcessingTime how long a message's visibility keeps being extended
+     * @param deleteLinger how long a finished message waits to be deleted with others
+     * @param shutdownTimeout how long {@link #stop()} waits for running handlers
+     */
+    public record Settings(int concurrency, int pollers, Duration waitTime, Duration visibilityTimeout,
+                           Duration maxProcessingTime, Duration deleteLinger, Duration shutdownTimeout) {
+    }
+
+    private record InFlightMessage(String receiptHandle, long startedAt, long lastExtendedAt) {
+    }
+
+    public SqsQueueConsumer(SqsAsyncClient sqsAsyncClient, String queueUrl, SqsEventHandlerRegistry handlers,
+                            Settings settings, MeterRegistry meterRegistry) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrl = queueUrl;
+        this.handlers = handlers;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.concurrency());
+        this.meterRegistry = meterRegistry;
+
+        String queue = queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+        this.received = meterRegistry.counter("sqs.consumer.messages", "queue", queue, "result", "received");
+        this.succeeded = meterRegistry.counter("sqs.consumer.messages", "queue", queue, "result", "succeeded");
+        this.failed = meterRegistry.counter("sqs.consumer.messages", "queue", queue, "result", "failed");
+        this.unhandled = meterRegistry.counter("sqs.consumer.messages", "queue", queue, "result", "unhandled");
+        this.extensions = meterRegistry.counter("sqs.consumer.visibility.extensions", "queue", queue);
+        Gauge.builder("sqs.consumer.in.flight", inFlight, Map::size)
+                .tag("queue", queue)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sqs-consumer-", 0).factory());
+        for (int i = 0; i < settings.pollers(); i++) {
+            executor.execute(this::poll);
+        }
+
+        long period = Math.max(1000, settings.visibilityTimeout().toMillis() / 3);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sqs-consumer-heartbeat").daemon().factory());
+        heartbeat.scheduleAtFixedRate(this::extendVisibility, period, period, TimeUnit.MILLISECONDS);
+
+        long linger = Math.max(1, settings.deleteLinger().toMillis());
+        deleter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sqs-consumer-deleter").daemon().factory());
+        deleter.scheduleWithFixedDelay(this::flushDeletes, linger, linger, TimeUnit.MILLISECONDS);
+        log.info("Started SQS consumer for {} with {} pollers and concurrency {}",
+                queueUrl, settings.pollers(), settings.concurrency());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(settings.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("SQS consumer for {} stopped with {} messages still in flight", queueUrl, inFlight.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        heartbeat.shutdownNow();
+        deleter.shutdownNow();
+        // Acknowledge what finished during shutdown so it is not redelivered
+        flushDeletes();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        while (running) {
+            int requested = 0;
+            try {
+                requested = acquirePermits();
+                ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .maxNumberOfMessages(requested)
+                        .waitTimeSeconds((int) settings.waitTime().toSeconds())
+                        .visibilityTimeout((int) settings.visibilityTimeout().toSeconds())
+                        .messageAttributeNames("All")
+                        .attributeNamesWithStrings(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT.toString())
+                        .build();
+                List<Message> messages = sqsAsyncClient.receiveMessage(request).get().messages();
+
+                // Return permits for slots SQS did not fill; the rest are released per message
+                permits.release(requested - messages.size());
+                requested = 0;
+                if (!messages.isEmpty()) {
+                    received.increment(messages.size());
+                    dispatch(messages);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                permits.release(requested);
+                return;
+            } catch (Exception e) {
+                permits.release(requested);
+                if (running) {
+                    log.error("Error receiving messages from {}", queueUrl, e);
+                    sleepQuietly(Duration.ofSeconds(1));
+                }
+            }
+        }
+    }
+
+    private int acquirePermits() throws InterruptedException {
+        permits.acquire();
+        int acquired = 1;
+        while (acquired < MAX_RECEIVE && permits.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private void dispatch(List<Message> messages) {
+        for (Message message : messages) {
+            executor.execute(() -> {
+                String receiptHandle = process(message);
+                if (receiptHandle != null) {
+                    pendingDeletes.add(receiptHandle);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the receipt handle to delete, or null if the message should be redelivered
+     */
+    private String process(Message message) {
+        long now = System.nanoTime();
+        inFlight.put(message.receiptHandle(), new InFlightMessage(message.receiptHandle(), now, now));
+        try {
+            SqsEvent event = toEvent(message);
+            SqsEventHandler handler = handlers.find(event.eventType()).orElse(null);
+            if (handler == null) {
+                // Redelivery cannot help, so acknowledge rather than let it cycle to the DLQ
+                log.warn("No handler for event type {} (message {}), discarding", event.eventType(), event.messageId());
+                unhandled.increment();
+                return message.receiptHandle();
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            handler.handle(event);
+            sample.stop(meterRegistry.timer("sqs.consumer.handler", "eventType", event.eventType()));
+            succeeded.increment();
+            return message.receiptHandle();
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Handler failed for message {} from {}", message.messageId(), queueUrl, e);
+            return null;
+        } finally {
+            inFlight.remove(message.receiptHandle());
+            permits.release();
+        }
+    }
+
+    private void flushDeletes() {
+        try {
+            List<String> receiptHandles = new ArrayList<>();
+            String receiptHandle;
+            while ((receiptHandle = pendingDeletes.poll()) != null) {
+                receiptHandles.add(receiptHandle);
+            }
+            if (!receiptHandles.isEmpty()) {
+                delete(receiptHandles);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete messages from {}", queueUrl, e);
+        }
+    }
+
+    private void delete(List<String> receiptHandles) {
+        for (int from = 0; from < receiptHandles.size(); from += MAX_RECEIVE) {
+            List<String> chunk = receiptHandles.subList(from, Math.min(from + MAX_RECEIVE, receiptHandles.size()));
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(Integer.toString(i))
+                        .receiptHandle(chunk.get(i))
+                        .build());
+            }
+            sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.error("Failed to delete {} messages from {}", entries.size(), queueUrl, error);
+                        } else if (response.hasFailed() && !response.failed().isEmpty()) {
+                            log.warn("Failed to delete {} messages from {}: {}",
+                                    response.failed().size(), queueUrl, response.failed().get(0).message());
+                        }
+                    });
+        }
+    }
+
+    private void extendVisibility() {
+        try {
+            long now = System.nanoTime();
+            long extendAfter = settings.visibilityTimeout().toNanos() / 2;
+            long maxProcessing = settings.maxProcessingTime().toNanos();
+
+            List<InFlightMessage> due = new ArrayList<>();
+            for (InFlightMessage message : inFlight.values()) {
+                if (now - message.lastExtendedAt() >= extendAfter && now - message.startedAt() < maxProcessing) {
+                    due.add(message);
+                }
+            }
+
+            for (int from = 0; from < due.size(); from += MAX_RECEIVE) {
+                List<InFlightMessage> chunk = due.subList(from, Math.min(from + MAX_RECEIVE, due.size()));
+                List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                            .id(Integer.toString(i))
+                            .receiptHandle(chunk.get(i).receiptHandle())
+                            .visibilityTimeout((int) settings.visibilityTimeout().toSeconds())
+                            .build());
+                    // Only refresh entries still in flight; finished handlers have removed theirs
+                    inFlight.computeIfPresent(chunk.get(i).receiptHandle(),
+                            (handle, message) -> new InFlightMessage(handle, message.startedAt(), now));
+                }
+                sqsAsyncClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build()).get(settings.visibilityTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                extensions.increment(entries.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to extend message visibility on {}", queueUrl, e);
+        }
+    }
+
+    private static SqsEvent toEvent(Message message) {
+        Map<String, String> attributes = new HashMap<>();
+        for (Map.Entry<String, MessageAttributeValue> attribute : message.messageAttributes().entrySet()) {
+            if (attribute.getValue().stringValue() != null) {
+                attributes.put(attribute.getKey(), attribute.getValue().stringValue());
+            }
+        }
+        String receiveCount = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        return new SqsEvent(
+                message.messageId(),
+                attributes.get(EVENT_ID),
+                attributes.get(EVENT_TYPE),
+                message.body(),
+                Map.copyOf(attributes),
+                receiveCount != null ? Integer.parseInt(receiveCount) : 1);
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -30,6 +30,11 @@ public class Address {
     @Column(nullable = false)
     private String zip;
     
+    // Centroid of the zip code, cached at write time for proximity queries
+    private Double latitude;
+    
+    private Double longitude;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -0,0 +1,55 @@
+package com.callcastlecare.api.model;
+
+import com.callcastlecare.api.notification.Notification;
+import com.callcastlecare.api.notification.NotificationChannel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that could not be delivered: its retries ran out, its queue was full, or the
+ * application stopped before it was sent. Kept for inspection and manual resending.
+ */
+@Entity
+@Table(name = "notification_dead_letters", indexes = {
+        @Index(name = "idx_notification_dead_letter_order", columnList = "order_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDeadLetter {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationChannel channel;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Notification.Type type;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_orders_worker_created", columnList = "worker_id, created_at, id"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -67,6 +71,11 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime createdAt;
     
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long version = 0L;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -81,6 +90,20 @@ public class Order {
     }
     
     public enum OrderStatus {
-        PENDING, ACCEPTED, IN_PROGRESS, COMPLETED
+        PENDING, ACCEPTED, IN_PROGRESS, COMPLETED;
+        
+        /**
+         * Returns the status an order must currently have to move to this one.
+         *
+         * @return the required previous status, or null if no transition leads here
+         */
+        public OrderStatus predecessor() {
+            return switch (this) {
+                case PENDING -> null;
+                case ACCEPTED -> PENDING;
+                case IN_PROGRESS -> ACCEPTED;
+                case COMPLETED -> IN_PROGRESS;
+            };
+        }
     }
 }
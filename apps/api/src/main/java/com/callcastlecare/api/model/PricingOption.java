@@ -46,4 +46,11 @@ public class PricingOption {
     
     @Column(name = "size_range", nullable = false)
     private String sizeRange;
+    
+    // Inclusive bounds of sizeRange in acres (lawncare) or square feet (lighting); null is open
+    @Column(name = "min_size")
+    private Double minSize;
+    
+    @Column(name = "max_size")
+    private Double maxSize;
 }
@@ -43,6 +43,11 @@ public class Worker {
     @Column(nullable = false)
     private String zip;
     
+    // Centroid of the zip code, cached at write time for proximity queries
+    private Double latitude;
+    
+    private Double longitude;
+    
     @Column(nullable = false)
     private String phone;
     
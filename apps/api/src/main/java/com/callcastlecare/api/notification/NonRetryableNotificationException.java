@@ -0,0 +1,13 @@
+package com.callcastlecare.api.notification;
+
+/**
+ * Thrown by a {@link NotificationSender} when the provider rejected the message itself, such as
+ * an invalid address, so sending it again cannot succeed. The dispatcher dead-letters it
+ * without retrying.
+ */
+public class NonRetryableNotificationException extends RuntimeException {
+
+    public NonRetryableNotificationException(String message) {
+        super(message);
+    }
+}
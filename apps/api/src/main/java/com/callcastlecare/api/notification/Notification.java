@@ -0,0 +1,22 @@
+package com.callcastlecare.api.notification;
+
+/**
+ * A message to deliver about an order. Only the order ID is queued; the order is read when
+ * the message is sent, so a message delivered late or on retry describes the order as it is
+ * then.
+ *
+ * @param channel the channel to send on
+ * @param type what the message says
+ * @param orderId the order ID
+ */
+public record Notification(NotificationChannel channel, Type type, Long orderId) {
+
+    public enum Type {
+        // To the customer, when an order is placed
+        ORDER_CONFIRMATION,
+        // To the worker, when they accept an order
+        ORDER_ASSIGNMENT,
+        // To the customer, when the order's status changes
+        ORDER_STATUS_UPDATE
+    }
+}
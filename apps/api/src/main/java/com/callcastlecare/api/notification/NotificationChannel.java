@@ -0,0 +1,8 @@
+package com.callcastlecare.api.notification;
+
+/**
+ * A delivery channel. Each has its own queue, consumers and provider rate limit.
+ */
+public enum NotificationChannel {
+    SMS, EMAIL
+}
@@ -0,0 +1,308 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.model.NotificationDeadLetter;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.repository.NotificationDeadLetterRepository;
+import com.callcastlecare.api.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers notifications off the request path. {@link #submit} only offers the notification
+ * to its channel's bounded queue, so callers never wait on a provider.
+ *
+ * <p>Each channel is served by its own consumers on virtual threads, throttled by a
+ * {@link TokenBucket} at the provider's rate limit. A failed send is retried with exponential
+ * backoff and jitter, up to the channel's attempt limit. A notification that cannot be
+ * delivered goes to the dead-letter store: its retries ran out, the provider rejected it as
+ * invalid, its queue was full, or the application stopped first. Delivery is at-most-once per attempt; a send that times out
+ * after the provider accepted it can be repeated by a retry.
+ *
+ * <p>Dead letters are written in their own transaction. {@link #submit} is called from
+ * after-commit listeners, where the caller's transaction is still bound but already
+ * committed, so a write that joined it would never be committed.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private final OrderRepository orderRepository;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final NotificationProperties properties;
+    private final TransactionTemplate deadLetterTransaction;
+    private final Map<NotificationChannel, Lane> lanes = new EnumMap<>(NotificationChannel.class);
+    // Retries waiting for their backoff, so they are dead-lettered rather than lost on stop
+    private final Set<Delivery> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private ExecutorService consumers;
+    private ScheduledExecutorService retryScheduler;
+
+    /**
+     * A notification and the number of attempts already made to send it. Compared by
+     * identity, so identical notifications waiting to be retried are tracked separately.
+     */
+    private static final class Delivery {
+        final Notification notification;
+        final int attempts;
+
+        Delivery(Notification notification, int attempts) {
+            this.notification = notification;
+            this.attempts = attempts;
+        }
+    }
+
+    /**
+     * The queue, consumers' settings, rate limit and meters of one channel.
+     */
+    private static final class Lane {
+        final NotificationSender sender;
+        final NotificationProperties.Channel settings;
+        final BlockingQueue<Delivery> queue;
+        final TokenBucket rateLimit;
+        final Timer sendTimer;
+        final Counter sent;
+        final Counter retried;
+        final Counter deadLettered;
+        final Counter rejected;
+        final Counter dropped;
+
+        Lane(NotificationSender sender, NotificationProperties.Channel settings, MeterRegistry meterRegistry) {
+            String channel = sender.channel().name().toLowerCase();
+            this.sender = sender;
+            this.settings = settings;
+            this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+            this.rateLimit = new TokenBucket(settings.getRatePerSecond(), settings.getBurst(), System::nanoTime);
+            this.sendTimer = meterRegistry.timer("notifications.send", "channel", channel);
+            this.sent = meterRegistry.counter("notifications", "channel", channel, "result", "sent");
+            this.retried = meterRegistry.counter("notifications", "channel", channel, "result", "retried");
+            this.deadLettered = meterRegistry.counter("notifications", "channel", channel, "result", "dead_lettered");
+            this.rejected = meterRegistry.counter("notifications", "channel", channel, "result", "rejected");
+            this.dropped = meterRegistry.counter("notifications", "channel", channel, "result", "dropped");
+            Gauge.builder("notifications.queue.size", queue, BlockingQueue::size)
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+        }
+    }
+
+    public NotificationDispatcher(List<NotificationSender> senders, OrderRepository orderRepository,
+                                  NotificationDeadLetterRepository deadLetterRepository,
+                                  NotificationProperties properties, PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.properties = properties;
+        this.deadLetterTransaction = new TransactionTemplate(transactionManager);
+        this.deadLetterTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (NotificationSender sender : senders) {
+            if (lanes.containsKey(sender.channel())) {
+                throw new IllegalStateException("More than one sender for channel " + sender.channel());
+            }
+            lanes.put(sender.channel(), new Lane(sender, properties.channel(sender.channel()), meterRegistry));
+        }
+    }
+
+    /**
+     * Queue a notification for delivery. Never blocks.
+     *
+     * @param notification the notification
+     * @return true if it was queued; false if notifications are disabled, its channel has no
+     *         sender, or its queue was full, in which case it was dead-lettered
+     */
+    public boolean submit(Notification notification) {
+        Lane lane = lanes.get(notification.channel());
+        if (!properties.isEnabled() || lane == null) {
+            log.debug("Not sending {} notification for order {}: channel disabled",
+                    notification.channel(), notification.orderId());
+            return false;
+        }
+        return enqueue(lane, new Delivery(notification, 0));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        consumers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-", 0).factory());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("notification-retry").daemon().factory());
+        lanes.values().forEach(lane -> {
+            for (int i = 0; i < lane.settings.getConcurrency(); i++) {
+                consumers.execute(() -> consume(lane));
+            }
+        });
+        log.info("Started notification dispatcher for {}", lanes.keySet());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        stopped = true;
+        retryScheduler.shutdownNow();
+        consumers.shutdown();
+        try {
+            if (!consumers.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                consumers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            consumers.shutdownNow();
+        }
+
+        List<Delivery> unsent = new ArrayList<>(pendingRetries);
+        pendingRetries.clear();
+        lanes.values().forEach(lane -> lane.queue.drainTo(unsent));
+        unsent.forEach(delivery -> deadLetter(delivery, "Not sent before shutdown"));
+        if (!unsent.isEmpty()) {
+            log.warn("Notification dispatcher stopped with {} notifications unsent; they were dead-lettered", unsent.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean enqueue(Lane lane, Delivery delivery) {
+        if (!stopped && lane.queue.offer(delivery)) {
+            return true;
+        }
+        String reason = stopped ? "Dispatcher stopped" : "Queue full";
+        lane.rejected.increment();
+        log.warn("{} notification not queued ({}), dead-lettering {} for order {}", delivery.notification.channel(),
+                reason, delivery.notification.type(), delivery.notification.orderId());
+        deadLetter(delivery, reason);
+        return false;
+    }
+
+    private void consume(Lane lane) {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = lane.queue.poll(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (delivery != null) {
+                deliver(lane, delivery);
+            }
+        }
+    }
+
+    private void deliver(Lane lane, Delivery delivery) {
+        Notification notification = delivery.notification;
+        Delivery attempt = new Delivery(notification, delivery.attempts + 1);
+        try {
+            lane.rateLimit.acquire();
+            Optional<Order> order = orderRepository.findForNotificationById(notification.orderId());
+            if (order.isEmpty()) {
+                lane.dropped.increment();
+                log.warn("Dropping {} {} notification: order {} no longer exists",
+                        notification.channel(), notification.type(), notification.orderId());
+                return;
+            }
+            long start = System.nanoTime();
+            lane.sender.send(notification, order.get());
+            lane.sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lane.sent.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deadLetter(attempt, "Interrupted");
+        } catch (NonRetryableNotificationException e) {
+            log.warn("{} {} notification for order {} rejected by the provider: {}",
+                    notification.channel(), notification.type(), notification.orderId(), e.getMessage());
+            deadLetter(attempt, e.toString());
+        } catch (Exception e) {
+            if (attempt.attempts >= lane.settings.getMaxAttempts()) {
+                log.warn("Giving up on {} {} notification for order {} after {} attempts: {}",
+                        notification.channel(), notification.type(), notification.orderId(), attempt.attempts, e.toString());
+                deadLetter(attempt, e.toString());
+                return;
+            }
+            lane.retried.increment();
+            Duration backoff = backoff(lane.settings, attempt.attempts);
+            log.debug("{} notification for order {} failed (attempt {}), retrying in {}: {}",
+                    notification.channel(), notification.orderId(), attempt.attempts, backoff, e.toString());
+            scheduleRetry(lane, attempt, backoff);
+        }
+    }
+
+    private void scheduleRetry(Lane lane, Delivery delivery, Duration backoff) {
+        pendingRetries.add(delivery);
+        try {
+            retryScheduler.schedule(() -> {
+                if (pendingRetries.remove(delivery)) {
+                    enqueue(lane, delivery);
+                }
+            }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Rejected because the dispatcher is stopping; stop() dead-letters what is still pending
+            log.debug("Retry not scheduled: {}", e.toString());
+        }
+    }
+
+    /**
+     * Exponential backoff from the initial delay, capped, with jitter so retries after a
+     * provider outage do not all arrive together.
+     */
+    static Duration backoff(NotificationProperties.Channel settings, int attempts) {
+        long initial = settings.getInitialBackoff().toMillis();
+        long max = settings.getMaxBackoff().toMillis();
+        long exponential = initial << Math.min(attempts - 1, 30);
+        long capped = exponential <= 0 ? max : Math.min(exponential, max);
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private void deadLetter(Delivery delivery, String error) {
+        Notification notification = delivery.notification;
+        try {
+            deadLetterTransaction.executeWithoutResult(status -> deadLetterRepository.save(NotificationDeadLetter.builder()
+                    .channel(notification.channel())
+                    .type(notification.type())
+                    .orderId(notification.orderId())
+                    .attempts(delivery.attempts)
+                    .lastError(error)
+                    .build()));
+            Lane lane = lanes.get(notification.channel());
+            if (lane != null) {
+                lane.deadLettered.increment();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not store undeliverable {} {} notification for order {}",
+                    notification.channel(), notification.type(), notification.orderId(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.model.Order;
+
+/**
+ * Sends notifications on one channel through its provider. Implementations block until the
+ * provider accepts the message and throw if it does not, so the dispatcher can retry. A message
+ * the provider rejects as invalid fails with {@link NonRetryableNotificationException} instead.
+ */
+public interface NotificationSender {
+
+    NotificationChannel channel();
+
+    /**
+     * @param notification the notification
+     * @param order the order it is about, with its customer, worker and address loaded
+     * @throws NonRetryableNotificationException if the provider rejected the message as invalid
+     * @throws Exception if the provider did not accept the message
+     */
+    void send(Notification notification, Order order) throws Exception;
+}
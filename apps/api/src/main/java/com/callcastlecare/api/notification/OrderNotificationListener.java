@@ -0,0 +1,34 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.event.OrderCreatedEvent;
+import com.callcastlecare.api.event.OrderStatusChangedEvent;
+import com.callcastlecare.api.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns committed order changes into notifications. Runs after commit, so a rolled-back
+ * order never notifies anyone, and only queues the notifications.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNotificationListener {
+
+    private final NotificationDispatcher dispatcher;
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        dispatcher.submit(new Notification(NotificationChannel.EMAIL, Notification.Type.ORDER_CONFIRMATION, event.orderId()));
+        dispatcher.submit(new Notification(NotificationChannel.SMS, Notification.Type.ORDER_CONFIRMATION, event.orderId()));
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        dispatcher.submit(new Notification(NotificationChannel.EMAIL, Notification.Type.ORDER_STATUS_UPDATE, event.orderId()));
+        dispatcher.submit(new Notification(NotificationChannel.SMS, Notification.Type.ORDER_STATUS_UPDATE, event.orderId()));
+        if (event.status() == Order.OrderStatus.ACCEPTED && event.workerId() != null) {
+            dispatcher.submit(new Notification(NotificationChannel.SMS, Notification.Type.ORDER_ASSIGNMENT, event.orderId()));
+        }
+    }
+}
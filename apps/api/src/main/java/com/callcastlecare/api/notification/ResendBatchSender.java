@@ -0,0 +1,345 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.client.Bulkhead;
+import com.callcastlecare.api.client.BulkheadFullException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Buffers outgoing emails and sends them to Resend's batch endpoint, up to 100 per request.
+ * A batch is flushed when it is full or when the linger time since its first email has
+ * elapsed, so a burst of notifications costs a handful of requests instead of one each.
+ *
+ * <p>Batches are sent with permissive validation: Resend accepts the valid emails and
+ * reports the invalid ones by index, and each caller's future completes with its own email
+ * ID or error. If Resend rejects a whole batch as invalid anyway, the batch is split in half
+ * and each half resent until the invalid emails are isolated. Invalid emails fail with
+ * {@link NonRetryableNotificationException}. Rate limiting, server errors and I/O failures
+ * fail the whole batch; callers retry.
+ *
+ * <p>Requests are paced to the account's rate limit, and the number in flight is capped by
+ * the Resend {@link Bulkhead}. Like {@code SqsBatchPublisher}, {@link #send} blocks for up to
+ * the offer timeout when the buffer is full and then rejects the email.
+ */
+@Slf4j
+public class ResendBatchSender implements AutoCloseable {
+
+    public static final int MAX_BATCH_ENTRIES = 100;
+
+    private final URI batchEndpoint;
+    private final String apiKey;
+    private final Settings settings;
+    private final Bulkhead bulkhead;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<PendingEmail> buffer;
+    // Halves of batches Resend rejected as a whole, resent ahead of new emails
+    private final Queue<List<PendingEmail>> splitBatches = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final TokenBucket requestRate;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Counter sentEmails;
+    private final Counter failedEmails;
+    private final Counter rejectedEmails;
+    private final DistributionSummary batchSize;
+    private final Timer requestTimer;
+
+    /**
+     * An email to send.
+     *
+     * @param from the sender address
+     * @param to the recipients
+     * @param subject the subject line
+     * @param html the HTML body
+     */
+    public record Email(String from, List<String> to, String subject, String html) {
+    }
+
+    /**
+     * Tuning for a sender.
+     *
+     * @param capacity the maximum number of buffered emails
+     * @param maxBatchSize the most emails per request, at most {@link #MAX_BATCH_ENTRIES}
+     * @param linger how long a partial batch waits for more emails
+     * @param offerTimeout how long {@link #send} blocks when the buffer is full
+     * @param requestTimeout how long a batch request may take
+     * @param requestsPerSecond the Resend API rate limit; zero or less disables pacing
+     */
+    public record Settings(int capacity, int maxBatchSize, Duration linger, Duration offerTimeout,
+                           Duration requestTimeout, double requestsPerSecond) {
+
+        public Settings {
+            if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_ENTRIES) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_BATCH_ENTRIES);
+            }
+        }
+    }
+
+    public ResendBatchSender(String baseUrl, String apiKey, Settings settings, Bulkhead bulkhead,
+                             MeterRegistry meterRegistry) {
+        this.batchEndpoint = URI.create(baseUrl.replaceAll("/+$", "") + "/emails/batch");
+        this.apiKey = apiKey;
+        this.settings = settings;
+        this.bulkhead = bulkhead;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(settings.requestTimeout())
+                .executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("resend-batch-", 0).factory()))
+                .build();
+        this.buffer = new ArrayBlockingQueue<>(settings.capacity());
+        this.requestRate = new TokenBucket(settings.requestsPerSecond(), 1, System::nanoTime);
+
+        this.sentEmails = meterRegistry.counter("resend.batch.emails", "result", "sent");
+        this.failedEmails = meterRegistry.counter("resend.batch.emails", "result", "failed");
+        this.rejectedEmails = meterRegistry.counter("resend.batch.emails", "result", "rejected");
+        this.batchSize = DistributionSummary.builder("resend.batch.size")
+                .register(meterRegistry);
+        this.requestTimer = Timer.builder("resend.batch.request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("resend.batch.buffer.size", buffer, BlockingQueue::size)
+                .register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "resend-batch-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue an email for sending.
+     *
+     * @param email the email
+     * @return a future completed with the Resend email ID, or exceptionally if the email was
+     *         rejected or Resend did not accept it
+     */
+    public CompletableFuture<String> send(Email email) {
+        PendingEmail pending = new PendingEmail(email, new CompletableFuture<>());
+        if (!running) {
+            pending.result().completeExceptionally(new IllegalStateException("Email sender is closed"));
+            return pending.result();
+        }
+        try {
+            if (!buffer.offer(pending, settings.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejectedEmails.increment();
+                pending.result().completeExceptionally(new RejectedExecutionException("Email buffer is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result().completeExceptionally(e);
+        }
+        return pending.result();
+    }
+
+    /**
+     * Stop accepting emails, flush what is buffered and wait for outstanding requests.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(settings.linger().toMillis() + settings.requestTimeout().toMillis() + 5000);
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .get(settings.requestTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // All requests have finished; a failed one has already failed its emails
+        } catch (TimeoutException e) {
+            log.warn("{} Resend batch requests still outstanding at close", inFlight.size());
+        }
+        IllegalStateException closed = new IllegalStateException("Email sender is closed");
+        PendingEmail left;
+        while ((left = buffer.poll()) != null) {
+            left.result().completeExceptionally(closed);
+        }
+        List<PendingEmail> split;
+        while ((split = splitBatches.poll()) != null) {
+            split.forEach(email -> email.result().completeExceptionally(closed));
+        }
+        httpClient.close();
+    }
+
+    private void runFlusher() {
+        while (running || !buffer.isEmpty() || !splitBatches.isEmpty()) {
+            try {
+                List<PendingEmail> split = splitBatches.poll();
+                if (split != null) {
+                    send(split);
+                    continue;
+                }
+                PendingEmail first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingEmail> batch = new ArrayList<>(settings.maxBatchSize());
+                batch.add(first);
+                long deadline = System.nanoTime() + settings.linger().toNanos();
+                while (batch.size() < settings.maxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingEmail next = remaining > 0 && running
+                            ? buffer.poll(remaining, TimeUnit.NANOSECONDS)
+                            : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in Resend batch sender", e);
+            }
+        }
+    }
+
+    private void send(List<PendingEmail> batch) throws InterruptedException {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(batchEndpoint)
+                    .timeout(settings.requestTimeout())
+                    .header("Authorization", "Bearer " + apiKey)
+                    .header("Content-Type", "application/json")
+                    .header("x-batch-validation", "permissive")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(batch.stream().map(PendingEmail::email).toList())))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not build Resend batch request of {} emails", batch.size(), e);
+            fail(batch, e);
+            return;
+        }
+
+        requestRate.acquire();
+        if (!bulkhead.tryAcquire()) {
+            fail(batch, new BulkheadFullException(bulkhead.getName()));
+            return;
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<?> completed = response.whenComplete((result, error) -> {
+            bulkhead.release();
+            requestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+            try {
+                complete(batch, result, error);
+            } catch (RuntimeException e) {
+                fail(batch, e);
+            }
+        });
+        inFlight.add(completed);
+        completed.whenComplete((result, error) -> inFlight.remove(completed));
+    }
+
+    private void complete(List<PendingEmail> batch, HttpResponse<byte[]> response, Throwable error) {
+        if (error != null) {
+            log.warn("Resend batch request of {} emails failed: {}", batch.size(), error.toString());
+            fail(batch, error);
+            return;
+        }
+
+        int status = response.statusCode();
+        if (status == 400 || status == 422) {
+            if (batch.size() == 1) {
+                fail(batch, new NonRetryableNotificationException("Resend rejected email: " + errorMessage(response.body())));
+                return;
+            }
+            // Rejected as a whole despite permissive validation; resend each half to find the bad emails
+            int middle = batch.size() / 2;
+            splitBatches.add(List.copyOf(batch.subList(0, middle)));
+            splitBatches.add(List.copyOf(batch.subList(middle, batch.size())));
+            return;
+        }
+        if (status / 100 != 2) {
+            log.warn("Resend batch request of {} emails returned HTTP {}", batch.size(), status);
+            fail(batch, new IllegalStateException("Resend returned HTTP " + status + ": " + errorMessage(response.body())));
+            return;
+        }
+
+        JsonNode body = readTree(response.body());
+        Map<Integer, String> errors = new HashMap<>();
+        for (JsonNode entry : body.path("errors")) {
+            errors.put(entry.path("index").asInt(), entry.path("message").asText());
+        }
+        // Resend lists the IDs of the accepted emails in request order
+        JsonNode ids = body.path("data");
+        int next = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<String> result = batch.get(i).result();
+            if (errors.containsKey(i)) {
+                result.completeExceptionally(new NonRetryableNotificationException("Resend rejected email: " + errors.get(i)));
+                failedEmails.increment();
+            } else if (next < ids.size()) {
+                result.complete(ids.get(next++).path("id").asText());
+                sentEmails.increment();
+            } else {
+                // Treated as failed so callers retry it
+                result.completeExceptionally(new IllegalStateException("No result returned for batch entry"));
+                failedEmails.increment();
+            }
+        }
+    }
+
+    private void fail(List<PendingEmail> batch, Throwable error) {
+        failedEmails.increment(batch.size());
+        batch.forEach(email -> email.result().completeExceptionally(error));
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable Resend response", e);
+        }
+    }
+
+    private String errorMessage(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("message").asText("");
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private record PendingEmail(Email email, CompletableFuture<String> result) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.callcastlecare.api.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter for one provider: permits accrue at a steady rate up to a burst. A caller
+ * that finds none reserves the next one and sleeps until it accrues, so waiting callers are
+ * served in order and the rate holds however many consumers share the bucket.
+ */
+final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double permits;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond the sustained rate; zero or less disables the limit
+     * @param burst the permits that can be used at once after an idle period
+     */
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.permits = this.burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Take a permit, going into debt if none is left.
+     *
+     * @return how long the caller must wait before using it, in nanoseconds
+     */
+    long reserve() {
+        if (permitsPerNano <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            permits = Math.min(burst, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            permits -= 1;
+            return permits >= 0 ? 0 : (long) Math.ceil(-permits / permitsPerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
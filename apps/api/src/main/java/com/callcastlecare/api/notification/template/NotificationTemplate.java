@@ -0,0 +1,155 @@
+package com.callcastlecare.api.notification.template;
+
+import com.callcastlecare.api.model.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A notification message compiled once into a list of segments: literal text, order
+ * variables ({@code {{order.id}}}) and included templates ({@code {{> name}}}, specialised by
+ * the order's status). Rendering appends the segments in turn, with no format string to parse.
+ *
+ * <p>Variables in HTML templates are HTML-escaped; literal text and included templates are
+ * trusted as written. {@link #render} sizes its buffer from the longest message rendered so
+ * far, and {@link #renderTo} appends to a caller's buffer so bulk senders can reuse one.
+ */
+public final class NotificationTemplate {
+
+    // Deeper includes than this are taken to be a cycle
+    private static final int MAX_INCLUDE_DEPTH = 8;
+
+    private final String name;
+    private final Segment[] segments;
+    private volatile int sizeHint;
+
+    /**
+     * Looks up the template an include refers to, for the order being rendered.
+     */
+    @FunctionalInterface
+    interface IncludeResolver {
+        NotificationTemplate resolve(String name, Order.OrderStatus status);
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder out, Order order, int depth);
+    }
+
+    private NotificationTemplate(String name, List<Segment> segments, int literalLength) {
+        this.name = name;
+        this.segments = segments.toArray(Segment[]::new);
+        this.sizeHint = literalLength + 16 * segments.size();
+    }
+
+    /**
+     * Compile a template.
+     *
+     * @param name the template's name, for error messages
+     * @param source the template text
+     * @param escapeHtml whether variable values are HTML-escaped
+     * @param includes resolves {@code {{> name}}} includes at render time
+     * @throws IllegalArgumentException if the template is malformed or uses an unknown variable
+     */
+    static NotificationTemplate compile(String name, String source, boolean escapeHtml, IncludeResolver includes) {
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                open = source.length();
+            }
+            if (open > position) {
+                String text = source.substring(position, open);
+                segments.add((out, order, depth) -> out.append(text));
+                literalLength += text.length();
+            }
+            if (open == source.length()) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed {{ in template " + name);
+            }
+            String tag = source.substring(open + 2, close).trim();
+            segments.add(tag.startsWith(">")
+                    ? include(name, tag.substring(1).trim(), includes)
+                    : variable(OrderVariables.resolve(tag), escapeHtml));
+            position = close + 2;
+        }
+        return new NotificationTemplate(name, segments, literalLength);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param order the order, with its customer, address, worker and pricing option loaded
+     * @return the message
+     */
+    public String render(Order order) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        renderTo(out, order, 0);
+        if (out.length() > sizeHint) {
+            sizeHint = out.length();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Append the message to a buffer.
+     *
+     * @param out the buffer
+     * @param order the order, with its customer, address, worker and pricing option loaded
+     * @return the buffer
+     */
+    public StringBuilder renderTo(StringBuilder out, Order order) {
+        renderTo(out, order, 0);
+        return out;
+    }
+
+    private void renderTo(StringBuilder out, Order order, int depth) {
+        for (Segment segment : segments) {
+            segment.appendTo(out, order, depth);
+        }
+    }
+
+    private static Segment variable(Function<Order, Object> variable, boolean escapeHtml) {
+        return (out, order, depth) -> {
+            Object value = variable.apply(order);
+            if (value == null) {
+                return;
+            }
+            if (escapeHtml) {
+                appendEscaped(out, value.toString());
+            } else {
+                out.append(value);
+            }
+        };
+    }
+
+    private static Segment include(String from, String target, IncludeResolver includes) {
+        return (out, order, depth) -> {
+            if (depth >= MAX_INCLUDE_DEPTH) {
+                throw new IllegalStateException("Template " + from + " includes itself through " + target);
+            }
+            includes.resolve(target, order.getStatus()).renderTo(out, order, depth + 1);
+        };
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
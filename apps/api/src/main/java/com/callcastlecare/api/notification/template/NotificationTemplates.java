@@ -0,0 +1,209 @@
+package com.callcastlecare.api.notification.template;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.notification.NotificationChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled notification templates, loaded from {@code notifications.templates.location}.
+ *
+ * <p>Templates live in one directory per channel, named
+ * {@code <name>[.<status>][_<locale>].<txt|html>}: {@code sms/order-status-update.accepted.txt}
+ * is the SMS sent when an order is accepted, {@code email/order-confirmation_es.html} the Spanish
+ * confirmation email. Lookups fall back from the status-specific template to the plain one, and
+ * from the requested locale to its language and then to the unsuffixed default.
+ *
+ * <p>All templates are compiled together and swapped in at once, when the application is ready
+ * and then every {@code notifications.templates.reload-interval-ms}, so edits to a {@code file:}
+ * location take effect without a restart. A set that fails to load (a malformed template, an
+ * unknown variable or a missing include) is logged and the previous one kept.
+ */
+@Component
+@Slf4j
+public class NotificationTemplates {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(.+?)(?:_([a-z]{2,3}(?:_[A-Z]{2})?))?\\.(txt|html)");
+    private static final Pattern INCLUDE = Pattern.compile("\\{\\{\\s*>\\s*(.+?)\\s*}}");
+
+    private final String location;
+    private final Locale defaultLocale;
+    private final ResourcePatternResolver resourceResolver;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Only null before the first load
+    private volatile Map<Key, NotificationTemplate> templates;
+
+    private record Key(NotificationChannel channel, String name, Locale locale) {
+    }
+
+    public NotificationTemplates(NotificationProperties properties, ResourceLoader resourceLoader) {
+        String configured = properties.getTemplates().getLocation();
+        this.location = configured.endsWith("/") ? configured : configured + "/";
+        this.defaultLocale = properties.getTemplates().getDefaultLocale();
+        this.resourceResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+    }
+
+    /**
+     * Reload the templates, keeping the current set if the load fails.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${notifications.templates.reload-interval-ms:60000}",
+            initialDelayString = "${notifications.templates.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to reload notification templates from {}, keeping the current set", location, e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if there is no such template in any locale
+     */
+    public NotificationTemplate get(NotificationChannel channel, String name) {
+        return get(channel, name, null, defaultLocale);
+    }
+
+    /**
+     * The template for an order in a given status: {@code <name>.<status>} if there is one,
+     * otherwise {@code <name>}.
+     *
+     * @throws IllegalStateException if there is no such template in any locale
+     */
+    public NotificationTemplate get(NotificationChannel channel, String name, Order.OrderStatus status) {
+        return get(channel, name, status, defaultLocale);
+    }
+
+    /**
+     * @throws IllegalStateException if there is no such template in any locale
+     */
+    public NotificationTemplate get(NotificationChannel channel, String name, Order.OrderStatus status, Locale locale) {
+        NotificationTemplate template = find(current(), channel, name, status, locale);
+        if (template == null) {
+            throw new IllegalStateException("No " + channel + " notification template named " + name);
+        }
+        return template;
+    }
+
+    private Map<Key, NotificationTemplate> current() {
+        Map<Key, NotificationTemplate> current = templates;
+        if (current != null) {
+            return current;
+        }
+        // Used before the startup load has run
+        try {
+            return load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load notification templates from " + location, e);
+        }
+    }
+
+    private Map<Key, NotificationTemplate> load() throws IOException {
+        reloadLock.lock();
+        try {
+            Map<Key, String> sources = new HashMap<>();
+            Map<Key, Boolean> html = new HashMap<>();
+            for (Resource resource : resourceResolver.getResources(location + "*/*")) {
+                String[] path = resource.getURL().getPath().split("/");
+                if (path.length < 2) {
+                    continue;
+                }
+                Matcher fileName = FILE_NAME.matcher(path[path.length - 1]);
+                if (!fileName.matches()) {
+                    continue;
+                }
+                NotificationChannel channel = NotificationChannel.valueOf(path[path.length - 2].toUpperCase(Locale.ROOT));
+                Locale locale = fileName.group(2) == null
+                        ? Locale.ROOT
+                        : Locale.forLanguageTag(fileName.group(2).replace('_', '-'));
+                Key key = new Key(channel, fileName.group(1), locale);
+                boolean isHtml = "html".equals(fileName.group(3));
+                sources.put(key, read(resource, isHtml));
+                html.put(key, isHtml);
+            }
+
+            Map<Key, NotificationTemplate> compiled = new HashMap<>();
+            sources.forEach((key, source) -> compiled.put(key, NotificationTemplate.compile(
+                    key.channel().name().toLowerCase(Locale.ROOT) + "/" + key.name(), source, html.get(key),
+                    (target, status) -> include(compiled, key, target, status))));
+            sources.forEach((key, source) -> {
+                Matcher include = INCLUDE.matcher(source);
+                while (include.find()) {
+                    if (find(compiled, key.channel(), include.group(1), null, key.locale()) == null) {
+                        throw new IllegalArgumentException("Template " + key.name() + " includes missing template "
+                                + include.group(1));
+                    }
+                }
+            });
+
+            Map<Key, NotificationTemplate> loaded = Map.copyOf(compiled);
+            if (templates == null || templates.size() != loaded.size()) {
+                log.info("Loaded {} notification templates from {}", loaded.size(), location);
+            }
+            templates = loaded;
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static NotificationTemplate include(Map<Key, NotificationTemplate> compiled, Key from, String target,
+                                                Order.OrderStatus status) {
+        NotificationTemplate template = find(compiled, from.channel(), target, status, from.locale());
+        if (template == null) {
+            throw new IllegalStateException("Template " + from.name() + " includes missing template " + target);
+        }
+        return template;
+    }
+
+    private static NotificationTemplate find(Map<Key, NotificationTemplate> templates, NotificationChannel channel,
+                                             String name, Order.OrderStatus status, Locale locale) {
+        if (status != null) {
+            NotificationTemplate specific = findLocalized(templates, channel,
+                    name + "." + status.name().toLowerCase(Locale.ROOT), locale);
+            if (specific != null) {
+                return specific;
+            }
+        }
+        return findLocalized(templates, channel, name, locale);
+    }
+
+    private static NotificationTemplate findLocalized(Map<Key, NotificationTemplate> templates,
+                                                      NotificationChannel channel, String name, Locale locale) {
+        NotificationTemplate template = templates.get(new Key(channel, name, locale));
+        if (template == null && !locale.getCountry().isEmpty()) {
+            template = templates.get(new Key(channel, name, Locale.of(locale.getLanguage())));
+        }
+        if (template == null) {
+            template = templates.get(new Key(channel, name, Locale.ROOT));
+        }
+        return template;
+    }
+
+    // Text templates drop the newline editors add at the end of the file; an SMS must not end in one
+    private static String read(Resource resource, boolean html) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return !html && source.endsWith("\n") ? source.stripTrailing() : source;
+        }
+    }
+}
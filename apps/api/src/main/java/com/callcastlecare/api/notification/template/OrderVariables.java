@@ -0,0 +1,64 @@
+package com.callcastlecare.api.notification.template;
+
+import com.callcastlecare.api.model.Address;
+import com.callcastlecare.api.model.Customer;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import com.callcastlecare.api.model.Worker;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The variables a notification template can use, each read from the order being notified.
+ * A variable whose entity is missing (no worker assigned yet) renders as empty text.
+ */
+final class OrderVariables {
+
+    private static final Map<String, Function<Order, Object>> VARIABLES = Map.ofEntries(
+            Map.entry("order.id", Order::getId),
+            Map.entry("order.serviceType", Order::getServiceType),
+            Map.entry("order.status", Order::getStatus),
+            Map.entry("order.date", Order::getDate),
+            Map.entry("order.timeSlot", Order::getTimeSlot),
+            Map.entry("order.price", Order::getPrice),
+            Map.entry("order.plan", order -> pricingOption(order, PricingOption::getName)),
+            Map.entry("customer.firstName", order -> customer(order, Customer::getFirstName)),
+            Map.entry("customer.lastName", order -> customer(order, Customer::getLastName)),
+            Map.entry("worker.firstName", order -> worker(order, Worker::getFirstName)),
+            Map.entry("worker.lastName", order -> worker(order, Worker::getLastName)),
+            Map.entry("address.street", order -> address(order, Address::getStreet)),
+            Map.entry("address.city", order -> address(order, Address::getCity)),
+            Map.entry("address.state", order -> address(order, Address::getState)),
+            Map.entry("address.zip", order -> address(order, Address::getZip)));
+
+    private OrderVariables() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no variable with this name
+     */
+    static Function<Order, Object> resolve(String name) {
+        Function<Order, Object> variable = VARIABLES.get(name);
+        if (variable == null) {
+            throw new IllegalArgumentException("Unknown template variable " + name);
+        }
+        return variable;
+    }
+
+    private static Object customer(Order order, Function<Customer, Object> field) {
+        return order.getCustomer() == null ? null : field.apply(order.getCustomer());
+    }
+
+    private static Object worker(Order order, Function<Worker, Object> field) {
+        return order.getWorker() == null ? null : field.apply(order.getWorker());
+    }
+
+    private static Object address(Order order, Function<Address, Object> field) {
+        return order.getAddress() == null ? null : field.apply(order.getAddress());
+    }
+
+    private static Object pricingOption(Order order, Function<PricingOption, Object> field) {
+        return order.getPricingOption() == null ? null : field.apply(order.getPricingOption());
+    }
+}
@@ -0,0 +1,143 @@
+package com.callcastlecare.api.pricing;
+
+import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of every pricing option, indexed for the lookups the API serves: by ID,
+ * by service type, by service type and billing period, and by property size through a
+ * compiled {@link SizeRangeMatcher} per service type.
+ *
+ * <p>A snapshot is never modified; changes build a new one that replaces the old in a single
+ * reference write, so readers always see one consistent catalog. Lists are in ID order and
+ * unmodifiable, and the options they hold are shared, so callers must not modify them.
+ */
+@Slf4j
+public final class PricingCatalog {
+
+    public static final PricingCatalog EMPTY = new PricingCatalog(List.of());
+
+    private final List<PricingOptionDto> all;
+    private final Map<Long, PricingOptionDto> byId;
+    // Only options whose size range can be evaluated; the others are never quoted or ordered
+    private final Map<Long, SizeRange> rangesById;
+    private final Map<Order.ServiceType, List<PricingOptionDto>> byServiceType;
+    private final Map<Order.ServiceType, Map<Order.BillingPeriod, List<PricingOptionDto>>> byServiceTypeAndBillingPeriod;
+    private final Map<Order.ServiceType, SizeRangeMatcher<PricingOptionDto>> matchers;
+
+    private PricingCatalog(List<Option> options) {
+        List<PricingOptionDto> all = new ArrayList<>(options.size());
+        Map<Long, PricingOptionDto> byId = new HashMap<>();
+        Map<Long, SizeRange> rangesById = new HashMap<>();
+        Map<Order.ServiceType, List<PricingOptionDto>> byServiceType = new EnumMap<>(Order.ServiceType.class);
+        Map<Order.ServiceType, Map<Order.BillingPeriod, List<PricingOptionDto>>> byServiceTypeAndBillingPeriod =
+                new EnumMap<>(Order.ServiceType.class);
+        Map<Order.ServiceType, List<Map.Entry<SizeRange, PricingOptionDto>>> ranges = new EnumMap<>(Order.ServiceType.class);
+
+        for (Option entry : options) {
+            PricingOptionDto option = entry.dto();
+            all.add(option);
+            byId.put(option.getId(), option);
+            byServiceType.computeIfAbsent(option.getServiceType(), type -> new ArrayList<>()).add(option);
+            byServiceTypeAndBillingPeriod
+                    .computeIfAbsent(option.getServiceType(), type -> new EnumMap<>(Order.BillingPeriod.class))
+                    .computeIfAbsent(option.getBillingPeriod(), period -> new ArrayList<>())
+                    .add(option);
+            if (entry.range() != null) {
+                rangesById.put(option.getId(), entry.range());
+                ranges.computeIfAbsent(option.getServiceType(), type -> new ArrayList<>())
+                        .add(Map.entry(entry.range(), option));
+            }
+        }
+
+        this.all = List.copyOf(all);
+        this.byId = Map.copyOf(byId);
+        this.rangesById = Map.copyOf(rangesById);
+        byServiceType.replaceAll((type, list) -> List.copyOf(list));
+        this.byServiceType = Collections.unmodifiableMap(byServiceType);
+        byServiceTypeAndBillingPeriod.replaceAll((type, periods) -> {
+            periods.replaceAll((period, list) -> List.copyOf(list));
+            return Collections.unmodifiableMap(periods);
+        });
+        this.byServiceTypeAndBillingPeriod = Collections.unmodifiableMap(byServiceTypeAndBillingPeriod);
+        Map<Order.ServiceType, SizeRangeMatcher<PricingOptionDto>> matchers = new EnumMap<>(Order.ServiceType.class);
+        ranges.forEach((serviceType, entries) -> matchers.put(serviceType, SizeRangeMatcher.compile(entries)));
+        this.matchers = Collections.unmodifiableMap(matchers);
+    }
+
+    /**
+     * Build a snapshot of the given pricing options.
+     *
+     * @param pricingOptions the options, with their features loaded
+     * @param mapper maps an option to the DTO the catalog serves
+     */
+    public static PricingCatalog of(List<PricingOption> pricingOptions, Function<PricingOption, PricingOptionDto> mapper) {
+        List<Option> options = new ArrayList<>(pricingOptions.size());
+        for (PricingOption pricingOption : pricingOptions.stream()
+                .sorted(Comparator.comparing(PricingOption::getId))
+                .toList()) {
+            SizeRange range;
+            try {
+                range = SizeRange.of(pricingOption);
+            } catch (IllegalArgumentException e) {
+                log.warn("Pricing option {} has no usable size range and cannot be quoted or ordered: {}",
+                        pricingOption.getId(), e.getMessage());
+                range = null;
+            }
+            options.add(new Option(mapper.apply(pricingOption), range));
+        }
+        return new PricingCatalog(options);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public List<PricingOptionDto> all() {
+        return all;
+    }
+
+    public Optional<PricingOptionDto> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * @return the size range of an option, or empty if the option is unknown or its range
+     *         could not be evaluated
+     */
+    public Optional<SizeRange> sizeRange(Long id) {
+        return Optional.ofNullable(rangesById.get(id));
+    }
+
+    public List<PricingOptionDto> byServiceType(Order.ServiceType serviceType) {
+        return byServiceType.getOrDefault(serviceType, List.of());
+    }
+
+    public List<PricingOptionDto> byServiceTypeAndBillingPeriod(Order.ServiceType serviceType,
+                                                                Order.BillingPeriod billingPeriod) {
+        return byServiceTypeAndBillingPeriod.getOrDefault(serviceType, Map.of())
+                .getOrDefault(billingPeriod, List.of());
+    }
+
+    /**
+     * @return the size matcher for a service type, or null if it has no quotable options
+     */
+    public SizeRangeMatcher<PricingOptionDto> matcher(Order.ServiceType serviceType) {
+        return matchers.get(serviceType);
+    }
+
+    private record Option(PricingOptionDto dto, SizeRange range) {
+    }
+}
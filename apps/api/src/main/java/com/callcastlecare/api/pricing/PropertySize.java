@@ -0,0 +1,53 @@
+package com.callcastlecare.api.pricing;
+
+import com.callcastlecare.api.model.Order;
+
+import java.util.Locale;
+
+/**
+ * The property measurements pricing depends on: living area for lighting and lot size
+ * for lawncare. Laundry is not priced by size.
+ */
+public record PropertySize(int livingAreaSqFt, double lotSizeAcres) {
+
+    private static final double SQUARE_FEET_PER_ACRE = 43560;
+
+    /**
+     * Build from the {@code [livingArea, lotSize]} pair returned by the Zillow client.
+     *
+     * @throws IllegalArgumentException if the lot size cannot be parsed
+     */
+    public static PropertySize from(Object[] propertySizeData) {
+        return new PropertySize((int) propertySizeData[0], parseLotSizeAcres((String) propertySizeData[1]));
+    }
+
+    public static boolean isSized(Order.ServiceType serviceType) {
+        return serviceType == Order.ServiceType.LAWNCARE || serviceType == Order.ServiceType.LIGHTING;
+    }
+
+    /**
+     * @return the measure the service type is priced by, or null if it is not priced by size
+     */
+    public Double sizeFor(Order.ServiceType serviceType) {
+        return switch (serviceType) {
+            case LAWNCARE -> lotSizeAcres;
+            case LIGHTING -> (double) livingAreaSqFt;
+            case LAUNDRY -> null;
+        };
+    }
+
+    /**
+     * Parse a lot size such as "0.25 acres", "1 acre", "10,890 sqft" or a plain number of acres.
+     */
+    static double parseLotSizeAcres(String lotSize) {
+        String normalized = lotSize.trim().toLowerCase(Locale.ROOT).replace(",", "");
+        try {
+            if (normalized.endsWith("sqft") || normalized.endsWith("sq ft") || normalized.endsWith("square feet")) {
+                return Double.parseDouble(normalized.replaceAll("[a-z ]+$", "").trim()) / SQUARE_FEET_PER_ACRE;
+            }
+            return Double.parseDouble(normalized.replaceAll("acres?$", "").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid lot size format: " + lotSize);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.callcastlecare.api.pricing;
+
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inclusive numeric bounds of a pricing option's size range; a null bound is open.
+ * The unit depends on the service type, see {@link PropertySize#sizeFor(Order.ServiceType)}.
+ */
+public record SizeRange(Double min, Double max) {
+
+    public static final SizeRange ANY = new SizeRange(null, null);
+
+    private static final Pattern UP_TO = Pattern.compile("^(?:up to|under|<=?)\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern AT_LEAST = Pattern.compile("^(\\d+(?:\\.\\d+)?)\\s*\\+");
+    private static final Pattern BETWEEN = Pattern.compile("^(\\d+(?:\\.\\d+)?)\\s*-\\s*(\\d+(?:\\.\\d+)?)");
+
+    public SizeRange {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("Size range minimum " + min + " is above maximum " + max);
+        }
+    }
+
+    public boolean contains(double size) {
+        return (min == null || size >= min) && (max == null || size <= max);
+    }
+
+    /**
+     * The bounds of a pricing option: its structured bounds when set, otherwise parsed from
+     * the size range label. Service types without a size measure match any property.
+     */
+    public static SizeRange of(PricingOption pricingOption) {
+        if (!PropertySize.isSized(pricingOption.getServiceType())) {
+            return ANY;
+        }
+        if (pricingOption.getMinSize() != null || pricingOption.getMaxSize() != null) {
+            return new SizeRange(pricingOption.getMinSize(), pricingOption.getMaxSize());
+        }
+        return parse(pricingOption.getSizeRange());
+    }
+
+    /**
+     * Parse a size range label such as "0-0.5 acres", "1+ acres" or "Up to 1300 sq ft".
+     *
+     * @throws IllegalArgumentException if the label has no recognisable bounds
+     */
+    public static SizeRange parse(String label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Size range is required");
+        }
+        String normalized = label.trim().toLowerCase(Locale.ROOT).replace(",", "");
+        Matcher matcher = BETWEEN.matcher(normalized);
+        if (matcher.find()) {
+            return new SizeRange(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)));
+        }
+        matcher = AT_LEAST.matcher(normalized);
+        if (matcher.find()) {
+            return new SizeRange(Double.parseDouble(matcher.group(1)), null);
+        }
+        matcher = UP_TO.matcher(normalized);
+        if (matcher.find()) {
+            return new SizeRange(null, Double.parseDouble(matcher.group(1)));
+        }
+        throw new IllegalArgumentException("Unrecognised size range: " + label);
+    }
+}
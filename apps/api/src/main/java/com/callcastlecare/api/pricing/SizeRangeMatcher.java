@@ -0,0 +1,94 @@
+package com.callcastlecare.api.pricing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable interval lookup from a property size to the values whose range contains it.
+ * Ranges are sorted by lower bound, so a lookup binary-searches the last range that can
+ * start at or below the size and only checks upper bounds up to there.
+ *
+ * @param <T> the value attached to each range, e.g. a pricing option
+ */
+public final class SizeRangeMatcher<T> {
+
+    private final double[] mins;
+    private final double[] maxes;
+    private final List<T> values;
+
+    private SizeRangeMatcher(double[] mins, double[] maxes, List<T> values) {
+        this.mins = mins;
+        this.maxes = maxes;
+        this.values = values;
+    }
+
+    /**
+     * Compile ranges into a matcher.
+     *
+     * @param ranges the values with their size ranges
+     */
+    public static <T> SizeRangeMatcher<T> compile(List<Map.Entry<SizeRange, T>> ranges) {
+        List<Map.Entry<SizeRange, T>> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingDouble(entry -> lower(entry.getKey())));
+
+        double[] mins = new double[sorted.size()];
+        double[] maxes = new double[sorted.size()];
+        List<T> values = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            mins[i] = lower(sorted.get(i).getKey());
+            maxes[i] = upper(sorted.get(i).getKey());
+            values.add(sorted.get(i).getValue());
+        }
+        return new SizeRangeMatcher<>(mins, maxes, List.copyOf(values));
+    }
+
+    /**
+     * @return the values whose range contains the size, in ascending order of lower bound
+     */
+    public List<T> match(double size) {
+        int candidates = upperBound(size);
+        List<T> matches = new ArrayList<>(2);
+        for (int i = 0; i < candidates; i++) {
+            if (size <= maxes[i]) {
+                matches.add(values.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return every value regardless of size, for service types not priced by size
+     */
+    public List<T> all() {
+        return values;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private int upperBound(double size) {
+        // Number of ranges whose lower bound is at or below the size
+        int low = 0;
+        int high = mins.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mins[mid] <= size) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double lower(SizeRange range) {
+        return range.min() == null ? Double.NEGATIVE_INFINITY : range.min();
+    }
+
+    private static double upper(SizeRange range) {
+        return range.max() == null ? Double.POSITIVE_INFINITY : range.max();
+    }
+}
@@ -2,6 +2,7 @@ package com.callcastlecare.api.repository;
 
 import com.callcastlecare.api.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +11,12 @@ import java.util.Optional;
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    // Single-column lookups for access checks, which need no more than this
+    
+    @Query("SELECT c.email FROM Customer c WHERE c.id = :id")
+    Optional<String> findEmailById(Long id);
+    
+    @Query("SELECT c.id FROM Customer c WHERE c.email = :email")
+    Optional<Long> findIdByEmail(String email);
 }
@@ -0,0 +1,13 @@
+package com.callcastlecare.api.repository;
+
+import com.callcastlecare.api.model.NotificationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+    
+    List<NotificationDeadLetter> findByOrderId(Long orderId);
+}
@@ -0,0 +1,13 @@
+package com.callcastlecare.api.repository;
+
+/**
+ * The customer and assigned worker of an order, as needed for access checks.
+ *
+ * @param orderId the order ID
+ * @param customerId the customer ID
+ * @param customerEmail the customer's email
+ * @param workerId the assigned worker, or null while the order is pending
+ * @param workerEmail the assigned worker's email, or null while the order is pending
+ */
+public record OrderParticipants(Long orderId, Long customerId, String customerEmail, Long workerId, String workerEmail) {
+}
@@ -1,10 +1,21 @@
 package com.callcastlecare.api.repository;
 
 import com.callcastlecare.api.model.Order;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -12,4 +23,73 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByWorkerId(Long workerId);
     List<Order> findByStatus(Order.OrderStatus status);
     List<Order> findByServiceType(Order.ServiceType serviceType);
+
+    // Compare-and-set status transitions. Each is a single UPDATE that only matches while the
+    // order is still in the expected status, so concurrent writers cannot overwrite each other;
+    // a return value of 0 means the precondition did not hold.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = 'ACCEPTED', o.worker.id = :workerId, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status = 'PENDING' AND o.worker IS NULL " +
+            "AND EXISTS (SELECT w.id FROM Worker w WHERE w.id = :workerId AND w.status = 'APPROVED' " +
+            "AND w.availability = true AND LOWER(CAST(o.serviceType AS String)) MEMBER OF w.roles)")
+    int acceptIfPending(Long id, Long workerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 WHERE o.id = :id AND o.status = :from")
+    int transitionStatus(Long id, Order.OrderStatus from, Order.OrderStatus to);
+
+    // Who may see an order, without loading the order, customer or worker entities
+    @Query("SELECT new com.callcastlecare.api.repository.OrderParticipants(o.id, c.id, c.email, w.id, w.email) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.worker w WHERE o.id = :id")
+    Optional<OrderParticipants> findParticipantsById(Long id);
+
+    // Everything a notification renders in one query, so it can be sent after the session closes
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.address LEFT JOIN FETCH o.worker JOIN FETCH o.pricingOption WHERE o.id = :id")
+    Optional<Order> findForNotificationById(Long id);
+
+    @Query("SELECT o.worker.id, COUNT(o) FROM Order o WHERE o.status IN ('ACCEPTED', 'IN_PROGRESS') GROUP BY o.worker.id")
+    List<Object[]> countActiveOrdersByWorker();
+
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.worker.id = :workerId AND o.status IN ('ACCEPTED', 'IN_PROGRESS')")
+    long countActiveOrdersByWorkerId(Long workerId);
+
+    // Keyset pagination, newest first. The first page has no cursor; subsequent pages
+    // continue strictly after the (createdAt, id) of the last row of the previous page.
+
+    List<Order> findByCustomerIdOrderByCreatedAtDescIdDesc(Long customerId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.customer.id = :customerId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByCustomerIdAfter(Long customerId, LocalDateTime createdAt, Long id, Limit limit);
+
+    List<Order> findByWorkerIdOrderByCreatedAtDescIdDesc(Long workerId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.worker.id = :workerId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByWorkerIdAfter(Long workerId, LocalDateTime createdAt, Long id, Limit limit);
+
+    List<Order> findByStatusOrderByCreatedAtDescIdDesc(Order.OrderStatus status, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.status = :status " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByStatusAfter(Order.OrderStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    // Streaming variants for NDJSON export. Callers must consume the stream inside a
+    // transaction and detach each entity once mapped so the persistence context stays small.
+
+    @Query("SELECT o FROM Order o WHERE o.customer.id = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Order> streamByCustomerId(Long customerId);
+
+    @Query("SELECT o FROM Order o WHERE o.worker.id = :workerId ORDER BY o.createdAt DESC, o.id DESC")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Order> streamByWorkerId(Long workerId);
+
+    @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.createdAt DESC, o.id DESC")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Order> streamByStatus(Order.OrderStatus status);
 }
@@ -3,6 +3,7 @@ package com.callcastlecare.api.repository;
 import com.callcastlecare.api.model.Order;
 import com.callcastlecare.api.model.PricingOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +12,7 @@ import java.util.List;
 public interface PricingOptionRepository extends JpaRepository<PricingOption, Long> {
     List<PricingOption> findByServiceType(Order.ServiceType serviceType);
     List<PricingOption> findByServiceTypeAndBillingPeriod(Order.ServiceType serviceType, Order.BillingPeriod billingPeriod);
+    
+    @Query("SELECT DISTINCT p FROM PricingOption p LEFT JOIN FETCH p.features")
+    List<PricingOption> findAllWithFeatures();
 }
@@ -13,6 +13,17 @@ public interface WorkerRepository extends JpaRepository<Worker, Long> {
     Optional<Worker> findByEmail(String email);
     boolean existsByEmail(String email);
     
+    // Single-column lookups for access checks, which need no more than this
+    
+    @Query("SELECT w.email FROM Worker w WHERE w.id = :id")
+    Optional<String> findEmailById(Long id);
+    
+    @Query("SELECT w.id FROM Worker w WHERE w.email = :email")
+    Optional<Long> findIdByEmail(String email);
+    
     @Query("SELECT w FROM Worker w WHERE w.availability = true AND w.status = 'APPROVED' AND :role MEMBER OF w.roles")
     List<Worker> findAvailableWorkersByRole(String role);
+    
+    @Query("SELECT DISTINCT w FROM Worker w LEFT JOIN FETCH w.roles WHERE w.availability = true AND w.status = 'APPROVED'")
+    List<Worker> findAvailableWorkersWithRoles();
 }
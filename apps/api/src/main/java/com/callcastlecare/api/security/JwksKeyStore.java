@@ -0,0 +1,208 @@
+package com.callcastlecare.api.security;
+
+import com.callcastlecare.api.config.CognitoProperties;
+import com.callcastlecare.api.config.SecurityProperties;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the public keys that sign our tokens and serves them to the JWT decoder from memory,
+ * so no request waits on the JWKS endpoint in the normal case.
+ *
+ * <p>The set is loaded when the application is ready, before it reports readiness for
+ * traffic, and refreshed every {@code security.jwks.refresh-interval-ms}. A token signed with
+ * a key the set does not have (Cognito rotated its keys) triggers an immediate refresh, at
+ * most once per {@code security.jwks.min-refresh-interval}. A failed load keeps the keys
+ * already held; when there are none yet, the optional backup file of the last fetched set is
+ * used instead.
+ */
+@Component
+@Slf4j
+public class JwksKeyStore implements JWKSource<SecurityContext> {
+
+    private final String location;
+    private final Duration minRefreshInterval;
+    private final Duration timeout;
+    private final Path backupFile;
+    private final ResourceLoader resourceLoader;
+    private final HttpClient httpClient;
+    // Held across the HTTP fetch, so not a monitor: on JDK 21 a virtual thread blocked inside
+    // synchronized pins its carrier thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Last known good set, or null until the first successful load
+    private volatile JWKSet keys;
+    private long lastAttemptNanos;
+    private boolean attempted;
+
+    public JwksKeyStore(SecurityProperties securityProperties, CognitoProperties cognitoProperties,
+                        ResourceLoader resourceLoader) {
+        SecurityProperties.Jwks jwks = securityProperties.getJwks();
+        this.location = jwks.getLocation() != null ? jwks.getLocation() : cognitoProperties.getJwkUrl();
+        this.minRefreshInterval = jwks.getMinRefreshInterval();
+        this.timeout = jwks.getTimeout();
+        this.backupFile = jwks.getBackupFile() != null ? Path.of(jwks.getBackupFile()) : null;
+        this.resourceLoader = resourceLoader;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Reload the key set, keeping the current one if the load fails.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.jwks.refresh-interval-ms:3600000}",
+            initialDelayString = "${security.jwks.refresh-interval-ms:3600000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        JWKSet current = keys;
+        if (current != null) {
+            List<JWK> matches = jwkSelector.select(current);
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+        }
+
+        JWKSet refreshed = refreshForUnknownKey(current);
+        return refreshed != null ? jwkSelector.select(refreshed) : List.of();
+    }
+
+    /**
+     * @return the keys currently held, or null if none have been loaded
+     */
+    public JWKSet getKeys() {
+        return keys;
+    }
+
+    /**
+     * Reload for a token whose key was not found, unless another thread already replaced the
+     * set or the last attempt was too recent. Concurrent callers wait for one load.
+     */
+    private JWKSet refreshForUnknownKey(JWKSet seen) {
+        refreshLock.lock();
+        try {
+            if (keys != seen) {
+                return keys;
+            }
+            if (attempted && System.nanoTime() - lastAttemptNanos < minRefreshInterval.toNanos()) {
+                return keys;
+            }
+            log.info("Signing key not found in the JWK set, reloading from {}", location);
+            reload();
+            return keys;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void reload() {
+        attempted = true;
+        lastAttemptNanos = System.nanoTime();
+        try {
+            JWKSet loaded = JWKSet.parse(read()).toPublicJWKSet();
+            keys = loaded;
+            log.debug("Loaded {} signing keys from {}", loaded.getKeys().size(), location);
+            writeBackup(loaded);
+        } catch (IOException | ParseException | RuntimeException e) {
+            if (keys != null) {
+                log.warn("Could not reload the JWK set from {}, keeping the {} keys already held: {}",
+                        location, keys.getKeys().size(), e.toString());
+                return;
+            }
+            log.warn("Could not load the JWK set from {}: {}", location, e.toString());
+            loadBackup();
+        }
+    }
+
+    private String read() throws IOException {
+        if (location == null) {
+            throw new IllegalStateException("No JWK set location configured");
+        }
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(location))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode());
+                }
+                return response.body();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while fetching the JWK set", e);
+            }
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void writeBackup(JWKSet loaded) {
+        if (backupFile == null) {
+            return;
+        }
+        try {
+            Path parent = backupFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "jwks", ".tmp");
+            Files.writeString(temp, loaded.toString(true));
+            Files.move(temp, backupFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write the JWK set backup to {}: {}", backupFile, e.getMessage());
+        }
+    }
+
+    private void loadBackup() {
+        if (backupFile == null || !Files.isReadable(backupFile)) {
+            return;
+        }
+        try {
+            JWKSet loaded = JWKSet.parse(Files.readString(backupFile)).toPublicJWKSet();
+            keys = loaded;
+            log.warn("Using {} signing keys from the backup {} until the JWK set can be reloaded",
+                    loaded.getKeys().size(), backupFile);
+        } catch (IOException | ParseException e) {
+            log.warn("Could not read the JWK set backup {}: {}", backupFile, e.getMessage());
+        }
+    }
+}
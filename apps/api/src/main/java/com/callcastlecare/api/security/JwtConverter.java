@@ -6,7 +6,6 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 
@@ -17,7 +16,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Converter for extracting authorities from AWS Cognito JWT tokens.
+ * Converter for extracting authorities and the {@link UserPrincipal} from AWS Cognito JWT tokens.
  */
 @Component
 public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
@@ -27,7 +26,7 @@ public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken>
     @Override
     public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
         Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
-        return new JwtAuthenticationToken(jwt, authorities);
+        return new UserAuthenticationToken(jwt, UserPrincipal.from(jwt), authorities);
     }
 
     private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
@@ -0,0 +1,48 @@
+package com.callcastlecare.api.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Authentication for a verified JWT whose principal is the typed {@link UserPrincipal}, so
+ * {@code principal} in security expressions carries the account IDs directly. The token
+ * itself remains available as the credentials and through {@link #getToken()}.
+ */
+@Transient
+public class UserAuthenticationToken extends AbstractOAuth2TokenAuthenticationToken<Jwt> {
+
+    public UserAuthenticationToken(Jwt jwt, UserPrincipal principal, Collection<? extends GrantedAuthority> authorities) {
+        super(jwt, principal, jwt, authorities);
+        setAuthenticated(true);
+    }
+
+    /**
+     * A copy of this authentication with other request details, sharing the verified token
+     * and authorities.
+     */
+    public UserAuthenticationToken withDetails(Object details) {
+        UserAuthenticationToken copy = new UserAuthenticationToken(getToken(), getPrincipal(), getAuthorities());
+        copy.setDetails(details);
+        return copy;
+    }
+
+    @Override
+    public Map<String, Object> getTokenAttributes() {
+        return getToken().getClaims();
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return (UserPrincipal) super.getPrincipal();
+    }
+
+    @Override
+    public String getName() {
+        return getToken().getSubject();
+    }
+}
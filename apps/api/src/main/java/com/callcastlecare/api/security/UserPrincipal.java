@@ -0,0 +1,71 @@
+package com.callcastlecare.api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The authenticated user, as read from a verified Cognito token.
+ *
+ * <p>{@code customerId} and {@code workerId} come from the {@code custom:customerId} and
+ * {@code custom:workerId} attributes, which only admin calls after registration may write, so
+ * ownership checks can compare IDs without reading the database. They are as trustworthy as the
+ * user pool's write permissions, so {@code SecurityService} ignores them unless
+ * {@code security.trust-account-id-claims} is on and resolves the user by email instead.
+ *
+ * @param subject the token subject
+ * @param email the user's email, or the closest username claim the token has
+ * @param customerId the customer account ID, or null if the token does not carry one
+ * @param workerId the worker account ID, or null if the token does not carry one
+ */
+@Slf4j
+public record UserPrincipal(String subject, String email, Long customerId, Long workerId)
+        implements AuthenticatedPrincipal {
+
+    public static final String CUSTOMER_ID_CLAIM = "custom:customerId";
+    public static final String WORKER_ID_CLAIM = "custom:workerId";
+
+    /**
+     * Read the principal from a token's claims.
+     */
+    public static UserPrincipal from(Jwt jwt) {
+        return new UserPrincipal(jwt.getSubject(), email(jwt), id(jwt, CUSTOMER_ID_CLAIM), id(jwt, WORKER_ID_CLAIM));
+    }
+
+    /**
+     * @return true if the token carries an account ID, so no lookup by email is needed
+     */
+    public boolean hasAccountIds() {
+        return customerId != null || workerId != null;
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    private static String email(Jwt jwt) {
+        // Try the claim names Cognito and other issuers use, the subject as a last resort
+        for (String claim : new String[] {"email", "cognito:username", "preferred_username", "sub"}) {
+            String value = jwt.getClaimAsString(claim);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Long id(Jwt jwt, String claim) {
+        // Cognito custom attributes are always strings in the token
+        String value = jwt.getClaimAsString(claim);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring non-numeric {} claim on token for {}", claim, jwt.getSubject());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.callcastlecare.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Authenticates bearer tokens through a delegate (the JWT decoder and {@link JwtConverter})
+ * and keeps each successful result, so a client reusing the same token skips parsing, the
+ * signature check and the claim conversion on later requests.
+ *
+ * <p>Entries are keyed by a SHA-256 hash of the token, never the token itself, and expire at
+ * the token's {@code exp} or after {@code maxTtl}, whichever comes first. Failures are not
+ * kept. Each hit returns a copy carrying the current request's details, since the cached
+ * authentication is shared by every request made with that token.
+ */
+public class VerifiedTokenCache implements AuthenticationManager {
+
+    private final AuthenticationProvider delegate;
+    private final Cache<ByteBuffer, UserAuthenticationToken> verified;
+
+    public VerifiedTokenCache(AuthenticationProvider delegate, long maxSize, Duration maxTtl) {
+        this(delegate, maxSize, maxTtl, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(AuthenticationProvider delegate, long maxSize, Duration maxTtl, Clock clock, Ticker ticker) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiry(maxTtl, clock))
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+
+        ByteBuffer key = hash(bearer.getToken());
+        UserAuthenticationToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached.withDetails(bearer.getDetails());
+        }
+
+        Authentication result = delegate.authenticate(bearer);
+        if (result instanceof UserAuthenticationToken token) {
+            verified.put(key, token.withDetails(null));
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of verified tokens currently kept
+     */
+    public long size() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expire an entry at its token's {@code exp}, capped at {@code maxTtl}; a token without
+     * {@code exp} is kept for {@code maxTtl}.
+     */
+    private record UntilExpiry(Duration maxTtl, Clock clock) implements Expiry<ByteBuffer, UserAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, UserAuthenticationToken value, long currentTime) {
+            Instant expiresAt = value.getToken().getExpiresAt();
+            if (expiresAt == null) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(clock.instant(), expiresAt);
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return Math.min(remaining.toNanos(), maxTtl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, UserAuthenticationToken value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, UserAuthenticationToken value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import com.callcastlecare.api.config.CognitoProperties;
 import com.callcastlecare.api.dto.auth.LoginRequestDto;
 import com.callcastlecare.api.dto.auth.RegisterRequestDto;
+import com.callcastlecare.api.security.UserPrincipal;
 
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
@@ -18,6 +19,7 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminInitia
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminInitiateAuthResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRespondToAuthChallengeRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRespondToAuthChallengeResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthFlowType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeNameType;
@@ -44,9 +46,10 @@ public class CognitoService {
      * Register a new customer user
      * 
      * @param request The registration request
+     * @param customerId The ID of the customer account, set as custom:customerId by an admin call after sign-up
      * @return The registration response
      */
-    public SignUpResponse registerCustomer(RegisterRequestDto request) {
+    public SignUpResponse registerCustomer(RegisterRequestDto request, Long customerId) {
         try {
             // Create attributes
             AttributeType emailAttr = AttributeType.builder()
@@ -72,8 +75,11 @@ public class CognitoService {
                     .userAttributes(emailAttr, givenNameAttr, familyNameAttr)
                     .build();
             
-            // Sign up the user
-            return cognitoClient.signUp(signUpRequest);
+            // Sign up the user, then attach the account ID with admin rights
+            SignUpResponse signUpResponse = cognitoClient.signUp(signUpRequest);
+            setAccountId(cognitoProperties.getCustomerUserPoolId(), request.getEmail(),
+                    UserPrincipal.CUSTOMER_ID_CLAIM, customerId);
+            return signUpResponse;
         } catch (CognitoIdentityProviderException e) {
             log.error("Error registering customer: {}", e.getMessage());
             throw e;
@@ -84,9 +90,10 @@ public class CognitoService {
      * Register a new worker user
      * 
      * @param request The registration request
+     * @param workerId The ID of the worker account, set as custom:workerId by an admin call after sign-up
      * @return The registration response
      */
-    public SignUpResponse registerWorker(RegisterRequestDto request) {
+    public SignUpResponse registerWorker(RegisterRequestDto request, Long workerId) {
         try {
             // Create attributes
             AttributeType emailAttr = AttributeType.builder()
@@ -117,8 +124,11 @@ public class CognitoService {
                     .userAttributes(emailAttr, givenNameAttr, familyNameAttr, phoneNumberAttr)
                     .build();
             
-            // Sign up the user
-            return cognitoClient.signUp(signUpRequest);
+            // Sign up the user, then attach the account ID with admin rights
+            SignUpResponse signUpResponse = cognitoClient.signUp(signUpRequest);
+            setAccountId(cognitoProperties.getWorkerUserPoolId(), request.getEmail(),
+                    UserPrincipal.WORKER_ID_CLAIM, workerId);
+            return signUpResponse;
         } catch (CognitoIdentityProviderException e) {
             log.error("Error registering worker: {}", e.getMessage());
             throw e;
@@ -129,9 +139,10 @@ public class CognitoService {
      * Create a worker user directly (admin operation)
      * 
      * @param request The registration request
+     * @param workerId The ID of the worker account, written to the token as custom:workerId
      * @return The admin create user response
      */
-    public AdminCreateUserResponse createWorkerUser(RegisterRequestDto request) {
+    public AdminCreateUserResponse createWorkerUser(RegisterRequestDto request, Long workerId) {
         try {
             // Create attributes
             AttributeType emailAttr = AttributeType.builder()
@@ -159,7 +170,8 @@ public class CognitoService {
                     .userPoolId(cognitoProperties.getWorkerUserPoolId())
                     .username(request.getEmail())
                     .temporaryPassword(request.getPassword())
-                    .userAttributes(emailAttr, givenNameAttr, familyNameAttr, phoneNumberAttr)
+                    .userAttributes(emailAttr, givenNameAttr, familyNameAttr, phoneNumberAttr,
+                            accountIdAttribute(UserPrincipal.WORKER_ID_CLAIM, workerId))
                     .messageAction(MessageActionType.SUPPRESS)
                     .desiredDeliveryMediums(DeliveryMediumType.EMAIL)
                     .build();
@@ -172,6 +184,29 @@ public class CognitoService {
         }
     }
     
+    /**
+     * Build the custom attribute carrying an account ID. Only admin calls may write it: the
+     * attribute must not be among any app client's write attributes, or a user could claim
+     * another account's ID through SignUp or UpdateUserAttributes.
+     */
+    private AttributeType accountIdAttribute(String name, Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return AttributeType.builder()
+                .name(name)
+                .value(id.toString())
+                .build();
+    }
+    
+    private void setAccountId(String userPoolId, String username, String name, Long id) {
+        cognitoClient.adminUpdateUserAttributes(AdminUpdateUserAttributesRequest.builder()
+                .userPoolId(userPoolId)
+                .username(username)
+                .userAttributes(accountIdAttribute(name, id))
+                .build());
+    }
+    
     /**
      * Login a user
      * 
@@ -2,6 +2,7 @@ package com.callcastlecare.api.service;
 
 import com.callcastlecare.api.dto.AddressDto;
 import com.callcastlecare.api.dto.CustomerDto;
+import com.callcastlecare.api.geo.ZipCentroids;
 import com.callcastlecare.api.model.Address;
 import com.callcastlecare.api.model.Customer;
 import com.callcastlecare.api.repository.AddressRepository;
@@ -21,6 +22,7 @@ public class CustomerService {
     
     private final CustomerRepository customerRepository;
     private final AddressRepository addressRepository;
+    private final ZipCentroids zipCentroids;
     
     @Transactional
     public CustomerDto createCustomer(CustomerDto customerDto) {
@@ -43,6 +45,7 @@ public class CustomerService {
                     address.setCity(addressDto.getCity());
                     address.setState(addressDto.getState());
                     address.setZip(addressDto.getZip());
+                    locate(address);
                     address.setCustomer(savedCustomer);
                     return address;
                 })
@@ -109,6 +112,7 @@ public class CustomerService {
         address.setCity(addressDto.getCity());
         address.setState(addressDto.getState());
         address.setZip(addressDto.getZip());
+        locate(address);
         address.setCustomer(customer);
         
         Address savedAddress = addressRepository.save(address);
@@ -119,6 +123,8 @@ public class CustomerService {
                 .city(savedAddress.getCity())
                 .state(savedAddress.getState())
                 .zip(savedAddress.getZip())
+                .latitude(savedAddress.getLatitude())
+                .longitude(savedAddress.getLongitude())
                 .build();
     }
     
@@ -134,6 +140,8 @@ public class CustomerService {
                         .city(address.getCity())
                         .state(address.getState())
                         .zip(address.getZip())
+                        .latitude(address.getLatitude())
+                        .longitude(address.getLongitude())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -161,6 +169,8 @@ public class CustomerService {
                         .city(address.getCity())
                         .state(address.getState())
                         .zip(address.getZip())
+                        .latitude(address.getLatitude())
+                        .longitude(address.getLongitude())
                         .build())
                 .collect(Collectors.toList());
         
@@ -174,4 +184,11 @@ public class CustomerService {
                 .createdAt(customer.getCreatedAt())
                 .build();
     }
+    
+    private void locate(Address address) {
+        zipCentroids.lookup(address.getZip()).ifPresent(point -> {
+            address.setLatitude(point.latitude());
+            address.setLongitude(point.longitude());
+        });
+    }
 }
@@ -0,0 +1,192 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.dispatch.DispatchCandidate;
+import com.callcastlecare.api.dispatch.DispatchIndex;
+import com.callcastlecare.api.dispatch.DispatchOrder;
+import com.callcastlecare.api.dispatch.DispatchWorker;
+import com.callcastlecare.api.dto.NearbyWorkerDto;
+import com.callcastlecare.api.event.OrderStatusChangedEvent;
+import com.callcastlecare.api.event.WorkerChangedEvent;
+import com.callcastlecare.api.exception.OrderStatusConflictException;
+import com.callcastlecare.api.geo.GeoGrid;
+import com.callcastlecare.api.geo.GeoPoint;
+import com.callcastlecare.api.geo.ZipCentroids;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.repository.OrderRepository;
+import com.callcastlecare.api.repository.WorkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Matches pending orders to available workers from the in-memory {@link DispatchIndex},
+ * and answers proximity queries from a {@link GeoGrid} of the same workers.
+ *
+ * <p>Both indexes are loaded at startup, kept current from worker and order events after their
+ * transactions commit, and rebuilt periodically to pick up writes made by other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchService {
+    
+    private final DispatchIndex dispatchIndex;
+    private final GeoGrid<DispatchWorker> workerGeoIndex;
+    private final ZipCentroids zipCentroids;
+    private final WorkerRepository workerRepository;
+    private final OrderRepository orderRepository;
+    
+    @Value("${dispatch.candidates.default-limit:10}")
+    private int defaultLimit;
+    
+    @Value("${dispatch.candidates.max-limit:50}")
+    private int maxLimit;
+    
+    @Value("${geo.nearby.default-radius-km:25}")
+    private double defaultRadiusKm;
+    
+    @Value("${geo.nearby.max-radius-km:200}")
+    private double maxRadiusKm;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dispatch.index.rebuild-interval-ms:300000}",
+            initialDelayString = "${dispatch.index.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        Map<Long, Integer> activeOrders = new HashMap<>();
+        for (Object[] row : orderRepository.countActiveOrdersByWorker()) {
+            activeOrders.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        
+        List<DispatchWorker> workers = new ArrayList<>();
+        Map<Long, GeoPoint> locations = new HashMap<>();
+        Map<Long, DispatchWorker> located = new HashMap<>();
+        for (Worker worker : workerRepository.findAvailableWorkersWithRoles()) {
+            DispatchWorker dispatchWorker = new DispatchWorker(worker.getId(), worker.getZip(),
+                    new HashSet<>(worker.getRoles()), activeOrders.getOrDefault(worker.getId(), 0));
+            workers.add(dispatchWorker);
+            locate(worker.getLatitude(), worker.getLongitude(), worker.getZip()).ifPresent(point -> {
+                locations.put(worker.getId(), point);
+                located.put(worker.getId(), dispatchWorker);
+            });
+        }
+        dispatchIndex.replaceAll(workers);
+        workerGeoIndex.replaceAll(locations, located);
+        log.debug("Dispatch index rebuilt with {} workers, {} located", workers.size(), located.size());
+    }
+    
+    /**
+     * Rank the workers that can take a pending order.
+     *
+     * @param orderId the order ID
+     * @param limit the maximum number of candidates, or null for the default
+     * @return the candidates, best first
+     */
+    @Transactional(readOnly = true)
+    public List<DispatchCandidate> findCandidates(Long orderId, Integer limit) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderId));
+        
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            throw new OrderStatusConflictException(orderId, order.getStatus(), Order.OrderStatus.ACCEPTED);
+        }
+        
+        int size = limit == null || limit <= 0 ? defaultLimit : Math.min(limit, maxLimit);
+        return dispatchIndex.match(toDispatchOrder(order), size);
+    }
+    
+    /**
+     * Find available workers near a point or zip code, closest first.
+     *
+     * @param latitude the latitude, used with longitude instead of zip
+     * @param longitude the longitude
+     * @param zip the zip code whose centroid to search from
+     * @param role only return workers with this role (optional)
+     * @param radiusKm the search radius, or null for the default
+     * @param limit the maximum number of workers, or null for the default
+     * @return the nearby workers with their distance
+     */
+    public List<NearbyWorkerDto> findNearbyWorkers(Double latitude, Double longitude, String zip, String role,
+                                                   Double radiusKm, Integer limit) {
+        GeoPoint origin = locate(latitude, longitude, zip)
+                .orElseThrow(() -> new IllegalArgumentException(zip != null
+                        ? "Unknown zip code: " + zip
+                        : "Either latitude and longitude or zip is required"));
+        double radius = radiusKm == null || radiusKm <= 0 ? defaultRadiusKm : Math.min(radiusKm, maxRadiusKm);
+        int size = limit == null || limit <= 0 ? defaultLimit : Math.min(limit, maxLimit);
+        
+        return workerGeoIndex.nearest(origin, size, radius, worker -> role == null || worker.getRoles().contains(role))
+                .stream()
+                .map(match -> NearbyWorkerDto.builder()
+                        .id(match.value().getId())
+                        .zip(match.value().getZip())
+                        .roles(List.copyOf(match.value().getRoles()))
+                        .activeOrders(match.value().getActiveOrders())
+                        .latitude(match.point().latitude())
+                        .longitude(match.point().longitude())
+                        .distanceKm(Math.round(match.distanceKm() * 100) / 100.0)
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * Map an order to the fields the index matches on.
+     */
+    public static DispatchOrder toDispatchOrder(Order order) {
+        return new DispatchOrder(order.getId(), order.getServiceType().toString().toLowerCase(), order.getAddress().getZip());
+    }
+    
+    /**
+     * Index a worker who became dispatchable or changed, or drop one who no longer is. A worker
+     * returning to the index starts from their active order count in the database, since order
+     * changes made while they were out of the index were not counted.
+     */
+    @TransactionalEventListener
+    public void onWorkerChanged(WorkerChangedEvent event) {
+        if (event.dispatchable()) {
+            int activeOrders = (int) orderRepository.countActiveOrdersByWorkerId(event.workerId());
+            DispatchWorker worker = new DispatchWorker(event.workerId(), event.zip(), new HashSet<>(event.roles()),
+                    activeOrders);
+            dispatchIndex.upsert(worker);
+            locate(event.latitude(), event.longitude(), event.zip()).ifPresentOrElse(
+                    point -> workerGeoIndex.put(worker.getId(), point, worker),
+                    () -> workerGeoIndex.remove(worker.getId()));
+        } else {
+            dispatchIndex.remove(event.workerId());
+            workerGeoIndex.remove(event.workerId());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.workerId() == null) {
+            return;
+        }
+        if (event.status() == Order.OrderStatus.ACCEPTED) {
+            dispatchIndex.adjustActiveOrders(event.workerId(), 1);
+        } else if (event.status() == Order.OrderStatus.COMPLETED) {
+            dispatchIndex.adjustActiveOrders(event.workerId(), -1);
+        }
+    }
+    
+    private Optional<GeoPoint> locate(Double latitude, Double longitude, String zip) {
+        if (latitude != null && longitude != null) {
+            return Optional.of(new GeoPoint(latitude, longitude));
+        }
+        return zipCentroids.lookup(zip);
+    }
+}
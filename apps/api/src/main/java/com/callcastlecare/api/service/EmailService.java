@@ -2,28 +2,55 @@ package com.callcastlecare.api.service;
 
 import com.callcastlecare.api.model.Customer;
 import com.callcastlecare.api.model.Order;
-import com.resend.Resend;
-import com.resend.core.exception.ResendException;
-import com.resend.services.emails.model.CreateEmailOptions;
-import com.resend.services.emails.model.CreateEmailResponse;
+import com.callcastlecare.api.notification.Notification;
+import com.callcastlecare.api.notification.NotificationChannel;
+import com.callcastlecare.api.notification.NotificationSender;
+import com.callcastlecare.api.notification.ResendBatchSender;
+import com.callcastlecare.api.notification.template.NotificationTemplates;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @Slf4j
-public class EmailService {
+public class EmailService implements NotificationSender {
 
-    private final Resend resend;
+    private final ResendBatchSender batchSender;
+    private final NotificationTemplates templates;
     
     @Value("${resend.from-email}")
     private String fromEmail;
     
     @Value("${resend.enabled}")
     private boolean enabled;
+    
+    @Value("${resend.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    public EmailService(ResendBatchSender batchSender, NotificationTemplates templates) {
+        this.batchSender = batchSender;
+        this.templates = templates;
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.EMAIL;
+    }
 
-    public EmailService(@Value("${resend.api-key}") String apiKey) {
-        this.resend = new Resend(apiKey);
+    @Override
+    public void send(Notification notification, Order order) {
+        switch (notification.type()) {
+            case ORDER_CONFIRMATION -> sendOrderConfirmation(order.getCustomer(), order);
+            case ORDER_STATUS_UPDATE -> sendOrderStatusUpdate(order.getCustomer(), order);
+            case ORDER_ASSIGNMENT -> throw new IllegalArgumentException("Order assignments are not sent by email");
+        }
     }
 
     public void sendOrderConfirmation(Customer customer, Order order) {
@@ -32,22 +59,11 @@ public class EmailService {
             return;
         }
         
-        try {
-            String subject = "CastleCare Order Confirmation - #" + order.getId();
-            String content = buildOrderConfirmationEmail(customer, order);
-            
-            CreateEmailOptions options = CreateEmailOptions.builder()
-                    .from(fromEmail)
-                    .to(customer.getEmail())
-                    .subject(subject)
-                    .html(content)
-                    .build();
-            
-            CreateEmailResponse response = resend.emails().send(options);
-            log.info("Order confirmation email sent to {}, email ID: {}", customer.getEmail(), response.getId());
-        } catch (ResendException e) {
-            log.error("Failed to send order confirmation email to: {}", customer.getEmail(), e);
-        }
+        String subject = templates.get(NotificationChannel.EMAIL, "order-confirmation.subject").render(order);
+        String content = templates.get(NotificationChannel.EMAIL, "order-confirmation").render(order);
+        
+        String emailId = send(customer.getEmail(), subject, content);
+        log.info("Order confirmation email sent to {}, email ID: {}", customer.getEmail(), emailId);
     }
     
     public void sendOrderStatusUpdate(Customer customer, Order order) {
@@ -56,22 +72,11 @@ public class EmailService {
             return;
         }
         
-        try {
-            String subject = "CastleCare Order Update - #" + order.getId();
-            String content = buildOrderStatusUpdateEmail(customer, order);
-            
-            CreateEmailOptions options = CreateEmailOptions.builder()
-                    .from(fromEmail)
-                    .to(customer.getEmail())
-                    .subject(subject)
-                    .html(content)
-                    .build();
-            
-            CreateEmailResponse response = resend.emails().send(options);
-            log.info("Order status update email sent to {}, email ID: {}", customer.getEmail(), response.getId());
-        } catch (ResendException e) {
-            log.error("Failed to send order status update email to: {}", customer.getEmail(), e);
-        }
+        String subject = templates.get(NotificationChannel.EMAIL, "order-status-update.subject").render(order);
+        String content = templates.get(NotificationChannel.EMAIL, "order-status-update").render(order);
+        
+        String emailId = send(customer.getEmail(), subject, content);
+        log.info("Order status update email sent to {}, email ID: {}", customer.getEmail(), emailId);
     }
     
     public void sendWorkerApprovalNotification(String email, String firstName) {
@@ -84,118 +89,29 @@ public class EmailService {
             String subject = "Welcome to CastleCare - Your Application is Approved!";
             String content = buildWorkerApprovalEmail(firstName);
             
-            CreateEmailOptions options = CreateEmailOptions.builder()
-                    .from(fromEmail)
-                    .to(email)
-                    .subject(subject)
-                    .html(content)
-                    .build();
-            
-            CreateEmailResponse response = resend.emails().send(options);
-            log.info("Worker approval email sent to {}, email ID: {}", email, response.getId());
-        } catch (ResendException e) {
+            String emailId = send(email, subject, content);
+            log.info("Worker approval email sent to {}, email ID: {}", email, emailId);
+        } catch (RuntimeException e) {
             log.error("Failed to send worker approval email to: {}", email, e);
         }
     }
     
-    private String buildOrderConfirmationEmail(Customer customer, Order order) {
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <style>
-                        body { font-family: Arial, sans-serif; line-height: 1.6; }
-                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                        .header { background-color: #4CAF50; color: white; padding: 10px; text-align: center; }
-                        .content { padding: 20px; }
-                        .footer { background-color: #f1f1f1; padding: 10px; text-align: center; font-size: 12px; }
-                    </style>
-                </head>
-                <body>
-                    <div class="container">
-                        <div class="header">
-                            <h1>Order Confirmation</h1>
-                        </div>
-                        <div class="content">
-                            <p>Hello %s,</p>
-                            <p>Thank you for choosing CastleCare! Your order has been confirmed and is being processed.</p>
-                            <h2>Order Details</h2>
-                            <p><strong>Order ID:</strong> #%d</p>
-                            <p><strong>Service:</strong> %s</p>
-                            <p><strong>Plan:</strong> %s</p>
-                            <p><strong>Price:</strong> $%s</p>
-                            <p><strong>Date:</strong> %s</p>
-                            <p><strong>Time:</strong> %s</p>
-                            <p>We'll notify you when a worker has been assigned to your order.</p>
-                            <p>If you have any questions, please contact our support team.</p>
-                            <p>Best regards,<br>The CastleCare Team</p>
-                        </div>
-                        <div class="footer">
-                            <p>&copy; 2025 CastleCare. All rights reserved.</p>
-                        </div>
-                    </div>
-                </body>
-                </html>
-                """.formatted(
-                customer.getFirstName(),
-                order.getId(),
-                order.getServiceType().toString(),
-                order.getPricingOption().getName(),
-                order.getPrice().toString(),
-                order.getDate().toString(),
-                order.getTimeSlot().toString()
-        );
-    }
-    
-    private String buildOrderStatusUpdateEmail(Customer customer, Order order) {
-        String statusMessage = switch (order.getStatus()) {
-            case ACCEPTED -> "A worker has been assigned to your order and will arrive as scheduled.";
-            case IN_PROGRESS -> "Your service is currently in progress.";
-            case COMPLETED -> "Your service has been completed. Thank you for choosing CastleCare!";
-            default -> "Your order status has been updated.";
-        };
-        
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <style>
-                        body { font-family: Arial, sans-serif; line-height: 1.6; }
-                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                        .header { background-color: #4CAF50; color: white; padding: 10px; text-align: center; }
-                        .content { padding: 20px; }
-                        .footer { background-color: #f1f1f1; padding: 10px; text-align: center; font-size: 12px; }
-                    </style>
-                </head>
-                <body>
-                    <div class="container">
-                        <div class="header">
-                            <h1>Order Status Update</h1>
-                        </div>
-                        <div class="content">
-                            <p>Hello %s,</p>
-                            <p>Your order status has been updated.</p>
-                            <h2>Order Details</h2>
-                            <p><strong>Order ID:</strong> #%d</p>
-                            <p><strong>Service:</strong> %s</p>
-                            <p><strong>Status:</strong> %s</p>
-                            <p>%s</p>
-                            <p>If you have any questions, please contact our support team.</p>
-                            <p>Best regards,<br>The CastleCare Team</p>
-                        </div>
-                        <div class="footer">
-                            <p>&copy; 2025 CastleCare. All rights reserved.</p>
-                        </div>
-                    </div>
-                </body>
-                </html>
-                """.formatted(
-                customer.getFirstName(),
-                order.getId(),
-                order.getServiceType().toString(),
-                order.getStatus().toString(),
-                statusMessage
-        );
+    // Emails go out in Resend batches; wait for this one's result so failures reach the caller
+    private String send(String to, String subject, String html) {
+        CompletableFuture<String> result = batchSender.send(
+                new ResendBatchSender.Email(fromEmail, List.of(to), subject, html));
+        try {
+            return result.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Email to " + to + " was not sent", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for Resend to accept email to " + to, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending email to " + to, e);
+        }
     }
     
     private String buildWorkerApprovalEmail(String firstName) {
@@ -1,22 +1,41 @@
 package com.callcastlecare.api.service;
 
+import com.callcastlecare.api.cache.BatchCache;
 import com.callcastlecare.api.client.ZillowClient;
 import com.callcastlecare.api.dto.AddressDto;
 import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.OrderPageDto;
+import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.event.OrderCreatedEvent;
+import com.callcastlecare.api.event.OrderStatusChangedEvent;
+import com.callcastlecare.api.exception.OrderStatusConflictException;
 import com.callcastlecare.api.model.*;
+import com.callcastlecare.api.pricing.PricingCatalog;
+import com.callcastlecare.api.pricing.PropertySize;
+import com.callcastlecare.api.pricing.SizeRange;
 import com.callcastlecare.api.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,12 +46,22 @@ public class OrderService {
     private final CustomerRepository customerRepository;
     private final WorkerRepository workerRepository;
     private final PricingOptionRepository pricingOptionRepository;
+    private final PricingOptionService pricingOptionService;
     private final AddressRepository addressRepository;
     private final ZillowClient zillowClient;
-    private final SqsClient sqsClient;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
     
-    @Value("${aws.sqs.order-queue-url}")
-    private String orderQueueUrl;
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${orders.page.max-size:200}")
+    private int maxPageSize;
+    
+    @Value("${orders.batch.max-ids:100}")
+    private int maxBatchIds;
     
     @Transactional
     public OrderDto createOrder(OrderDto orderDto) {
@@ -48,8 +77,9 @@ public class OrderService {
             throw new IllegalArgumentException("Address does not belong to the customer");
         }
         
-        // Validate pricing option exists
-        PricingOption pricingOption = pricingOptionRepository.findById(orderDto.getPricingOptionId())
+        // Validate pricing option exists, against the in-memory catalog
+        PricingCatalog catalog = pricingOptionService.getCatalog();
+        PricingOptionDto pricingOption = catalog.findById(orderDto.getPricingOptionId())
                 .orElseThrow(() -> new IllegalArgumentException("Pricing option not found with id: " + orderDto.getPricingOptionId()));
         
         // Validate service type matches pricing option
@@ -65,18 +95,17 @@ public class OrderService {
                 .zip(address.getZip())
                 .build();
         
-        Object[] propertySizeData = zillowClient.getPropertySizeData(addressDto);
-        int livingArea = (int) propertySizeData[0];
-        String lotSize = (String) propertySizeData[1];
+        PropertySize propertySize = PropertySize.from(zillowClient.getPropertySizeData(addressDto));
         
         // Validate size range for pricing option
-        validateSizeRange(pricingOption, livingArea, lotSize);
+        validateSizeRange(catalog, pricingOption, propertySize);
         
         // Create order
         Order order = new Order();
         order.setCustomer(customer);
         order.setServiceType(orderDto.getServiceType());
-        order.setPricingOption(pricingOption);
+        // A reference is all the foreign key needs; it is never loaded
+        order.setPricingOption(pricingOptionRepository.getReferenceById(pricingOption.getId()));
         order.setAddress(address);
         order.setDate(orderDto.getDate());
         order.setTimeSlot(orderDto.getTimeSlot());
@@ -86,8 +115,9 @@ public class OrderService {
         
         Order savedOrder = orderRepository.save(order);
         
-        // Send order to SQS queue
-        sendOrderToQueue(savedOrder);
+        // Record the order event in the same transaction; the outbox relay delivers it to SQS
+        enqueueOrderEvent(savedOrder, "OrderCreated");
+        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder.getId()));
         
         return mapToDto(savedOrder);
     }
@@ -100,58 +130,141 @@ public class OrderService {
         return mapToDto(order);
     }
     
+    /**
+     * Get many orders at once. Cached orders are read in one batch (a single {@code MGET}
+     * behind the local tier), the rest with one {@code IN} query, and those are written back
+     * to the cache in one batch.
+     *
+     * @param ids the order IDs
+     * @return the orders found, in the order first requested; unknown IDs are left out
+     */
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByIds(List<Long> ids) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " order IDs can be requested at once");
+        }
+        Cache cache = cacheManager.getCache("orders");
+        
+        Map<Long, OrderDto> found = new HashMap<>();
+        if (cache != null) {
+            try {
+                BatchCache.getAll(cache, distinct).forEach((key, wrapper) -> {
+                    if (wrapper.get() instanceof OrderDto order) {
+                        found.put((Long) key, order);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // As with @Cacheable, a cache failure is a miss
+                log.warn("Batch lookup in orders cache failed: {}", e.getMessage());
+            }
+        }
+        
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinct) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<Long, OrderDto> loaded = new LinkedHashMap<>();
+            for (Order order : orderRepository.findAllById(misses)) {
+                loaded.put(order.getId(), mapToDto(order));
+            }
+            found.putAll(loaded);
+            if (cache != null && !loaded.isEmpty()) {
+                try {
+                    BatchCache.putAll(cache, loaded);
+                } catch (RuntimeException e) {
+                    log.warn("Batch write to orders cache failed: {}", e.getMessage());
+                }
+            }
+        }
+        
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrdersByCustomerId(Long customerId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        OrderCursor after = OrderCursor.decode(cursor);
+        List<Order> orders = after == null
+                ? orderRepository.findByCustomerIdOrderByCreatedAtDescIdDesc(customerId, Limit.of(pageSize + 1))
+                : orderRepository.findByCustomerIdAfter(customerId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return toPage(orders, pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrdersByWorkerId(Long workerId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        OrderCursor after = OrderCursor.decode(cursor);
+        List<Order> orders = after == null
+                ? orderRepository.findByWorkerIdOrderByCreatedAtDescIdDesc(workerId, Limit.of(pageSize + 1))
+                : orderRepository.findByWorkerIdAfter(workerId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return toPage(orders, pageSize);
+    }
+    
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public OrderPageDto getOrdersByStatus(Order.OrderStatus status, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        OrderCursor after = OrderCursor.decode(cursor);
+        List<Order> orders = after == null
+                ? orderRepository.findByStatusOrderByCreatedAtDescIdDesc(status, Limit.of(pageSize + 1))
+                : orderRepository.findByStatusAfter(status, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return toPage(orders, pageSize);
     }
     
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByWorkerId(Long workerId) {
-        return orderRepository.findByWorkerId(workerId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public void streamOrdersByCustomerId(Long customerId, Consumer<OrderDto> sink) {
+        try (Stream<Order> orders = orderRepository.streamByCustomerId(customerId)) {
+            forEachDetached(orders, sink);
+        }
     }
     
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public void streamOrdersByWorkerId(Long workerId, Consumer<OrderDto> sink) {
+        try (Stream<Order> orders = orderRepository.streamByWorkerId(workerId)) {
+            forEachDetached(orders, sink);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamOrdersByStatus(Order.OrderStatus status, Consumer<OrderDto> sink) {
+        try (Stream<Order> orders = orderRepository.streamByStatus(status)) {
+            forEachDetached(orders, sink);
+        }
     }
     
     @CacheEvict(value = "orders", key = "#id")
     @Transactional
     public OrderDto updateOrderStatus(Long id, Order.OrderStatus status, Long workerId) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+        Order.OrderStatus expected = status.predecessor();
+        if (expected == null) {
+            throw new IllegalArgumentException("Orders cannot be moved to " + status);
+        }
         
-        // If status is being set to ACCEPTED, assign worker
-        if (status == Order.OrderStatus.ACCEPTED && workerId != null) {
-            Worker worker = workerRepository.findById(workerId)
-                    .orElseThrow(() -> new IllegalArgumentException("Worker not found with id: " + workerId));
-            
-            // Validate worker is approved and available
-            if (worker.getStatus() != Worker.WorkerStatus.APPROVED) {
-                throw new IllegalStateException("Worker must be approved to accept orders");
+        // Single conditional UPDATE; the loser of a race matches no row instead of overwriting the winner
+        int updated;
+        if (status == Order.OrderStatus.ACCEPTED) {
+            if (workerId == null) {
+                throw new IllegalArgumentException("Worker is required to accept an order");
             }
-            
-            if (!worker.getAvailability()) {
-                throw new IllegalStateException("Worker must be available to accept orders");
-            }
-            
-            // Validate worker has the required role for the service type
-            if (!worker.getRoles().contains(order.getServiceType().toString().toLowerCase())) {
-                throw new IllegalArgumentException("Worker does not have the required role for this service");
-            }
-            
-            order.setWorker(worker);
+            updated = orderRepository.acceptIfPending(id, workerId);
+        } else {
+            updated = orderRepository.transitionStatus(id, expected, status);
         }
         
-        order.setStatus(status);
-        Order updatedOrder = orderRepository.save(order);
-        return mapToDto(updatedOrder);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+        if (updated == 0) {
+            explainRejectedTransition(order, status, expected, workerId);
+        }
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(id,
+                order.getWorker() != null ? order.getWorker().getId() : null, status));
+        return mapToDto(order);
     }
     
     @CacheEvict(value = "orders", key = "#id")
@@ -170,101 +283,93 @@ public class OrderService {
         return mapToDto(updatedOrder);
     }
     
-    private void validateSizeRange(PricingOption pricingOption, int livingArea, String lotSize) {
-        // Parse size range based on service type
-        switch (pricingOption.getServiceType()) {
-            case LAWNCARE:
-                validateLawncareSizeRange(pricingOption, lotSize);
-                break;
-            case LIGHTING:
-                validateLightingSizeRange(pricingOption, livingArea);
-                break;
-            case LAUNDRY:
-                // No size validation for laundry
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported service type: " + pricingOption.getServiceType());
+    /**
+     * Work out why a conditional transition matched no row. Only runs on the failure path.
+     */
+    private void explainRejectedTransition(Order order, Order.OrderStatus status, Order.OrderStatus expected, Long workerId) {
+        if (order.getStatus() != expected || (status == Order.OrderStatus.ACCEPTED && order.getWorker() != null)) {
+            throw new OrderStatusConflictException(order.getId(), order.getStatus(), status);
         }
-    }
-    
-    private void validateLawncareSizeRange(PricingOption pricingOption, String lotSize) {
-        try {
-            double lotSizeAcres = 0.0;
+        
+        if (status == Order.OrderStatus.ACCEPTED) {
+            Worker worker = workerRepository.findById(workerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Worker not found with id: " + workerId));
             
-            // Parse the lot size string which might be in different formats
-            if (lotSize.contains("acres")) {
-                lotSizeAcres = Double.parseDouble(lotSize.replace("acres", "").trim());
-            } else if (lotSize.contains("acre")) {
-                lotSizeAcres = Double.parseDouble(lotSize.replace("acre", "").trim());
-            } else {
-                // Assume it's a plain number
-                lotSizeAcres = Double.parseDouble(lotSize);
+            if (worker.getStatus() != Worker.WorkerStatus.APPROVED) {
+                throw new IllegalStateException("Worker must be approved to accept orders");
             }
             
-            switch (pricingOption.getSizeRange()) {
-                case "0-0.5 acres":
-                    if (lotSizeAcres > 0.5) {
-                        throw new IllegalArgumentException("Lot size exceeds the maximum for this pricing option");
-                    }
-                    break;
-                case "0.6-1 acre":
-                    if (lotSizeAcres < 0.6 || lotSizeAcres > 1.0) {
-                        throw new IllegalArgumentException("Lot size is outside the range for this pricing option");
-                    }
-                    break;
-                case "1+ acres":
-                    if (lotSizeAcres < 1.0) {
-                        throw new IllegalArgumentException("Lot size is below the minimum for this pricing option");
-                    }
-                    break;
-                default:
-                    log.warn("Unknown size range for lawncare: {}", pricingOption.getSizeRange());
+            if (!worker.getAvailability()) {
+                throw new IllegalStateException("Worker must be available to accept orders");
+            }
+            
+            if (!worker.getRoles().contains(order.getServiceType().toString().toLowerCase())) {
+                throw new IllegalArgumentException("Worker does not have the required role for this service");
             }
-        } catch (NumberFormatException e) {
-            log.error("Error parsing lot size: {}", lotSize, e);
-            throw new IllegalArgumentException("Invalid lot size format");
         }
+        
+        // The precondition held when re-read, so another writer changed the order in between
+        throw new OrderStatusConflictException(order.getId(), order.getStatus(), status);
     }
     
-    private void validateLightingSizeRange(PricingOption pricingOption, int livingAreaSqFt) {
-        switch (pricingOption.getSizeRange()) {
-            case "Up to 1300 sq ft":
-                if (livingAreaSqFt > 1300) {
-                    throw new IllegalArgumentException("Living area exceeds the maximum for this pricing option");
-                }
-                break;
-            case "1350-2449 sq ft":
-                if (livingAreaSqFt < 1350 || livingAreaSqFt > 2449) {
-                    throw new IllegalArgumentException("Living area is outside the range for this pricing option");
-                }
-                break;
-            case "2450+ sq ft":
-                if (livingAreaSqFt < 2450) {
-                    throw new IllegalArgumentException("Living area is below the minimum for this pricing option");
-                }
-                break;
-            default:
-                log.warn("Unknown size range for lighting: {}", pricingOption.getSizeRange());
+    private void validateSizeRange(PricingCatalog catalog, PricingOptionDto pricingOption, PropertySize propertySize) {
+        Double size = propertySize.sizeFor(pricingOption.getServiceType());
+        if (size == null) {
+            return;
+        }
+        SizeRange range = catalog.sizeRange(pricingOption.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Pricing option " + pricingOption.getId()
+                        + " has an invalid size range: " + pricingOption.getSizeRange()));
+        if (!range.contains(size)) {
+            throw new IllegalArgumentException("Property size " + size + " is outside the range "
+                    + pricingOption.getSizeRange() + " for this pricing option");
         }
     }
     
-    private void sendOrderToQueue(Order order) {
-        try {
-            String messageBody = String.format(
-                    "{\"orderId\":%d,\"customerId\":%d,\"serviceType\":\"%s\",\"status\":\"%s\"}",
-                    order.getId(), order.getCustomer().getId(), order.getServiceType(), order.getStatus());
-            
-            SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
-                    .queueUrl(orderQueueUrl)
-                    .messageBody(messageBody)
-                    .build();
-            
-            sqsClient.sendMessage(sendMessageRequest);
-            log.info("Order sent to SQS queue: {}", order.getId());
-        } catch (Exception e) {
-            log.error("Error sending order to SQS queue", e);
-            // Continue processing even if SQS fails
+    private void enqueueOrderEvent(Order order, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("customerId", order.getCustomer().getId());
+        payload.put("serviceType", order.getServiceType());
+        payload.put("status", order.getStatus());
+        outboxService.enqueue("Order", order.getId(), eventType, payload);
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    private OrderPageDto toPage(List<Order> orders, int pageSize) {
+        // One extra row is fetched to detect whether another page exists
+        boolean hasMore = orders.size() > pageSize;
+        List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
         }
+        
+        return OrderPageDto.builder()
+                .items(page.stream().map(this::mapToDto).toList())
+                .nextCursor(nextCursor)
+                .limit(pageSize)
+                .build();
+    }
+    
+    private void forEachDetached(Stream<Order> orders, Consumer<OrderDto> sink) {
+        orders.forEach(order -> {
+            OrderDto dto = mapToDto(order);
+            // Detach so rows already written do not accumulate in the persistence context
+            entityManager.detach(order);
+            sink.accept(dto);
+        });
     }
     
     private OrderDto mapToDto(Order order) {
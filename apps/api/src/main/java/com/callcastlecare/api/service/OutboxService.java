@@ -0,0 +1,129 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.model.OutboxEvent;
+import com.callcastlecare.api.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for writing domain events to the transactional outbox and tracking their delivery state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+    
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${outbox.relay.lease-seconds:60}")
+    private long leaseSeconds;
+    
+    @Value("${outbox.relay.max-backoff-seconds:300}")
+    private long maxBackoffSeconds;
+    
+    /**
+     * Record an event in the caller's transaction. The event is only visible to the relay
+     * once that transaction commits, and is discarded if it rolls back.
+     *
+     * @param aggregateType the type of the aggregate that produced the event
+     * @param aggregateId the aggregate ID
+     * @param eventType the event type, used by consumers to route the message
+     * @param payload the event payload, serialized as JSON
+     * @return the stored event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " payload", e);
+        }
+        
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(body)
+                .build();
+        return outboxEventRepository.save(event);
+    }
+    
+    /**
+     * Claim a batch of due events for delivery. Claimed events are leased by pushing their next
+     * attempt into the future, so the caller can publish them outside of any transaction and a
+     * crashed relay's events become due again once the lease expires.
+     *
+     * @param batchSize the maximum number of events to claim
+     * @return the claimed events, oldest first
+     */
+    @Transactional
+    public List<OutboxEvent> claimDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(now, Limit.of(batchSize));
+        LocalDateTime leaseExpiry = now.plusSeconds(leaseSeconds);
+        events.forEach(event -> event.setNextAttemptAt(leaseExpiry));
+        return events;
+    }
+    
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        outboxEventRepository.markSent(ids, LocalDateTime.now());
+    }
+    
+    /**
+     * Record failed delivery attempts and schedule retries with exponential backoff.
+     * Events that exhaust their attempts are parked as FAILED for manual replay.
+     *
+     * @param errors the failure reason keyed by event ID
+     */
+    @Transactional
+    public void recordFailures(Map<Long, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : outboxEventRepository.findAllById(errors.keySet())) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(StringUtils.abbreviate(errors.get(event.getId()), MAX_ERROR_LENGTH));
+            
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxEvent.Status.FAILED);
+                log.error("Outbox event {} ({}) failed after {} attempts: {}",
+                        event.getId(), event.getEventType(), attempts, event.getLastError());
+            } else {
+                event.setNextAttemptAt(now.plus(backoff(attempts)));
+                log.warn("Outbox event {} ({}) delivery attempt {} failed, retrying at {}",
+                        event.getId(), event.getEventType(), attempts, event.getNextAttemptAt());
+            }
+        }
+    }
+    
+    @Transactional
+    public int purgeSent(Duration retention) {
+        return outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+    }
+    
+    private Duration backoff(int attempts) {
+        long seconds = 1L << Math.min(attempts, 20);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+}
@@ -1,23 +1,51 @@
 package com.callcastlecare.api.service;
 
+import com.callcastlecare.api.client.ZillowClient;
 import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.dto.QuoteDto;
+import com.callcastlecare.api.dto.QuoteRequestDto;
+import com.callcastlecare.api.event.PricingOptionChangedEvent;
 import com.callcastlecare.api.model.Order;
 import com.callcastlecare.api.model.PricingOption;
+import com.callcastlecare.api.pricing.PricingCatalog;
+import com.callcastlecare.api.pricing.PropertySize;
+import com.callcastlecare.api.pricing.SizeRange;
+import com.callcastlecare.api.pricing.SizeRangeMatcher;
 import com.callcastlecare.api.repository.PricingOptionRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Pricing options are written through the database and read from an in-memory
+ * {@link PricingCatalog} snapshot, so catalog reads, quotes and order pricing never touch
+ * the database or Redis. The snapshot is loaded at startup, rebuilt and swapped in once a
+ * local change commits, and reloaded periodically to pick up changes made on other nodes.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PricingOptionService {
     
     private final PricingOptionRepository pricingOptionRepository;
+    private final ZillowClient zillowClient;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private volatile PricingCatalog catalog;
+    // Serializes loads; a ReentrantLock because the holder blocks on the database
+    private final ReentrantLock catalogLoadLock = new ReentrantLock();
     
     @Transactional
     public PricingOptionDto createPricingOption(PricingOptionDto pricingOptionDto) {
@@ -29,37 +57,27 @@ public class PricingOptionService {
         pricingOption.setBillingPeriod(pricingOptionDto.getBillingPeriod());
         pricingOption.setFeatures(pricingOptionDto.getFeatures());
         pricingOption.setSizeRange(pricingOptionDto.getSizeRange());
+        applySizeBounds(pricingOption, pricingOptionDto);
         
         PricingOption savedPricingOption = pricingOptionRepository.save(pricingOption);
+        eventPublisher.publishEvent(new PricingOptionChangedEvent(savedPricingOption.getId()));
         return mapToDto(savedPricingOption);
     }
     
-    @Cacheable(value = "pricingOptions", key = "#id")
-    @Transactional(readOnly = true)
     public PricingOptionDto getPricingOptionById(Long id) {
-        PricingOption pricingOption = pricingOptionRepository.findById(id)
+        return getCatalog().findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Pricing option not found with id: " + id));
-        return mapToDto(pricingOption);
     }
     
-    @Cacheable(value = "pricingOptionsByServiceType", key = "#serviceType")
-    @Transactional(readOnly = true)
     public List<PricingOptionDto> getPricingOptionsByServiceType(Order.ServiceType serviceType) {
-        return pricingOptionRepository.findByServiceType(serviceType).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return getCatalog().byServiceType(serviceType);
     }
     
-    @Cacheable(value = "pricingOptionsByServiceTypeAndBillingPeriod", key = "#serviceType + '-' + #billingPeriod")
-    @Transactional(readOnly = true)
     public List<PricingOptionDto> getPricingOptionsByServiceTypeAndBillingPeriod(
             Order.ServiceType serviceType, Order.BillingPeriod billingPeriod) {
-        return pricingOptionRepository.findByServiceTypeAndBillingPeriod(serviceType, billingPeriod).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return getCatalog().byServiceTypeAndBillingPeriod(serviceType, billingPeriod);
     }
     
-    @CacheEvict(value = {"pricingOptions", "pricingOptionsByServiceType", "pricingOptionsByServiceTypeAndBillingPeriod"}, allEntries = true)
     @Transactional
     public PricingOptionDto updatePricingOption(Long id, PricingOptionDto pricingOptionDto) {
         PricingOption pricingOption = pricingOptionRepository.findById(id)
@@ -70,11 +88,105 @@ public class PricingOptionService {
         pricingOption.setPrice(pricingOptionDto.getPrice());
         pricingOption.setFeatures(pricingOptionDto.getFeatures());
         pricingOption.setSizeRange(pricingOptionDto.getSizeRange());
+        applySizeBounds(pricingOption, pricingOptionDto);
         
         PricingOption updatedPricingOption = pricingOptionRepository.save(pricingOption);
+        eventPublisher.publishEvent(new PricingOptionChangedEvent(updatedPricingOption.getId()));
         return mapToDto(updatedPricingOption);
     }
     
+    /**
+     * The current catalog snapshot. Callers should read it once per operation so every lookup
+     * they make sees the same version.
+     */
+    public PricingCatalog getCatalog() {
+        PricingCatalog current = catalog;
+        // Only null before the startup load has run
+        return current != null ? current : loadCatalog();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pricing.catalog.reload-interval-ms:60000}",
+            initialDelayString = "${pricing.catalog.reload-interval-ms:60000}")
+    public void reloadCatalog() {
+        loadCatalog();
+    }
+    
+    /**
+     * Swap in a rebuilt catalog once a local change has committed; until then readers keep the
+     * previous snapshot.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPricingOptionChanged(PricingOptionChangedEvent event) {
+        try {
+            loadCatalog();
+        } catch (RuntimeException e) {
+            // The write has committed; the periodic reload picks it up
+            log.error("Failed to reload pricing catalog after change to pricing option {}",
+                    event.pricingOptionId(), e);
+        }
+    }
+    
+    /**
+     * Quote every pricing option that fits a property in one call.
+     *
+     * @param request the address and optional service type and billing period filters
+     * @return the property measurements and matching options, cheapest first
+     */
+    public QuoteDto quote(QuoteRequestDto request) {
+        PropertySize propertySize = PropertySize.from(zillowClient.getPropertySizeData(request.getAddress()));
+        PricingCatalog current = getCatalog();
+        
+        List<PricingOptionDto> options = new ArrayList<>();
+        for (Order.ServiceType serviceType : Order.ServiceType.values()) {
+            SizeRangeMatcher<PricingOptionDto> matcher = current.matcher(serviceType);
+            if (matcher == null || (request.getServiceType() != null && request.getServiceType() != serviceType)) {
+                continue;
+            }
+            Double size = propertySize.sizeFor(serviceType);
+            for (PricingOptionDto option : size == null ? matcher.all() : matcher.match(size)) {
+                if (request.getBillingPeriod() == null || request.getBillingPeriod() == option.getBillingPeriod()) {
+                    options.add(option);
+                }
+            }
+        }
+        options.sort(Comparator.comparing(PricingOptionDto::getPrice));
+        
+        return QuoteDto.builder()
+                .livingArea(propertySize.livingAreaSqFt())
+                .lotSizeAcres(propertySize.lotSizeAcres())
+                .options(options)
+                .build();
+    }
+    
+    // Serialized so a slow load cannot overwrite the snapshot of a later one
+    private PricingCatalog loadCatalog() {
+        catalogLoadLock.lock();
+        try {
+            // One fetch-join query, so mapping never triggers lazy loads
+            PricingCatalog loaded = PricingCatalog.of(pricingOptionRepository.findAllWithFeatures(), this::mapToDto);
+            catalog = loaded;
+            log.debug("Pricing catalog loaded with {} options", loaded.size());
+            return loaded;
+        } finally {
+            catalogLoadLock.unlock();
+        }
+    }
+    
+    private void applySizeBounds(PricingOption pricingOption, PricingOptionDto pricingOptionDto) {
+        if (!PropertySize.isSized(pricingOption.getServiceType())) {
+            pricingOption.setMinSize(null);
+            pricingOption.setMaxSize(null);
+            return;
+        }
+        SizeRange range = pricingOptionDto.getMinSize() != null || pricingOptionDto.getMaxSize() != null
+                ? new SizeRange(pricingOptionDto.getMinSize(), pricingOptionDto.getMaxSize())
+                : SizeRange.parse(pricingOptionDto.getSizeRange());
+        pricingOption.setMinSize(range.min());
+        pricingOption.setMaxSize(range.max());
+    }
+    
     private PricingOptionDto mapToDto(PricingOption pricingOption) {
         return PricingOptionDto.builder()
                 .id(pricingOption.getId())
@@ -83,8 +195,10 @@ public class PricingOptionService {
                 .subtitle(pricingOption.getSubtitle())
                 .price(pricingOption.getPrice())
                 .billingPeriod(pricingOption.getBillingPeriod())
-                .features(pricingOption.getFeatures())
+                .features(new ArrayList<>(pricingOption.getFeatures()))
                 .sizeRange(pricingOption.getSizeRange())
+                .minSize(pricingOption.getMinSize())
+                .maxSize(pricingOption.getMaxSize())
                 .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.callcastlecare.api.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Remembers lookups for the rest of the current HTTP request, so an access check and any
+ * later check or service call in the same request share one load. Outside a request every
+ * call loads afresh.
+ */
+@Component
+public class RequestMemo {
+
+    private static final String ATTRIBUTE = RequestMemo.class.getName();
+
+    /**
+     * @param key identifies the lookup, e.g. {@code "order-participants:42"}
+     * @param loader loads the value on the first call for {@code key} in this request
+     * @return the remembered or freshly loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(String key, Supplier<Optional<T>> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+        Map<String, Optional<?>> memo = (Map<String, Optional<?>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        Optional<?> value = memo.get(key);
+        if (value == null) {
+            value = loader.get();
+            memo.put(key, value);
+        }
+        return (Optional<T>) value;
+    }
+}
@@ -1,206 +1,237 @@
 package com.callcastlecare.api.service;
 
-import com.callcastlecare.api.model.Customer;
-import com.callcastlecare.api.model.Order;
-import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.dto.OrderDto;
 import com.callcastlecare.api.repository.CustomerRepository;
+import com.callcastlecare.api.repository.OrderParticipants;
 import com.callcastlecare.api.repository.OrderRepository;
 import com.callcastlecare.api.repository.WorkerRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
+import com.callcastlecare.api.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Service for security-related operations and permission checks.
+ *
+ * <p>Account ownership is decided from the user's customer and worker IDs. The IDs the token
+ * carries (see {@link UserPrincipal}) are used only when {@code security.trust-account-id-claims}
+ * is on, which is safe once no app client can write those attributes. Otherwise, and for tokens
+ * without the claims, the IDs are resolved by email once and kept in a bounded map for
+ * {@code security.legacy-ids.ttl}. Order checks read only the order's participant IDs, through
+ * a projection query, and remember them for the rest of the request so several checks on the
+ * same order cost one query.
  */
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class SecurityService {
 
     private final CustomerRepository customerRepository;
     private final WorkerRepository workerRepository;
     private final OrderRepository orderRepository;
+    private final RequestMemo requestMemo;
+    private final boolean trustAccountIdClaims;
+    // email -> account IDs, for tokens without the ID claims; absent accounts are remembered too
+    private final Cache<String, AccountIds> legacyIds;
+
+    public SecurityService(CustomerRepository customerRepository,
+                           WorkerRepository workerRepository,
+                           OrderRepository orderRepository,
+                           RequestMemo requestMemo,
+                           @Value("${security.legacy-ids.max-size:10000}") long legacyIdsMaxSize,
+                           @Value("${security.legacy-ids.ttl:5m}") Duration legacyIdsTtl,
+                           @Value("${security.trust-account-id-claims:false}") boolean trustAccountIdClaims) {
+        this.customerRepository = customerRepository;
+        this.workerRepository = workerRepository;
+        this.orderRepository = orderRepository;
+        this.requestMemo = requestMemo;
+        this.trustAccountIdClaims = trustAccountIdClaims;
+        this.legacyIds = Caffeine.newBuilder()
+                .maximumSize(legacyIdsMaxSize)
+                .expireAfterWrite(legacyIdsTtl)
+                .build();
+    }
 
     /**
      * Check if the authenticated user is the owner of a customer account.
      *
      * @param customerId the customer ID
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user is the owner of the customer account
      */
     @Transactional(readOnly = true)
-    public boolean isCustomerOwner(Long customerId, Authentication authentication) {
-        if (authentication == null) {
-            return false;
-        }
-
-        String email = extractEmailFromToken(authentication);
-        if (email == null) {
+    public boolean isCustomerOwner(Long customerId, UserPrincipal principal) {
+        if (principal == null || customerId == null) {
             return false;
         }
 
-        Optional<Customer> customer = customerRepository.findById(customerId);
-        return customer.isPresent() && customer.get().getEmail().equals(email);
+        return customerId.equals(accountIds(principal).customerId());
     }
 
     /**
      * Check if the authenticated user is the owner of a worker account.
      *
      * @param workerId the worker ID
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user is the owner of the worker account
      */
     @Transactional(readOnly = true)
-    public boolean isWorkerOwner(Long workerId, Authentication authentication) {
-        if (authentication == null) {
+    public boolean isWorkerOwner(Long workerId, UserPrincipal principal) {
+        if (principal == null || workerId == null) {
             return false;
         }
 
-        String email = extractEmailFromToken(authentication);
-        if (email == null) {
-            return false;
-        }
-
-        Optional<Worker> worker = workerRepository.findById(workerId);
-        return worker.isPresent() && worker.get().getEmail().equals(email);
+        return workerId.equals(accountIds(principal).workerId());
     }
 
     /**
      * Check if the authenticated user's email matches the worker's email.
      *
      * @param email the worker email
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user's email matches the worker's email
      */
-    @Transactional(readOnly = true)
-    public boolean isWorkerEmail(String email, Authentication authentication) {
-        if (authentication == null) {
-            return false;
-        }
-
-        String userEmail = extractEmailFromToken(authentication);
-        return userEmail != null && userEmail.equals(email);
+    public boolean isWorkerEmail(String email, UserPrincipal principal) {
+        return principal != null && principal.email() != null && principal.email().equals(email);
     }
 
     /**
      * Check if the authenticated user is a participant in an order.
      *
      * @param orderId the order ID
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user is a participant in the order
      */
     @Transactional(readOnly = true)
-    public boolean isOrderParticipant(Long orderId, Authentication authentication) {
-        if (authentication == null) {
+    public boolean isOrderParticipant(Long orderId, UserPrincipal principal) {
+        if (principal == null) {
             return false;
         }
 
-        String email = extractEmailFromToken(authentication);
-        if (email == null) {
+        AccountIds user = accountIds(principal);
+        if (user.isEmpty()) {
             return false;
         }
 
-        Optional<Order> order = orderRepository.findById(orderId);
-        if (order.isEmpty()) {
+        return participants(orderId)
+                .map(order -> user.isCustomer(order.customerId()) || user.isWorker(order.workerId()))
+                .orElse(false);
+    }
+
+    /**
+     * Check if the authenticated user is a participant in every order of a batch. The user is
+     * resolved once and checked against the orders already loaded, so no order is read again.
+     *
+     * @param orderIds the requested order IDs
+     * @param orders the orders found for them
+     * @param principal the current user
+     * @return true if every requested order exists and the user is its customer or worker
+     */
+    @Transactional(readOnly = true)
+    public boolean isOrderParticipantForAll(Collection<Long> orderIds, List<OrderDto> orders,
+                                            UserPrincipal principal) {
+        if (principal == null || orders == null) {
             return false;
         }
 
-        // Check if user is the customer
-        if (order.get().getCustomer().getEmail().equals(email)) {
-            return true;
+        // Missing orders deny the batch, as they deny a single lookup, so it cannot probe for IDs
+        if (orders.size() != new HashSet<>(orderIds).size()) {
+            return false;
         }
 
-        // Check if user is the worker
-        return order.get().getWorker() != null && order.get().getWorker().getEmail().equals(email);
+        AccountIds user = accountIds(principal);
+        return !user.isEmpty() && orders.stream().allMatch(order ->
+                user.isCustomer(order.getCustomerId()) || user.isWorker(order.getWorkerId()));
     }
 
     /**
      * Check if the authenticated user is the owner of an order.
      *
      * @param orderId the order ID
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user is the owner of the order
      */
     @Transactional(readOnly = true)
-    public boolean isOrderOwner(Long orderId, Authentication authentication) {
-        if (authentication == null) {
+    public boolean isOrderOwner(Long orderId, UserPrincipal principal) {
+        if (principal == null) {
             return false;
         }
 
-        String email = extractEmailFromToken(authentication);
-        if (email == null) {
+        AccountIds user = accountIds(principal);
+        if (user.customerId() == null) {
             return false;
         }
 
-        Optional<Order> order = orderRepository.findById(orderId);
-        if (order.isEmpty()) {
-            return false;
-        }
-
-        // Check if user is the customer
-        return order.get().getCustomer().getEmail().equals(email);
+        return participants(orderId)
+                .map(order -> user.isCustomer(order.customerId()))
+                .orElse(false);
     }
 
     /**
      * Check if the authenticated user is the worker assigned to an order.
      *
      * @param orderId the order ID
-     * @param authentication the current authentication
+     * @param principal the current user
      * @return true if the user is the worker assigned to the order
      */
     @Transactional(readOnly = true)
-    public boolean isWorkerForOrder(Long orderId, Authentication authentication) {
-        if (authentication == null) {
+    public boolean isWorkerForOrder(Long orderId, UserPrincipal principal) {
+        if (principal == null) {
             return false;
         }
 
-        String email = extractEmailFromToken(authentication);
-        if (email == null) {
+        AccountIds user = accountIds(principal);
+        if (user.workerId() == null) {
             return false;
         }
 
-        Optional<Order> order = orderRepository.findById(orderId);
-        if (order.isEmpty() || order.get().getWorker() == null) {
-            return false;
-        }
+        return participants(orderId)
+                .map(order -> user.isWorker(order.workerId()))
+                .orElse(false);
+    }
 
-        // Check if user is the worker
-        return order.get().getWorker().getEmail().equals(email);
+    private Optional<OrderParticipants> participants(Long orderId) {
+        return requestMemo.get("order-participants:" + orderId, () -> orderRepository.findParticipantsById(orderId));
     }
 
     /**
-     * Extract email from JWT token.
-     *
-     * @param authentication the current authentication
-     * @return the email from the token, or null if not found
+     * The user's account IDs: from the token when it carries them and the claims are trusted,
+     * otherwise looked up by email and remembered.
      */
-    private String extractEmailFromToken(Authentication authentication) {
-        try {
-            if (authentication.getPrincipal() instanceof Jwt jwt) {
-                Map<String, Object> claims = jwt.getClaims();
-                
-                // Try to get email from different possible claim names
-                if (claims.containsKey("email")) {
-                    return (String) claims.get("email");
-                } else if (claims.containsKey("cognito:username")) {
-                    return (String) claims.get("cognito:username");
-                } else if (claims.containsKey("preferred_username")) {
-                    return (String) claims.get("preferred_username");
-                } else if (claims.containsKey("sub")) {
-                    // Last resort, use the subject
-                    return (String) claims.get("sub");
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error extracting email from token", e);
+    private AccountIds accountIds(UserPrincipal principal) {
+        if (trustAccountIdClaims && principal.hasAccountIds()) {
+            return new AccountIds(principal.customerId(), principal.workerId());
+        }
+        String email = principal.email();
+        if (email == null) {
+            return AccountIds.NONE;
+        }
+        return legacyIds.get(email, key -> new AccountIds(
+                customerRepository.findIdByEmail(key).orElse(null),
+                workerRepository.findIdByEmail(key).orElse(null)));
+    }
+
+    private record AccountIds(Long customerId, Long workerId) {
+
+        static final AccountIds NONE = new AccountIds(null, null);
+
+        boolean isEmpty() {
+            return customerId == null && workerId == null;
+        }
+
+        boolean isCustomer(Long id) {
+            return customerId != null && Objects.equals(customerId, id);
+        }
+
+        boolean isWorker(Long id) {
+            return workerId != null && Objects.equals(workerId, id);
         }
-        return null;
     }
 }
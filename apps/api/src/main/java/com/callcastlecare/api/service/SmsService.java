@@ -1,18 +1,25 @@
 package com.callcastlecare.api.service;
 
+import com.callcastlecare.api.client.Bulkhead;
+import com.callcastlecare.api.client.Bulkheads;
 import com.callcastlecare.api.model.Customer;
 import com.callcastlecare.api.model.Order;
 import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.notification.Notification;
+import com.callcastlecare.api.notification.NotificationChannel;
+import com.callcastlecare.api.notification.NotificationSender;
+import com.callcastlecare.api.notification.template.NotificationTemplates;
 import com.twilio.Twilio;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
-public class SmsService {
+public class SmsService implements NotificationSender {
 
     @Value("${twilio.account-sid}")
     private String accountSid;
@@ -26,12 +33,40 @@ public class SmsService {
     @Value("${twilio.enabled}")
     private boolean enabled;
     
-    private boolean initialized = false;
+    private final Bulkhead twilioCalls;
+    private final NotificationTemplates templates;
     
-    private void initTwilio() {
-        if (!initialized) {
+    public SmsService(Bulkheads bulkheads, NotificationTemplates templates) {
+        this.twilioCalls = bulkheads.get(Bulkheads.TWILIO);
+        this.templates = templates;
+    }
+    
+    // Initialised once before any sender thread can use the client
+    @PostConstruct
+    void initTwilio() {
+        if (enabled) {
             Twilio.init(accountSid, authToken);
-            initialized = true;
+        }
+    }
+    
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.SMS;
+    }
+    
+    @Override
+    public void send(Notification notification, Order order) {
+        switch (notification.type()) {
+            case ORDER_CONFIRMATION -> sendOrderConfirmationToCustomer(order.getCustomer(), order);
+            case ORDER_ASSIGNMENT -> {
+                // The worker may have dropped the order before the notification went out
+                if (order.getWorker() == null) {
+                    log.info("Order {} has no worker any more, not sending assignment SMS", order.getId());
+                    return;
+                }
+                sendOrderAssignmentToWorker(order.getWorker(), order);
+            }
+            case ORDER_STATUS_UPDATE -> sendOrderStatusUpdateToCustomer(order.getCustomer(), order);
         }
     }
     
@@ -41,27 +76,11 @@ public class SmsService {
             return;
         }
         
-        try {
-            initTwilio();
-            
-            String messageBody = String.format(
-                    "CastleCare: Your %s service (Order #%d) is confirmed for %s at %s. We'll notify you when a worker is assigned.",
-                    order.getServiceType().toString(),
-                    order.getId(),
-                    order.getDate().toString(),
-                    order.getTimeSlot().toString()
-            );
-            
-            Message message = Message.creator(
-                    new PhoneNumber(customer.getPhone()),
-                    new PhoneNumber(twilioPhoneNumber),
-                    messageBody
-            ).create();
-            
-            log.info("Order confirmation SMS sent to {}, message SID: {}", customer.getPhone(), message.getSid());
-        } catch (Exception e) {
-            log.error("Failed to send order confirmation SMS to: {}", customer.getPhone(), e);
-        }
+        String messageBody = templates.get(NotificationChannel.SMS, "order-confirmation").render(order);
+        
+        Message message = send(customer.getPhone(), messageBody);
+        
+        log.info("Order confirmation SMS sent to {}, message SID: {}", customer.getPhone(), message.getSid());
     }
     
     public void sendOrderAssignmentToWorker(Worker worker, Order order) {
@@ -70,31 +89,11 @@ public class SmsService {
             return;
         }
         
-        try {
-            initTwilio();
-            
-            String messageBody = String.format(
-                    "CastleCare: New %s job assigned! Order #%d on %s at %s. Address: %s, %s, %s %s. Open app for details.",
-                    order.getServiceType().toString(),
-                    order.getId(),
-                    order.getDate().toString(),
-                    order.getTimeSlot().toString(),
-                    order.getAddress().getStreet(),
-                    order.getAddress().getCity(),
-                    order.getAddress().getState(),
-                    order.getAddress().getZip()
-            );
-            
-            Message message = Message.creator(
-                    new PhoneNumber(worker.getPhone()),
-                    new PhoneNumber(twilioPhoneNumber),
-                    messageBody
-            ).create();
-            
-            log.info("Order assignment SMS sent to worker {}, message SID: {}", worker.getPhone(), message.getSid());
-        } catch (Exception e) {
-            log.error("Failed to send order assignment SMS to worker: {}", worker.getPhone(), e);
-        }
+        String messageBody = templates.get(NotificationChannel.SMS, "order-assignment").render(order);
+        
+        Message message = send(worker.getPhone(), messageBody);
+        
+        log.info("Order assignment SMS sent to worker {}, message SID: {}", worker.getPhone(), message.getSid());
     }
     
     public void sendOrderStatusUpdateToCustomer(Customer customer, Order order) {
@@ -103,47 +102,12 @@ public class SmsService {
             return;
         }
         
-        try {
-            initTwilio();
-            
-            String statusMessage = switch (order.getStatus()) {
-                case ACCEPTED -> String.format(
-                        "CastleCare: Your %s service (Order #%d) has been assigned to %s %s. They will arrive on %s at %s.",
-                        order.getServiceType().toString(),
-                        order.getId(),
-                        order.getWorker().getFirstName(),
-                        order.getWorker().getLastName(),
-                        order.getDate().toString(),
-                        order.getTimeSlot().toString()
-                );
-                case IN_PROGRESS -> String.format(
-                        "CastleCare: Your %s service (Order #%d) is now in progress.",
-                        order.getServiceType().toString(),
-                        order.getId()
-                );
-                case COMPLETED -> String.format(
-                        "CastleCare: Your %s service (Order #%d) has been completed. Thank you for choosing CastleCare!",
-                        order.getServiceType().toString(),
-                        order.getId()
-                );
-                default -> String.format(
-                        "CastleCare: Your %s service (Order #%d) status has been updated to %s.",
-                        order.getServiceType().toString(),
-                        order.getId(),
-                        order.getStatus().toString()
-                );
-            };
-            
-            Message message = Message.creator(
-                    new PhoneNumber(customer.getPhone()),
-                    new PhoneNumber(twilioPhoneNumber),
-                    statusMessage
-            ).create();
-            
-            log.info("Order status update SMS sent to {}, message SID: {}", customer.getPhone(), message.getSid());
-        } catch (Exception e) {
-            log.error("Failed to send order status update SMS to: {}", customer.getPhone(), e);
-        }
+        String statusMessage = templates.get(NotificationChannel.SMS, "order-status-update", order.getStatus())
+                .render(order);
+        
+        Message message = send(customer.getPhone(), statusMessage);
+        
+        log.info("Order status update SMS sent to {}, message SID: {}", customer.getPhone(), message.getSid());
     }
     
     public void sendReminderToWorker(Worker worker, Order order) {
@@ -152,30 +116,11 @@ public class SmsService {
             return;
         }
         
-        try {
-            initTwilio();
-            
-            String messageBody = String.format(
-                    "CastleCare: Reminder for your %s job (Order #%d) tomorrow at %s. Address: %s, %s, %s %s.",
-                    order.getServiceType().toString(),
-                    order.getId(),
-                    order.getTimeSlot().toString(),
-                    order.getAddress().getStreet(),
-                    order.getAddress().getCity(),
-                    order.getAddress().getState(),
-                    order.getAddress().getZip()
-            );
-            
-            Message message = Message.creator(
-                    new PhoneNumber(worker.getPhone()),
-                    new PhoneNumber(twilioPhoneNumber),
-                    messageBody
-            ).create();
-            
-            log.info("Reminder SMS sent to worker {}, message SID: {}", worker.getPhone(), message.getSid());
-        } catch (Exception e) {
-            log.error("Failed to send reminder SMS to worker: {}", worker.getPhone(), e);
-        }
+        String messageBody = templates.get(NotificationChannel.SMS, "worker-reminder").render(order);
+        
+        Message message = send(worker.getPhone(), messageBody);
+        
+        log.info("Reminder SMS sent to worker {}, message SID: {}", worker.getPhone(), message.getSid());
     }
     
     public void sendReminderToCustomer(Customer customer, Order order) {
@@ -184,27 +129,19 @@ public class SmsService {
             return;
         }
         
-        try {
-            initTwilio();
-            
-            String messageBody = String.format(
-                    "CastleCare: Reminder for your %s service (Order #%d) tomorrow at %s with %s %s.",
-                    order.getServiceType().toString(),
-                    order.getId(),
-                    order.getTimeSlot().toString(),
-                    order.getWorker().getFirstName(),
-                    order.getWorker().getLastName()
-            );
-            
-            Message message = Message.creator(
-                    new PhoneNumber(customer.getPhone()),
-                    new PhoneNumber(twilioPhoneNumber),
-                    messageBody
-            ).create();
-            
-            log.info("Reminder SMS sent to customer {}, message SID: {}", customer.getPhone(), message.getSid());
-        } catch (Exception e) {
-            log.error("Failed to send reminder SMS to customer: {}", customer.getPhone(), e);
-        }
+        String messageBody = templates.get(NotificationChannel.SMS, "customer-reminder").render(order);
+        
+        Message message = send(customer.getPhone(), messageBody);
+        
+        log.info("Reminder SMS sent to customer {}, message SID: {}", customer.getPhone(), message.getSid());
+    }
+    
+    // Every outbound message takes a Twilio permit, so a slow API cannot tie up unbounded threads
+    private Message send(String to, String body) {
+        return twilioCalls.execute(() -> Message.creator(
+                new PhoneNumber(to),
+                new PhoneNumber(twilioPhoneNumber),
+                body
+        ).create());
     }
 }
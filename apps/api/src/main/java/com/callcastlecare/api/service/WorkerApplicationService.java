@@ -18,13 +18,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class WorkerApplicationService {
 
     private final WorkerApplicationRepository applicationRepository;
-    private final RedisTestService redisService;
+    // Absent when Redis is disabled; in-progress applications then live only in the database
+    private final Optional<RedisTestService> redisService;
     private final ObjectMapper objectMapper;
 
     @Autowired
     public WorkerApplicationService(
             WorkerApplicationRepository applicationRepository,
-            RedisTestService redisService,
+            Optional<RedisTestService> redisService,
             ObjectMapper objectMapper) {
         this.applicationRepository = applicationRepository;
         this.redisService = redisService;
@@ -35,7 +36,7 @@ public class WorkerApplicationService {
     public WorkerApplicationDto createApplication(WorkerApplicationDto applicationDto) {
         // Check if there's any data in Redis for this user
         String redisKey = "application:" + applicationDto.getUserId();
-        Object redisData = redisService.getValue(redisKey);
+        Object redisData = redisService.map(redis -> redis.getValue(redisKey)).orElse(null);
         
         // Build the entity from the DTO
         WorkerApplication application = mapToEntity(applicationDto);
@@ -47,7 +48,7 @@ public class WorkerApplicationService {
         
         // If we found data in Redis, we can now remove it as it's been migrated to the database
         if (redisData != null) {
-            redisService.deleteValue(redisKey);
+            redisService.ifPresent(redis -> redis.deleteValue(redisKey));
         }
         
         return mapToDto(savedApplication);
@@ -62,7 +63,7 @@ public class WorkerApplicationService {
     public WorkerApplicationDto getApplicationByUserId(String userId) {
         // First check Redis for any in-progress application data
         String redisKey = "application:" + userId;
-        Object redisData = redisService.getValue(redisKey);
+        Object redisData = redisService.map(redis -> redis.getValue(redisKey)).orElse(null);
         
         if (redisData != null) {
             try {
@@ -1,11 +1,14 @@
 package com.callcastlecare.api.service;
 
 import com.callcastlecare.api.dto.WorkerDto;
+import com.callcastlecare.api.event.WorkerChangedEvent;
+import com.callcastlecare.api.geo.ZipCentroids;
 import com.callcastlecare.api.model.Worker;
 import com.callcastlecare.api.repository.WorkerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,8 @@ import java.util.stream.Collectors;
 public class WorkerService {
     
     private final WorkerRepository workerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZipCentroids zipCentroids;
     
     @Transactional
     public WorkerDto createWorker(WorkerDto workerDto) {
@@ -36,6 +41,10 @@ public class WorkerService {
         worker.setCity(workerDto.getCity());
         worker.setState(workerDto.getState());
         worker.setZip(workerDto.getZip());
+        zipCentroids.lookup(workerDto.getZip()).ifPresent(point -> {
+            worker.setLatitude(point.latitude());
+            worker.setLongitude(point.longitude());
+        });
         worker.setPhone(workerDto.getPhone());
         worker.setEmail(workerDto.getEmail());
         worker.setRoles(workerDto.getRoles());
@@ -43,6 +52,7 @@ public class WorkerService {
         worker.setStatus(Worker.WorkerStatus.PENDING); // Default to pending
         
         Worker savedWorker = workerRepository.save(worker);
+        eventPublisher.publishEvent(WorkerChangedEvent.of(savedWorker));
         return mapToDto(savedWorker);
     }
     
@@ -69,6 +79,7 @@ public class WorkerService {
         
         worker.setStatus(status);
         Worker updatedWorker = workerRepository.save(worker);
+        eventPublisher.publishEvent(WorkerChangedEvent.of(updatedWorker));
         return mapToDto(updatedWorker);
     }
     
@@ -85,6 +96,7 @@ public class WorkerService {
         
         worker.setAvailability(availability);
         Worker updatedWorker = workerRepository.save(worker);
+        eventPublisher.publishEvent(WorkerChangedEvent.of(updatedWorker));
         return mapToDto(updatedWorker);
     }
     
@@ -105,6 +117,8 @@ public class WorkerService {
                 .city(worker.getCity())
                 .state(worker.getState())
                 .zip(worker.getZip())
+                .latitude(worker.getLatitude())
+                .longitude(worker.getLongitude())
                 .phone(worker.getPhone())
                 .email(worker.getEmail())
                 .roles(worker.getRoles())
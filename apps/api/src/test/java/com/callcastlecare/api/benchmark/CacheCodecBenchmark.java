@@ -0,0 +1,150 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.cache.codec.CompactRedisSerializer;
+import com.callcastlecare.api.dto.AddressDto;
+import com.callcastlecare.api.dto.CustomerDto;
+import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.model.Order;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of cached DTOs with the JSON serializer the caches used before and
+ * the compact codec. The encoded size of each value is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"order", "customer", "pricingOptions"})
+    private String value;
+
+    // compact uses the configured 1 KB compression threshold; compact-uncompressed never deflates
+    @Param({"json", "compact", "compact-uncompressed"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private Object payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Type type = switch (value) {
+            case "order" -> OrderDto.class;
+            case "customer" -> CustomerDto.class;
+            default -> ResolvableType.forClassWithGenerics(List.class, PricingOptionDto.class).getType();
+        };
+        payload = switch (value) {
+            case "order" -> order();
+            case "customer" -> customer();
+            default -> pricingOptions();
+        };
+        serializer = "json".equals(codec)
+                ? new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper.registerModule(new JavaTimeModule()))
+                : (RedisSerializer<Object>) (RedisSerializer<?>) new CompactRedisSerializer<>(type,
+                        "compact".equals(codec) ? 1024 : Integer.MAX_VALUE);
+        encoded = serializer.serialize(payload);
+        System.out.printf("%n%s/%s encoded size: %d bytes%n", value, codec, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(payload);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    private static OrderDto order() {
+        return OrderDto.builder()
+                .id(184_467L)
+                .customerId(20_311L)
+                .workerId(911L)
+                .serviceType(Order.ServiceType.LAWNCARE)
+                .pricingOptionId(12L)
+                .addressId(20_877L)
+                .date(LocalDate.of(2025, 6, 14))
+                .timeSlot(LocalTime.of(9, 0))
+                .price(new BigDecimal("59.00"))
+                .billingPeriod(Order.BillingPeriod.MONTH)
+                .status(Order.OrderStatus.ACCEPTED)
+                .createdAt(LocalDateTime.of(2025, 6, 1, 18, 22, 41, 512_000_000))
+                .build();
+    }
+
+    private static CustomerDto customer() {
+        return CustomerDto.builder()
+                .id(20_311L)
+                .firstName("Jordan")
+                .lastName("Castellanos")
+                .email("jordan.castellanos@example.com")
+                .phone("+15125550143")
+                .addresses(List.of(
+                        AddressDto.builder().id(20_877L).street("4821 Ridgeview Dr").city("Austin").state("TX")
+                                .zip("78731").latitude(30.3467).longitude(-97.7712).isPrimary(true).build(),
+                        AddressDto.builder().id(20_878L).street("112 Lakeshore Blvd Apt 3").city("Austin").state("TX")
+                                .zip("78741").latitude(30.2385).longitude(-97.7187).isPrimary(false).build()))
+                .createdAt(LocalDateTime.of(2025, 3, 2, 10, 15, 3, 77_000_000))
+                .build();
+    }
+
+    private static List<PricingOptionDto> pricingOptions() {
+        String[] ranges = {"Up to 0.25 acres", "0.25-0.5 acres", "0.5-1 acres", "1+ acres"};
+        List<PricingOptionDto> options = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            options.add(PricingOptionDto.builder()
+                    .id((long) i + 1)
+                    .serviceType(Order.ServiceType.LAWNCARE)
+                    .name(i % 3 == 0 ? "Basic" : i % 3 == 1 ? "Standard" : "Premium")
+                    .subtitle("Weekly mowing, edging and cleanup")
+                    .price(BigDecimal.valueOf(3900 + 1000L * i, 2))
+                    .billingPeriod(Order.BillingPeriod.values()[i % 3])
+                    .features(List.of("Mowing", "Edging", "Blowing clippings", "Photo proof of service"))
+                    .sizeRange(ranges[i % 4])
+                    .minSize(i % 4 == 0 ? null : 0.25 * (1 << (i % 4 - 1)))
+                    .maxSize(i % 4 == 3 ? null : 0.25 * (1 << (i % 4)))
+                    .build());
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
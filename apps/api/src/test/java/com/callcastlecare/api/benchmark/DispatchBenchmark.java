@@ -0,0 +1,104 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.dispatch.DispatchCandidate;
+import com.callcastlecare.api.dispatch.DispatchIndex;
+import com.callcastlecare.api.dispatch.DispatchOrder;
+import com.callcastlecare.api.dispatch.DispatchWorker;
+import com.callcastlecare.api.dispatch.ProximityLoadScoringPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching latency of the dispatch index with 10k workers and 100k open orders spread
+ * over 300 zip areas. Run with {@code main} or the JMH runner on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final String[] ROLES = {"lawncare", "laundry", "lighting"};
+
+    @Param("10000")
+    private int workers;
+
+    @Param("100000")
+    private int openOrders;
+
+    @Param("10")
+    private int limit;
+
+    private DispatchIndex index;
+    private DispatchWorker[] pool;
+    private DispatchOrder[] orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new DispatchIndex(new ProximityLoadScoringPolicy(100, 50, 10));
+
+        List<DispatchWorker> all = new ArrayList<>(workers);
+        for (long id = 1; id <= workers; id++) {
+            int role = random.nextInt(3);
+            Set<String> roles = random.nextInt(4) == 0
+                    ? Set.of(ROLES[role], ROLES[(role + 1) % 3])
+                    : Set.of(ROLES[role]);
+            all.add(new DispatchWorker(id, zip(random), roles, random.nextInt(4)));
+        }
+        index.replaceAll(all);
+        pool = all.toArray(new DispatchWorker[0]);
+
+        orders = new DispatchOrder[openOrders];
+        for (int i = 0; i < openOrders; i++) {
+            orders[i] = new DispatchOrder((long) i, ROLES[random.nextInt(3)], zip(random));
+        }
+    }
+
+    @Benchmark
+    public List<DispatchCandidate> matchOrder() {
+        DispatchOrder order = orders[next];
+        next = next + 1 == orders.length ? 0 : next + 1;
+        return index.match(order, limit);
+    }
+
+    @Benchmark
+    public void toggleAvailability() {
+        DispatchWorker worker = pool[next++ % workers];
+        index.remove(worker.getId());
+        index.upsert(new DispatchWorker(worker.getId(), worker.getZip(), worker.getRoles(), 0));
+    }
+
+    private static String zip(SplittableRandom random) {
+        // 300 areas of 10 zip codes each
+        return String.format("%03d%02d", 100 + random.nextInt(300), random.nextInt(10));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.security.JwtConverter;
+import com.callcastlecare.api.security.VerifiedTokenCache;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost of a reused Cognito-style RS256 access token: parsing,
+ * signature and claim checks and authority conversion on every request ({@code uncached}),
+ * against a hit in the {@link VerifiedTokenCache} ({@code cached}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    @Param({"uncached", "cached"})
+    private String mode;
+
+    private AuthenticationManager authenticationManager;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException, JOSEException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(
+                NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build());
+        provider.setJwtAuthenticationConverter(new JwtConverter());
+        authenticationManager = "cached".equals(mode)
+                ? new VerifiedTokenCache(provider, 10_000, Duration.ofMinutes(10))
+                : provider::authenticate;
+
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("benchmark").build(),
+                new JWTClaimsSet.Builder()
+                        .subject("3f1c2d4e-5a6b-7c8d-9e0f-1a2b3c4d5e6f")
+                        .issuer("https://cognito-idp.us-east-1.amazonaws.com/us-east-1_benchmark")
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(now.plusSeconds(3600)))
+                        .claim("token_use", "access")
+                        .claim("scope", "openid email profile")
+                        .claim("email", "customer@example.com")
+                        .claim("cognito:groups", List.of("customer"))
+                        .claim("custom:customerId", "42")
+                        .build());
+        jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        token = jwt.serialize();
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager.authenticate(new BearerTokenAuthenticationToken(token));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.geo.GeoGrid;
+import com.callcastlecare.api.geo.GeoMatch;
+import com.callcastlecare.api.geo.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * k-nearest and radius queries against the worker grid as the pool grows, with workers
+ * spread over a metro-sized area (about 2 x 2 degrees).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyWorkersBenchmark {
+
+    private static final String[] ROLES = {"lawncare", "laundry", "lighting"};
+
+    @Param({"10000", "100000"})
+    private int workers;
+
+    private GeoGrid<String> grid;
+    private GeoPoint[] origins;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Long, GeoPoint> points = new HashMap<>(workers * 2);
+        Map<Long, String> roles = new HashMap<>(workers * 2);
+        for (long id = 0; id < workers; id++) {
+            points.put(id, randomPoint(random));
+            roles.put(id, ROLES[random.nextInt(3)]);
+        }
+        grid = new GeoGrid<>(0.05);
+        grid.replaceAll(points, roles);
+
+        origins = new GeoPoint[1024];
+        for (int i = 0; i < origins.length; i++) {
+            origins[i] = randomPoint(random);
+        }
+    }
+
+    @Benchmark
+    public List<GeoMatch<String>> nearestTen() {
+        return grid.nearest(nextOrigin(), 10, 25, "lawncare"::equals);
+    }
+
+    @Benchmark
+    public List<GeoMatch<String>> withinTwoKm() {
+        return grid.within(nextOrigin(), 2, "lawncare"::equals);
+    }
+
+    private GeoPoint nextOrigin() {
+        next = (next + 1) & (origins.length - 1);
+        return origins[next];
+    }
+
+    private static GeoPoint randomPoint(SplittableRandom random) {
+        return new GeoPoint(40 + random.nextDouble() * 2, -75 + random.nextDouble() * 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NearbyWorkersBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,164 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.model.Address;
+import com.callcastlecare.api.model.Customer;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.notification.NotificationChannel;
+import com.callcastlecare.api.notification.template.NotificationTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building one notification body: {@code String.format} as the services used to
+ * ({@code *Format}), against the compiled templates, including the template lookup
+ * ({@code *Template}), and rendering into a reused buffer ({@code emailTemplateReusedBuffer}).
+ * Run with {@code -prof gc} to compare allocation per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationTemplateBenchmark {
+
+    private static final String ORDER_CONFIRMATION_HTML = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #4CAF50; color: white; padding: 10px; text-align: center; }
+                    .content { padding: 20px; }
+                    .footer { background-color: #f1f1f1; padding: 10px; text-align: center; font-size: 12px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Order Confirmation</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hello %s,</p>
+                        <p>Thank you for choosing CastleCare! Your order has been confirmed and is being processed.</p>
+                        <h2>Order Details</h2>
+                        <p><strong>Order ID:</strong> #%d</p>
+                        <p><strong>Service:</strong> %s</p>
+                        <p><strong>Plan:</strong> %s</p>
+                        <p><strong>Price:</strong> $%s</p>
+                        <p><strong>Date:</strong> %s</p>
+                        <p><strong>Time:</strong> %s</p>
+                        <p>We'll notify you when a worker has been assigned to your order.</p>
+                        <p>If you have any questions, please contact our support team.</p>
+                        <p>Best regards,<br>The CastleCare Team</p>
+                    </div>
+                    <div class="footer">
+                        <p>&copy; 2025 CastleCare. All rights reserved.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private NotificationTemplates templates;
+    private Order order;
+    private final StringBuilder buffer = new StringBuilder(4096);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        templates = new NotificationTemplates(new NotificationProperties(), new DefaultResourceLoader());
+
+        Customer customer = new Customer();
+        customer.setFirstName("Ana");
+        Worker worker = new Worker();
+        worker.setFirstName("Sam");
+        worker.setLastName("Rivera");
+        Address address = new Address();
+        address.setStreet("12 Elm St");
+        address.setCity("Austin");
+        address.setState("TX");
+        address.setZip("78701");
+        PricingOption pricingOption = new PricingOption();
+        pricingOption.setName("Standard");
+
+        order = new Order();
+        order.setId(42L);
+        order.setCustomer(customer);
+        order.setWorker(worker);
+        order.setAddress(address);
+        order.setPricingOption(pricingOption);
+        order.setServiceType(Order.ServiceType.LAWNCARE);
+        order.setStatus(Order.OrderStatus.ACCEPTED);
+        order.setDate(LocalDate.of(2025, 6, 1));
+        order.setTimeSlot(LocalTime.of(9, 30));
+        order.setPrice(new BigDecimal("49.99"));
+    }
+
+    @Benchmark
+    public String smsFormat() {
+        return String.format(
+                "CastleCare: Your %s service (Order #%d) has been assigned to %s %s. They will arrive on %s at %s.",
+                order.getServiceType().toString(),
+                order.getId(),
+                order.getWorker().getFirstName(),
+                order.getWorker().getLastName(),
+                order.getDate().toString(),
+                order.getTimeSlot().toString());
+    }
+
+    @Benchmark
+    public String smsTemplate() {
+        return templates.get(NotificationChannel.SMS, "order-status-update", order.getStatus()).render(order);
+    }
+
+    @Benchmark
+    public String emailFormat() {
+        return ORDER_CONFIRMATION_HTML.formatted(
+                order.getCustomer().getFirstName(),
+                order.getId(),
+                order.getServiceType().toString(),
+                order.getPricingOption().getName(),
+                order.getPrice().toString(),
+                order.getDate().toString(),
+                order.getTimeSlot().toString());
+    }
+
+    @Benchmark
+    public String emailTemplate() {
+        return templates.get(NotificationChannel.EMAIL, "order-confirmation").render(order);
+    }
+
+    @Benchmark
+    public int emailTemplateReusedBuffer() {
+        buffer.setLength(0);
+        return templates.get(NotificationChannel.EMAIL, "order-confirmation").renderTo(buffer, order).length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotificationTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
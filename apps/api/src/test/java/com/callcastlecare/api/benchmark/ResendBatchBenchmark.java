@@ -0,0 +1,87 @@
+package com.callcastlecare.api.benchmark;
+
+import com.callcastlecare.api.client.Bulkhead;
+import com.callcastlecare.api.notification.FakeResendServer;
+import com.callcastlecare.api.notification.ResendBatchSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email throughput against a local fake Resend endpoint with a 20 ms round trip and 8
+ * requests in flight: one email per request ({@code maxBatchSize=1}, the cost of the old
+ * per-email calls) against full batches of 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResendBatchBenchmark {
+
+    private static final int EMAILS = 1000;
+
+    @Param({"1", "100"})
+    private int maxBatchSize;
+
+    private FakeResendServer resend;
+    private ResendBatchSender sender;
+    private ResendBatchSender.Email email;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        resend = new FakeResendServer();
+        resend.latency = Duration.ofMillis(20);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sender = new ResendBatchSender(resend.baseUrl(), "re_benchmark",
+                new ResendBatchSender.Settings(EMAILS, maxBatchSize, Duration.ofMillis(5), Duration.ofSeconds(5),
+                        Duration.ofSeconds(10), 0),
+                new Bulkhead("resend", 8, Duration.ofSeconds(30), meterRegistry), meterRegistry);
+        email = new ResendBatchSender.Email("noreply@callcastlecare.com", List.of("customer@example.com"),
+                "CastleCare Order Update - #42", "<p>Your order status has been updated.</p>");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sender.close();
+        resend.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMAILS)
+    public void sendBurst() throws Exception {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[EMAILS];
+        for (int i = 0; i < EMAILS; i++) {
+            results[i] = sender.send(email);
+        }
+        CompletableFuture.allOf(results).get(60, TimeUnit.SECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResendBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.callcastlecare.api.cache;
+
+import com.callcastlecare.api.config.LocalCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationTest {
+
+    private ConcurrentMapCacheManager shared;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheProperties.Spec spec = new LocalCacheProperties.Spec();
+        spec.setTtl(Duration.ofHours(1));
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getCaches().put("orders", spec);
+
+        // Two managers over one shared cache and one bus stand in for two API replicas on Redis
+        shared = new ConcurrentMapCacheManager("orders");
+        InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+        nodeA = new TwoTierCacheManager(shared, properties, bus, new SimpleMeterRegistry());
+        nodeB = new TwoTierCacheManager(shared, properties, bus, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void evict_DropsLocalCopyOnOtherNodes() {
+        // Arrange
+        Cache ordersA = nodeA.getCache("orders");
+        Cache ordersB = nodeB.getCache("orders");
+        ordersA.put(1L, "pending");
+        assertEquals("pending", ordersB.get(1L).get());
+
+        // Act
+        ordersA.evict(1L);
+        shared.getCache("orders").put(1L, "accepted");
+
+        // Assert
+        assertEquals("accepted", ordersB.get(1L).get());
+    }
+
+    @Test
+    void clear_DropsAllLocalEntriesOnOtherNodes() {
+        // Arrange
+        nodeA.getCache("orders").put(1L, "pending");
+        nodeB.getCache("orders").get(1L);
+
+        // Act
+        nodeA.getCache("orders").clear();
+
+        // Assert
+        assertNull(nodeB.getCache("orders").get(1L));
+    }
+
+    @Test
+    void invalidation_IgnoresOwnMessages() {
+        // Arrange
+        InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getCaches().put("orders", new LocalCacheProperties.Spec());
+        TwoTierCacheManager node = new TwoTierCacheManager(shared, properties, bus, new SimpleMeterRegistry());
+        TwoTierCache orders = (TwoTierCache) node.getCache("orders");
+        orders.put(1L, "pending");
+        shared.getCache("orders").evict(1L);
+
+        // Act
+        bus.publish(new CacheInvalidation(node.getNodeId(), "orders", 1L));
+
+        // Assert
+        assertEquals("pending", orders.get(1L).get());
+    }
+
+    @Test
+    void redisCodec_RoundTripsKeyTypes() {
+        // Act & Assert
+        assertEquals(new CacheInvalidation("a", "orders", 42L),
+                RedisCacheInvalidationBus.decode(RedisCacheInvalidationBus.encode(new CacheInvalidation("a", "orders", 42L))));
+        assertEquals(new CacheInvalidation("a", "customers", 7),
+                RedisCacheInvalidationBus.decode(RedisCacheInvalidationBus.encode(new CacheInvalidation("a", "customers", 7))));
+        assertEquals(new CacheInvalidation("a", "customers", "a|b@example.com"),
+                RedisCacheInvalidationBus.decode(RedisCacheInvalidationBus.encode(new CacheInvalidation("a", "customers", "a|b@example.com"))));
+        assertTrue(RedisCacheInvalidationBus.decode(RedisCacheInvalidationBus.encode(CacheInvalidation.clear("a", "orders"))).isClear());
+    }
+
+    @Test
+    void redisCodec_SendsUnsupportedKeysAsClear() {
+        // Act
+        CacheInvalidation decoded = RedisCacheInvalidationBus.decode(
+                RedisCacheInvalidationBus.encode(new CacheInvalidation("a", "pricingOptionsByServiceType", Thread.State.NEW)));
+
+        // Assert
+        assertTrue(decoded.isClear());
+        assertEquals("pricingOptionsByServiceType", decoded.cacheName());
+    }
+
+    @Test
+    void redisCodec_RejectsMalformedPayload() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RedisCacheInvalidationBus.decode("garbage"));
+        assertThrows(IllegalArgumentException.class, () -> RedisCacheInvalidationBus.decode("a|orders|l|not-a-number"));
+    }
+}
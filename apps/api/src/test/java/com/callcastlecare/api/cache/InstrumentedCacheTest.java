@@ -0,0 +1,92 @@
+package com.callcastlecare.api.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private Cache orders;
+    private Cache customers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        InstrumentedCacheManager cacheManager = new InstrumentedCacheManager(
+                new ConcurrentMapCacheManager("orders", "customers"), "cache.access", true, meterRegistry);
+        orders = cacheManager.getCache("orders");
+        customers = cacheManager.getCache("customers");
+    }
+
+    @Test
+    void get_RecordsHitsAndMisses() {
+        // Arrange
+        orders.put(1L, "order");
+
+        // Act
+        orders.get(1L);
+        orders.get(1L);
+        orders.get(2L);
+
+        // Assert
+        assertEquals(2, meterRegistry.get("cache.access").tags("cache", "orders", "result", "hit").timer().count());
+        assertEquals(1, meterRegistry.get("cache.access").tags("cache", "orders", "result", "miss").timer().count());
+    }
+
+    @Test
+    void put_AfterMissOfSameKeyRecordsLoad() throws InterruptedException {
+        // Act
+        assertNull(orders.get(1L));
+        customers.get(9L);
+        Thread.sleep(5);
+        orders.put(1L, "order");
+        orders.put(1L, "order");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("cache.load").tag("cache", "orders").timer().count());
+        assertTrue(meterRegistry.get("cache.load").tag("cache", "orders").timer().max(TimeUnit.MILLISECONDS) >= 5);
+        assertEquals(0, meterRegistry.get("cache.load").tag("cache", "customers").timer().count());
+    }
+
+    @Test
+    void getWithLoader_RecordsLoadOnlyOnMiss() {
+        // Act
+        orders.get(1L, () -> "order");
+        orders.get(1L, () -> "other");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("cache.load").tag("cache", "orders").timer().count());
+        assertEquals(1, meterRegistry.get("cache.access").tags("cache", "orders", "result", "hit").timer().count());
+    }
+
+    @Test
+    void endpoint_SummarizesPerCache() {
+        // Arrange
+        CacheStatsEndpoint endpoint = new CacheStatsEndpoint(meterRegistry);
+        orders.get(1L);
+        orders.put(1L, "order");
+        orders.get(1L);
+        orders.get(1L);
+        orders.get(1L);
+
+        // Act
+        CacheStatsEndpoint.CacheStats stats = endpoint.cache("orders");
+
+        // Assert
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.75, stats.hitRatio());
+        assertEquals(1, stats.load().count());
+        assertNull(stats.redisGet());
+        assertNull(endpoint.cache("unknown"));
+        assertTrue(endpoint.caches().containsKey("customers"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.callcastlecare.api.cache;
+
+import com.callcastlecare.api.config.CacheConfig;
+import com.callcastlecare.api.config.LocalCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCachesTest {
+
+    @Test
+    void builder_BoundsListCachesByElementWeight() {
+        // Arrange
+        LocalCacheProperties.Spec spec = new LocalCacheProperties.Spec();
+        spec.setMaxWeight(10);
+        Cache<Object, Object> cache = LocalCaches.builder(spec, Duration.ofMinutes(1))
+                .executor(Runnable::run)
+                .build();
+
+        // Act
+        cache.put("small", List.of(1, 2));
+        cache.put("large", List.of(1, 2, 3, 4, 5, 6, 7, 8));
+        cache.cleanUp();
+
+        // Assert
+        assertEquals(10, cache.policy().eviction().orElseThrow().getMaximum());
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 10);
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    void jitter_ShortensTtlByAtMostTheFraction() {
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            Duration ttl = LocalCaches.jitter(Duration.ofHours(1), 0.2);
+            assertTrue(ttl.compareTo(Duration.ofMinutes(48)) >= 0 && ttl.compareTo(Duration.ofHours(1)) <= 0, ttl.toString());
+        }
+        assertEquals(Duration.ofHours(1), LocalCaches.jitter(Duration.ofHours(1), 0));
+    }
+
+    @Test
+    void builder_WithJitterExpiresEntriesIndividually() {
+        // Arrange
+        Cache<Object, Object> cache = LocalCaches.builder(new LocalCacheProperties.Spec(), Duration.ofHours(1), 0.5).build();
+
+        // Act
+        cache.put("key", "value");
+
+        // Assert
+        assertTrue(cache.policy().expireAfterWrite().isEmpty());
+        Duration expiresIn = cache.policy().expireVariably().orElseThrow().getExpiresAfter("key").orElseThrow();
+        assertTrue(expiresIn.compareTo(Duration.ofMinutes(30)) >= 0 && expiresIn.compareTo(Duration.ofHours(1)) <= 0);
+    }
+
+    @Test
+    void weigh_CountsElementsOfWrappedValues() {
+        // Act & Assert
+        assertEquals(1, LocalCaches.weigh("k", "value"));
+        assertEquals(4, LocalCaches.weigh("k", List.of(1, 2, 3)));
+        assertEquals(3, LocalCaches.weigh("k", new Object[] { 1800, "0.25 acres" }));
+        assertEquals(3, LocalCaches.weigh("k", new SimpleValueWrapper(List.of(1, 2))));
+    }
+
+    @Test
+    void standaloneCacheManager_KeepsRedisTtlsAndRecordsStats() {
+        // Arrange
+        LocalCacheProperties properties = new LocalCacheProperties();
+        LocalCacheProperties.Spec propertyData = new LocalCacheProperties.Spec();
+        propertyData.setMaxWeight(5000);
+        properties.getCaches().put("propertyData", propertyData);
+
+        // Act
+        CacheManager cacheManager = new CacheConfig().simpleCacheManager(properties, new SimpleMeterRegistry());
+
+        // Assert
+        assertEquals(Duration.ofMinutes(2), expireAfterWrite(cacheManager, "orders"));
+        assertEquals(Duration.ofDays(7), expireAfterWrite(cacheManager, "propertyData"));
+        assertEquals(Duration.ofMinutes(10), expireAfterWrite(cacheManager, "unlisted"));
+        assertTrue(nativeCache(cacheManager, "propertyData").policy().eviction().orElseThrow().isWeighted());
+        assertEquals(1000, nativeCache(cacheManager, "orders").policy().eviction().orElseThrow().getMaximum());
+
+        cacheManager.getCache("orders").get(1L);
+        assertEquals(1, nativeCache(cacheManager, "orders").stats().missCount());
+    }
+
+    private static Duration expireAfterWrite(CacheManager cacheManager, String name) {
+        return nativeCache(cacheManager, name).policy().expireAfterWrite().orElseThrow().getExpiresAfter();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+}
@@ -0,0 +1,147 @@
+package com.callcastlecare.api.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private MeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("propertyData");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache("propertyData", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                new InProcessCacheInvalidationBus(), "node-a", meterRegistry);
+    }
+
+    @Test
+    void get_PopulatesLocalTierFromRemoteHit() {
+        // Arrange
+        remote.put("key", "value");
+
+        // Act
+        Object first = cache.get("key").get();
+        remote.evict("key");
+        Object second = cache.get("key").get();
+
+        // Assert
+        assertEquals("value", first);
+        assertEquals("value", second);
+        assertEquals(0.5, ratio("l1"));
+        assertEquals(1.0, ratio("l2"));
+    }
+
+    @Test
+    void get_CountsMissOnBothTiers() {
+        // Act
+        assertNull(cache.get("missing"));
+
+        // Assert
+        assertEquals(0.0, ratio("l1"));
+        assertEquals(0.0, ratio("l2"));
+    }
+
+    @Test
+    void putAndEvict_WriteThroughBothTiers() {
+        // Act
+        cache.put("key", "value");
+
+        // Assert
+        assertEquals("value", remote.get("key").get());
+        cache.evict("key");
+        assertNull(remote.get("key"));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void get_WithLoaderCachesNullValues() {
+        // Act
+        Object loaded = cache.get("key", () -> null);
+
+        // Assert
+        assertNull(loaded);
+        assertNotNull(cache.get("key"));
+        assertNull(cache.get("key").get());
+    }
+
+    @Test
+    void get_WithLoaderLoadsOncePerKeyForConcurrentMisses() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Object>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(50);
+                    return "value";
+                });
+            }));
+        }
+        start.countDown();
+
+        // Assert
+        for (Future<Object> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals("value", remote.get("key").get());
+    }
+
+    @Test
+    void getAll_ReadsRemoteOnlyForLocalMissesAndFillsLocalTier() {
+        // Arrange
+        cache.put("a", "1");
+        remote.put("b", "2");
+
+        // Act
+        Map<Object, Cache.ValueWrapper> found = cache.getAll(List.of("a", "b", "c"));
+        remote.evict("b");
+
+        // Assert
+        assertEquals(List.of("a", "b"), List.copyOf(found.keySet()));
+        assertEquals("2", found.get("b").get());
+        assertEquals("2", cache.get("b").get());
+        assertEquals(0.5, ratio("l2"));
+    }
+
+    @Test
+    void putAll_WritesBothTiers() {
+        // Act
+        cache.putAll(Map.of("a", "1", "b", "2"));
+
+        // Assert
+        assertEquals("1", remote.get("a").get());
+        assertEquals("2", cache.getAll(List.of("a", "b")).get("b").get());
+    }
+
+    private double ratio(String tier) {
+        return meterRegistry.get("cache.tier.hit.ratio").tag("cache", "propertyData").tag("tier", tier).gauge().value();
+    }
+}
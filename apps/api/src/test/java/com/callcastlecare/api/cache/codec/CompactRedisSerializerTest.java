@@ -0,0 +1,146 @@
+package com.callcastlecare.api.cache.codec;
+
+import com.callcastlecare.api.dto.AddressDto;
+import com.callcastlecare.api.dto.CustomerDto;
+import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.model.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    @Test
+    void roundTrip_OrderDto() {
+        // Arrange
+        CompactRedisSerializer<OrderDto> serializer = new CompactRedisSerializer<>(OrderDto.class, 1024);
+        OrderDto order = OrderDto.builder()
+                .id(12345L)
+                .customerId(42L)
+                .serviceType(Order.ServiceType.LAWNCARE)
+                .pricingOptionId(3L)
+                .addressId(7L)
+                .date(LocalDate.of(2025, 6, 1))
+                .timeSlot(LocalTime.of(9, 30))
+                .price(new BigDecimal("49.99"))
+                .billingPeriod(Order.BillingPeriod.MONTH)
+                .status(Order.OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2025, 5, 20, 14, 3, 7, 123_456_000))
+                .build();
+
+        // Act
+        byte[] bytes = serializer.serialize(order);
+        OrderDto decoded = serializer.deserialize(bytes);
+
+        // Assert
+        assertEquals(order, decoded);
+        assertNull(decoded.getWorkerId());
+        assertTrue(bytes.length < 60, "encoded size was " + bytes.length);
+    }
+
+    @Test
+    void roundTrip_CustomerDtoWithNestedAddresses() {
+        // Arrange
+        CompactRedisSerializer<CustomerDto> serializer = new CompactRedisSerializer<>(CustomerDto.class, 1024);
+        CustomerDto customer = CustomerDto.builder()
+                .id(1L)
+                .firstName("Zoë")
+                .lastName("O'Brien")
+                .email("zoe@example.com")
+                .phone("+15555550100")
+                .addresses(List.of(
+                        AddressDto.builder().id(1L).street("1 Main St").city("Austin").state("TX").zip("78701")
+                                .latitude(30.27).longitude(-97.74).isPrimary(true).build(),
+                        AddressDto.builder().id(2L).street("2 Oak Ave").city("Austin").state("TX").zip("78702").build()))
+                .build();
+
+        // Act
+        CustomerDto decoded = serializer.deserialize(serializer.serialize(customer));
+
+        // Assert
+        assertEquals(customer, decoded);
+    }
+
+    @Test
+    void roundTrip_NullCollectionStaysNull() {
+        // Arrange
+        CompactRedisSerializer<PricingOptionDto> serializer = new CompactRedisSerializer<>(PricingOptionDto.class, 1024);
+        PricingOptionDto option = PricingOptionDto.builder().id(1L).name("Basic").features(null).build();
+
+        // Act
+        PricingOptionDto decoded = serializer.deserialize(serializer.serialize(option));
+
+        // Assert
+        assertNull(decoded.getFeatures());
+    }
+
+    @Test
+    void roundTrip_LargeListIsCompressed() {
+        // Arrange
+        Type type = ResolvableType.forClassWithGenerics(List.class, PricingOptionDto.class).getType();
+        CompactRedisSerializer<List<PricingOptionDto>> serializer = new CompactRedisSerializer<>(type, 256);
+        CompactRedisSerializer<List<PricingOptionDto>> uncompressed = new CompactRedisSerializer<>(type, Integer.MAX_VALUE);
+        List<PricingOptionDto> options = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            options.add(PricingOptionDto.builder()
+                    .id(i)
+                    .serviceType(Order.ServiceType.LAWNCARE)
+                    .name("Standard lawn care")
+                    .price(BigDecimal.valueOf(2999 + i, 2))
+                    .billingPeriod(Order.BillingPeriod.MONTH)
+                    .features(List.of("Mowing", "Edging", "Blowing"))
+                    .sizeRange("0.25-0.5 acres")
+                    .minSize(0.25)
+                    .maxSize(0.5)
+                    .build());
+        }
+
+        // Act
+        byte[] bytes = serializer.serialize(options);
+
+        // Assert
+        assertTrue(bytes.length < uncompressed.serialize(options).length / 2);
+        assertEquals(options, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTrip_PropertySizeArray() {
+        // Arrange
+        CompactRedisSerializer<Object[]> serializer = new CompactRedisSerializer<>(Object[].class, 1024);
+
+        // Act
+        Object[] decoded = serializer.deserialize(serializer.serialize(new Object[] { 1800, "0.25 acres", null }));
+
+        // Assert
+        assertArrayEquals(new Object[] { 1800, "0.25 acres", null }, decoded);
+    }
+
+    @Test
+    void deserialize_ForeignOrStaleValuesAreMisses() {
+        // Arrange
+        CompactRedisSerializer<OrderDto> orders = new CompactRedisSerializer<>(OrderDto.class, 1024);
+        CompactRedisSerializer<CustomerDto> customers = new CompactRedisSerializer<>(CustomerDto.class, 1024);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(OrderDto.builder().id(1L).build());
+
+        // Act & Assert
+        assertNull(orders.deserialize(json));
+        assertNull(orders.deserialize(customers.serialize(CustomerDto.builder().id(1L).build())));
+    }
+
+    @Test
+    void forType_RejectsUnsupportedTypes() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new CompactRedisSerializer<>(Thread.class, 1024));
+    }
+}
@@ -0,0 +1,79 @@
+package com.callcastlecare.api.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_CapsConcurrentCallsAndRejectsAfterTimeout() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("zillow", 2, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> first = executor.submit(() -> hold(bulkhead, holding, release, active, maxActive));
+            Future<?> second = executor.submit(() -> hold(bulkhead, holding, release, active, maxActive));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // Act
+            assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> "third"));
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+        String afterRelease = bulkhead.execute(() -> "fourth");
+
+        // Assert
+        assertEquals("fourth", afterRelease);
+        assertEquals(2, maxActive.get());
+        assertEquals(1.0, meterRegistry.get("downstream.calls.rejected").tag("downstream", "zillow").counter().count());
+        assertEquals(0.0, meterRegistry.get("downstream.calls.active").tag("downstream", "zillow").gauge().value());
+    }
+
+    @Test
+    void interceptor_ReleasesEachPermitOnce() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("sqs", 1, Duration.ZERO, meterRegistry);
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(bulkhead);
+        ExecutionAttributes execution = new ExecutionAttributes();
+        ExecutionAttributes rejected = new ExecutionAttributes();
+
+        // Act & Assert
+        interceptor.beforeExecution(null, execution);
+        assertThrows(BulkheadFullException.class, () -> interceptor.beforeExecution(null, rejected));
+        interceptor.onExecutionFailure(null, rejected);
+        interceptor.onExecutionFailure(null, execution);
+        interceptor.afterExecution(null, execution);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+    }
+
+    private static Void hold(Bulkhead bulkhead, CountDownLatch holding, CountDownLatch release,
+                             AtomicInteger active, AtomicInteger maxActive) throws InterruptedException {
+        return bulkhead.execute(() -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            holding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            active.decrementAndGet();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.callcastlecare.api.client;
+
+import com.callcastlecare.api.dto.AddressDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return "value";
+            })));
+        }
+        while (meterRegistry.counter("singleflight.calls", "name", "test", "result", "coalesced").count() < 7) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_RethrowsLoaderFailureAndAllowsRetry() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("retried", singleFlight.execute("key", () -> "retried"));
+    }
+
+    @Test
+    void addressKey_NormalizesFormatting() {
+        // Arrange
+        AddressDto first = AddressDto.builder().street("123 Main Street").city("Springfield").state("IL").zip("62704").build();
+        AddressDto second = AddressDto.builder().street(" 123  main st. ").city("SPRINGFIELD").state("il").zip("62704-1234").build();
+
+        // Act & Assert
+        assertEquals(ZillowClient.addressKey(first), ZillowClient.addressKey(second));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.callcastlecare.api.client;
+
+import com.callcastlecare.api.config.DownstreamProperties;
+import com.callcastlecare.api.dto.AddressDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig(ZillowClientTest.Config.class)
+class ZillowClientTest {
+
+    @Autowired
+    private ZillowClient zillowClient;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache("propertyData").clear();
+    }
+
+    @Test
+    void getPropertySizeData_RejectsRatherThanGuessingWhenLoadIsShed() {
+        // Arrange: hold the only permit so the lookup is shed
+        Bulkhead bulkhead = bulkheads.get(Bulkheads.ZILLOW);
+        assertTrue(bulkhead.tryAcquire());
+        AddressDto address = new AddressDto();
+        address.setStreet("12 Elm St");
+        address.setCity("Austin");
+        address.setState("TX");
+        address.setZip("78701");
+
+        // Act & Assert
+        try {
+            assertThrows(BulkheadFullException.class, () -> zillowClient.getPropertySizeData(address));
+        } finally {
+            bulkhead.release();
+        }
+        assertNull(cacheManager.getCache("propertyData").get(ZillowClient.addressKey(address)));
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({ZillowClient.class, Bulkheads.class})
+    static class Config {
+
+        @Bean
+        DownstreamProperties downstreamProperties() {
+            DownstreamProperties.Limit limit = new DownstreamProperties.Limit();
+            limit.setMaxConcurrentCalls(1);
+            limit.setAcquireTimeout(Duration.ZERO);
+            DownstreamProperties properties = new DownstreamProperties();
+            properties.getLimits().put(Bulkheads.ZILLOW, limit);
+            return properties;
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("propertyData");
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
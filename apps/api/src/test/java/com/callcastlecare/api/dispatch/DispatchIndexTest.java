@@ -0,0 +1,69 @@
+package com.callcastlecare.api.dispatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchIndexTest {
+
+    private DispatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DispatchIndex(new ProximityLoadScoringPolicy(100, 50, 10));
+        index.replaceAll(List.of(
+                new DispatchWorker(1L, "10001", Set.of("lawncare"), 0),
+                new DispatchWorker(2L, "10002", Set.of("lawncare", "laundry"), 0),
+                new DispatchWorker(3L, "10001", Set.of("lawncare"), 2),
+                new DispatchWorker(4L, "94103", Set.of("lawncare"), 0)));
+    }
+
+    @Test
+    void match_RanksSameZipThenSameAreaAndPenalisesLoad() {
+        // Act
+        List<DispatchCandidate> candidates = index.match(new DispatchOrder(10L, "lawncare", "10001"), 3);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L), candidates.stream().map(DispatchCandidate::workerId).toList());
+        assertEquals(100.0, candidates.get(0).score());
+        assertEquals(80.0, candidates.get(1).score());
+    }
+
+    @Test
+    void match_WidensBeyondAreaOnlyWhenAreaHasNoWorkers() {
+        // Act
+        List<DispatchCandidate> local = index.match(new DispatchOrder(10L, "lawncare", "10001"), 10);
+        List<DispatchCandidate> widened = index.match(new DispatchOrder(11L, "lawncare", "60601"), 10);
+
+        // Assert
+        assertEquals(3, local.size());
+        assertEquals(4, widened.size());
+    }
+
+    @Test
+    void upsertAndRemove_KeepIndexCurrentAndPreserveLoad() {
+        // Act
+        index.remove(1L);
+        index.upsert(new DispatchWorker(3L, "94103", Set.of("laundry"), 0));
+
+        // Assert
+        assertTrue(index.match(new DispatchOrder(10L, "lawncare", "10001"), 10).stream()
+                .noneMatch(c -> c.workerId() == 1L || c.workerId() == 3L));
+        List<DispatchCandidate> laundry = index.match(new DispatchOrder(11L, "laundry", "94103"), 10);
+        assertEquals(3L, laundry.get(0).workerId());
+        assertEquals(80.0, laundry.get(0).score());
+    }
+
+    @Test
+    void adjustActiveOrders_LowersScore() {
+        // Act
+        index.adjustActiveOrders(1L, 1);
+
+        // Assert
+        assertEquals(90.0, index.match(new DispatchOrder(10L, "lawncare", "10001"), 1).get(0).score());
+    }
+}
@@ -0,0 +1,75 @@
+package com.callcastlecare.api.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    private static final GeoPoint MIDTOWN = new GeoPoint(40.7506, -73.9972);
+
+    @Test
+    void nearest_MatchesBruteForceScan() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(7);
+        GeoGrid<Long> grid = new GeoGrid<>(0.1);
+        Map<Long, GeoPoint> points = new HashMap<>();
+        for (long id = 0; id < 5000; id++) {
+            points.put(id, new GeoPoint(40 + random.nextDouble() * 2, -75 + random.nextDouble() * 2));
+        }
+        Map<Long, Long> values = new HashMap<>();
+        points.keySet().forEach(id -> values.put(id, id));
+        grid.replaceAll(points, values);
+
+        // Act
+        List<GeoMatch<Long>> nearest = grid.nearest(MIDTOWN, 20, 50, id -> id % 3 != 0);
+
+        // Assert
+        List<Long> expected = points.entrySet().stream()
+                .filter(e -> e.getKey() % 3 != 0 && MIDTOWN.distanceKm(e.getValue()) <= 50)
+                .sorted(Comparator.comparingDouble(e -> MIDTOWN.distanceKm(e.getValue())))
+                .limit(20)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, nearest.stream().map(GeoMatch::value).toList());
+    }
+
+    @Test
+    void within_ReturnsOnlyPointsInsideRadius() {
+        // Arrange
+        GeoGrid<String> grid = new GeoGrid<>(0.1);
+        grid.put(1L, new GeoPoint(40.7157, -73.9864), "lower east side");
+        grid.put(2L, new GeoPoint(41.8858, -87.6181), "chicago");
+
+        // Act
+        List<GeoMatch<String>> matches = grid.within(MIDTOWN, 10, value -> true);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertEquals("lower east side", matches.get(0).value());
+        assertEquals(3.98, matches.get(0).distanceKm(), 0.05);
+    }
+
+    @Test
+    void putAndRemove_MoveAndDropEntries() {
+        // Arrange
+        GeoGrid<String> grid = new GeoGrid<>(0.1);
+        grid.put(1L, new GeoPoint(41.8858, -87.6181), "worker");
+
+        // Act
+        grid.put(1L, new GeoPoint(40.7157, -73.9864), "worker");
+        List<GeoMatch<String>> afterMove = grid.nearest(MIDTOWN, 5, 10, value -> true);
+        grid.remove(1L);
+
+        // Assert
+        assertEquals(1, afterMove.size());
+        assertTrue(grid.nearest(MIDTOWN, 5, 10, value -> true).isEmpty());
+        assertEquals(0, grid.size());
+    }
+}
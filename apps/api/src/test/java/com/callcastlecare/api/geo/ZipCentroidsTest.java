@@ -0,0 +1,31 @@
+package com.callcastlecare.api.geo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipCentroidsTest {
+
+    @Test
+    void lookup_ReadsGazetteerColumnsByName() {
+        // Arrange: the gazetteer pads its last column with trailing spaces
+        String gazetteer = "GEOID\tALAND\tAWATER\tALAND_SQMI\tAWATER_SQMI\tINTPTLAT\tINTPTLONG          \n"
+                + "60614\t8281367\t0\t3.197\t0.000\t41.922695\t-87.652830          \n"
+                + "60657\t5853215\t0\t2.260\t0.000\t41.940277\t-87.649234          \n";
+        ZipCentroids centroids = new ZipCentroids(new ByteArrayResource(gazetteer.getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        Optional<GeoPoint> lincolnPark = centroids.lookup("60614-1234");
+        Optional<GeoPoint> lakeView = centroids.lookup("60657");
+
+        // Assert
+        assertEquals(2, centroids.size());
+        assertEquals(new GeoPoint(41.922695, -87.652830), lincolnPark.orElseThrow());
+        assertEquals(new GeoPoint(41.940277, -87.649234), lakeView.orElseThrow());
+        assertTrue(centroids.lookup("99999").isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package com.callcastlecare.api.messaging;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * In-process stand-in for an SQS queue, used to exercise messaging components without AWS.
+ */
+class InMemorySqsAsyncClient implements SqsAsyncClient {
+
+    final ConcurrentLinkedQueue<Message> messages = new ConcurrentLinkedQueue<>();
+    final List<Integer> batchSizes = new ArrayList<>();
+    final AtomicInteger sendBatchCalls = new AtomicInteger();
+
+    // Received but not yet deleted messages, keyed by receipt handle
+    final Map<String, Message> inFlight = new ConcurrentHashMap<>();
+    final AtomicInteger deleted = new AtomicInteger();
+    final AtomicInteger visibilityChanges = new AtomicInteger();
+
+    // Entries whose body matches are reported as failed in the batch response
+    volatile Predicate<String> rejectBody = body -> false;
+
+    @Override
+    public synchronized CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        sendBatchCalls.incrementAndGet();
+        batchSizes.add(request.entries().size());
+
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            if (rejectBody.test(entry.messageBody())) {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id()).code("InternalError").message("rejected").senderFault(false).build());
+                continue;
+            }
+            String messageId = UUID.randomUUID().toString();
+            messages.add(Message.builder()
+                    .messageId(messageId)
+                    .body(entry.messageBody())
+                    .messageAttributes(entry.messageAttributes())
+                    .build());
+            successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).messageId(messageId).build());
+        }
+        return CompletableFuture.supplyAsync(() -> SendMessageBatchResponse.builder()
+                .successful(successful)
+                .failed(failed)
+                .build());
+    }
+
+    void enqueue(String eventType, String body) {
+        messages.add(Message.builder()
+                .messageId(UUID.randomUUID().toString())
+                .body(body)
+                .messageAttributes(Map.of("eventType",
+                        MessageAttributeValue.builder().dataType("String").stringValue(eventType).build()))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Message> received = new ArrayList<>();
+            Message message;
+            while (received.size() < request.maxNumberOfMessages() && (message = messages.poll()) != null) {
+                Message delivered = message.toBuilder().receiptHandle(UUID.randomUUID().toString()).build();
+                inFlight.put(delivered.receiptHandle(), delivered);
+                received.add(delivered);
+            }
+            if (received.isEmpty()) {
+                // Stand-in for a long poll that returns nothing
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ReceiveMessageResponse.builder().messages(received).build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            if (inFlight.remove(entry.receiptHandle()) != null) {
+                deleted.incrementAndGet();
+            }
+            successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+        }
+        return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().successful(successful).build());
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+        visibilityChanges.addAndGet(request.entries().size());
+        return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build())
+                        .toList())
+                .build());
+    }
+
+    @Override
+    public String serviceName() {
+        return "sqs";
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,87 @@
+package com.callcastlecare.api.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsBatchPublisherTest {
+
+    private InMemorySqsAsyncClient queue;
+    private SimpleMeterRegistry meterRegistry;
+    private SqsBatchPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        queue = new InMemorySqsAsyncClient();
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new SqsBatchPublisher(queue, "https://sqs.local/000000000000/orders",
+                new SqsBatchPublisher.Settings(100, Duration.ofMillis(50), Duration.ofMillis(100), 2), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    @Test
+    void publish_GroupsMessagesIntoBatchesOfTen() throws Exception {
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            results.add(publisher.publish("{\"orderId\":" + i + "}", Map.of()));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(25, queue.messages.size());
+        assertEquals(3, queue.sendBatchCalls.get());
+        assertTrue(queue.batchSizes.stream().allMatch(size -> size <= SqsBatchPublisher.MAX_BATCH_ENTRIES));
+        assertEquals(25.0, meterRegistry.get("sqs.publisher.messages").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void publish_FlushesPartialBatchAfterLinger() throws Exception {
+        // Act
+        String messageId = publisher.publish("{\"orderId\":1}", Map.of()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNotNull(messageId);
+        assertEquals(1, queue.sendBatchCalls.get());
+    }
+
+    @Test
+    void publish_FailsOnlyRejectedEntries() throws Exception {
+        // Arrange
+        queue.rejectBody = body -> body.contains("bad");
+
+        // Act
+        CompletableFuture<String> good = publisher.publish("good", Map.of());
+        CompletableFuture<String> bad = publisher.publish("bad", Map.of());
+
+        // Assert
+        assertNotNull(good.get(5, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause().getMessage().contains("InternalError"));
+        assertEquals(1, queue.messages.size());
+    }
+
+    @Test
+    void publish_RejectsAfterClose() {
+        // Arrange
+        publisher.close();
+
+        // Act & Assert
+        assertThrows(ExecutionException.class, () -> publisher.publish("late", Map.of()).get(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,179 @@
+package com.callcastlecare.api.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsQueueConsumerTest {
+
+    private InMemorySqsAsyncClient queue;
+    private SqsQueueConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        queue = new InMemorySqsAsyncClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void consume_DispatchesByEventTypeAndDeletesHandledMessages() throws Exception {
+        // Arrange
+        Set<String> bodies = ConcurrentHashMap.newKeySet();
+        CountDownLatch handled = new CountDownLatch(25);
+        start(settings(8, Duration.ofSeconds(30)), handler("OrderCreated", event -> {
+            bodies.add(event.body());
+            handled.countDown();
+        }));
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            queue.enqueue("OrderCreated", "order-" + i);
+        }
+
+        // Assert
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertEquals(25, bodies.size());
+        awaitDeleted(25);
+    }
+
+    @Test
+    void consume_LeavesFailedMessagesOnQueue() throws Exception {
+        // Arrange
+        CountDownLatch attempted = new CountDownLatch(2);
+        start(settings(4, Duration.ofSeconds(30)), handler("OrderCreated", event -> {
+            attempted.countDown();
+            if (event.body().equals("bad")) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+
+        // Act
+        queue.enqueue("OrderCreated", "good");
+        queue.enqueue("OrderCreated", "bad");
+
+        // Assert
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        awaitDeleted(1);
+        assertEquals(1, queue.inFlight.size());
+        assertEquals("bad", queue.inFlight.values().iterator().next().body());
+    }
+
+    @Test
+    void consume_NeverExceedsConcurrency() throws Exception {
+        // Arrange
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch handled = new CountDownLatch(30);
+        start(settings(3, Duration.ofSeconds(30)), handler("OrderCreated", event -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+            handled.countDown();
+        }));
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            queue.enqueue("OrderCreated", "order-" + i);
+        }
+
+        // Assert
+        assertTrue(handled.await(10, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= 3, "peak concurrency was " + peak.get());
+    }
+
+    @Test
+    void consume_ExtendsVisibilityForSlowHandlers() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        start(settings(1, Duration.ofSeconds(2)), handler("OrderCreated", event -> release.await()));
+
+        // Act
+        queue.enqueue("OrderCreated", "slow");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.visibilityChanges.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(queue.visibilityChanges.get() > 0);
+        awaitDeleted(1);
+    }
+
+    @Test
+    void consume_DeletesFinishedMessagesWithoutWaitingForSlowSiblings() throws Exception {
+        // Arrange: both messages are on the queue before the first receive
+        CountDownLatch release = new CountDownLatch(1);
+        queue.enqueue("OrderCreated", "slow");
+        queue.enqueue("OrderCreated", "fast");
+        start(settings(4, Duration.ofSeconds(30)), handler("OrderCreated", event -> {
+            if (event.body().equals("slow")) {
+                release.await();
+            }
+        }));
+
+        // Act & Assert: the fast message is deleted while the slow one is still running
+        try {
+            awaitDeleted(1);
+            assertEquals(1, queue.inFlight.size());
+            assertEquals("slow", queue.inFlight.values().iterator().next().body());
+        } finally {
+            release.countDown();
+        }
+        awaitDeleted(2);
+    }
+
+    private void start(SqsQueueConsumer.Settings settings, SqsEventHandler... handlers) {
+        consumer = new SqsQueueConsumer(queue, "https://sqs.local/000000000000/orders",
+                new SqsEventHandlerRegistry(List.of(handlers)), settings, new SimpleMeterRegistry());
+        consumer.start();
+    }
+
+    private static SqsQueueConsumer.Settings settings(int concurrency, Duration visibilityTimeout) {
+        return new SqsQueueConsumer.Settings(concurrency, 2, Duration.ofSeconds(1), visibilityTimeout,
+                Duration.ofMinutes(1), Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+
+    private void awaitDeleted(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.deleted.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, queue.deleted.get());
+    }
+
+    private interface ThrowingConsumer {
+        void accept(SqsEvent event) throws Exception;
+    }
+
+    private static SqsEventHandler handler(String eventType, ThrowingConsumer body) {
+        return new SqsEventHandler() {
+            @Override
+            public String eventType() {
+                return eventType;
+            }
+
+            @Override
+            public void handle(SqsEvent event) throws Exception {
+                body.accept(event);
+            }
+        };
+    }
+}
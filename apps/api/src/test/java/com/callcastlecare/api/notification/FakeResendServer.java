@@ -0,0 +1,112 @@
+package com.callcastlecare.api.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Local stand-in for Resend's {@code POST /emails/batch}, used to exercise and benchmark
+ * {@link ResendBatchSender} without the network.
+ */
+public class FakeResendServer implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY the server's separate header and body writes meet delayed ACKs,
+        // adding ~40 ms to every loopback request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+
+    public final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    public final AtomicInteger accepted = new AtomicInteger();
+
+    // Simulated round trip to the API
+    public volatile Duration latency = Duration.ZERO;
+
+    // Recipients that fail validation
+    public volatile Predicate<String> rejectRecipient = to -> false;
+
+    // Reject a whole batch containing an invalid email, as Resend does without permissive validation
+    public volatile boolean strict;
+
+    // Answer every request with this status instead, e.g. 429
+    public volatile int forcedStatus;
+
+    public FakeResendServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/emails/batch", this::handleBatch);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode emails = objectMapper.readTree(exchange.getRequestBody());
+            batchSizes.add(emails.size());
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (forcedStatus != 0) {
+                respond(exchange, forcedStatus, objectMapper.createObjectNode().put("message", "Forced failure"));
+                return;
+            }
+
+            ArrayNode data = objectMapper.createArrayNode();
+            ArrayNode errors = objectMapper.createArrayNode();
+            for (int i = 0; i < emails.size(); i++) {
+                if (rejectRecipient.test(emails.get(i).path("to").path(0).asText())) {
+                    errors.addObject().put("index", i).put("message", "Invalid `to` field");
+                } else {
+                    data.addObject().put("id", UUID.randomUUID().toString());
+                }
+            }
+            if (!errors.isEmpty() && strict) {
+                respond(exchange, 422, objectMapper.createObjectNode().put("message", "Invalid `to` field"));
+                return;
+            }
+            accepted.addAndGet(data.size());
+            ObjectNode body = objectMapper.createObjectNode();
+            body.set("data", data);
+            if (!errors.isEmpty()) {
+                body.set("errors", errors);
+            }
+            respond(exchange, 200, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.model.NotificationDeadLetter;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.repository.NotificationDeadLetterRepository;
+import com.callcastlecare.api.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final NotificationDeadLetterRepository deadLetterRepository = mock(NotificationDeadLetterRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationProperties properties = new NotificationProperties();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        Order order = new Order();
+        order.setId(1L);
+        when(orderRepository.findForNotificationById(anyLong())).thenReturn(Optional.of(order));
+
+        NotificationProperties.Channel sms = properties.channel(NotificationChannel.SMS);
+        sms.setConcurrency(1);
+        sms.setRatePerSecond(0);
+        sms.setMaxAttempts(3);
+        sms.setInitialBackoff(Duration.ofMillis(10));
+        sms.setMaxBackoff(Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void submit_RetriesFailedSendUntilItSucceeds() throws Exception {
+        // Arrange
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        dispatcher = start(new FakeSender(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Twilio unavailable");
+            }
+            sent.countDown();
+        }));
+
+        // Act
+        boolean queued = dispatcher.submit(confirmation());
+
+        // Assert
+        assertTrue(queued);
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, count("retried"));
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_DeadLettersAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        dispatcher = start(new FakeSender(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Twilio unavailable");
+        }));
+
+        // Act
+        dispatcher.submit(confirmation());
+
+        // Assert
+        ArgumentCaptor<NotificationDeadLetter> captor = ArgumentCaptor.forClass(NotificationDeadLetter.class);
+        verify(deadLetterRepository, timeout(5000)).save(captor.capture());
+        NotificationDeadLetter deadLetter = captor.getValue();
+        assertEquals(3, attempts.get());
+        assertEquals(3, deadLetter.getAttempts());
+        assertEquals(NotificationChannel.SMS, deadLetter.getChannel());
+        assertEquals(Notification.Type.ORDER_CONFIRMATION, deadLetter.getType());
+        assertEquals(1L, deadLetter.getOrderId());
+        assertTrue(deadLetter.getLastError().contains("Twilio unavailable"));
+    }
+
+    @Test
+    void submit_DeadLettersRejectedNotificationWithoutRetrying() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        dispatcher = start(new FakeSender(() -> {
+            attempts.incrementAndGet();
+            throw new NonRetryableNotificationException("Invalid `to` field");
+        }));
+
+        // Act
+        dispatcher.submit(confirmation());
+
+        // Assert
+        ArgumentCaptor<NotificationDeadLetter> captor = ArgumentCaptor.forClass(NotificationDeadLetter.class);
+        verify(deadLetterRepository, timeout(5000)).save(captor.capture());
+        assertEquals(1, attempts.get());
+        assertEquals(1, captor.getValue().getAttempts());
+        assertTrue(captor.getValue().getLastError().contains("Invalid `to` field"));
+        assertEquals(0.0, count("retried"));
+    }
+
+    @Test
+    void submit_DeadLettersWhenQueueIsFull() {
+        // Arrange: not started, so nothing drains the queue
+        properties.channel(NotificationChannel.SMS).setQueueCapacity(1);
+        dispatcher = new NotificationDispatcher(List.of(new FakeSender(() -> { })), orderRepository,
+                deadLetterRepository, properties, transactionManager, meterRegistry);
+
+        // Act
+        boolean first = dispatcher.submit(confirmation());
+        boolean second = dispatcher.submit(confirmation());
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1.0, count("rejected"));
+        verify(deadLetterRepository).save(argThat(deadLetter -> "Queue full".equals(deadLetter.getLastError())));
+    }
+
+    private NotificationDispatcher start(NotificationSender sender) {
+        NotificationDispatcher started = new NotificationDispatcher(List.of(sender), orderRepository,
+                deadLetterRepository, properties, transactionManager, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("notifications").tag("channel", "sms").tag("result", result).counter().count();
+    }
+
+    private static Notification confirmation() {
+        return new Notification(NotificationChannel.SMS, Notification.Type.ORDER_CONFIRMATION, 1L);
+    }
+
+    private record FakeSender(Runnable onSend) implements NotificationSender {
+        @Override
+        public NotificationChannel channel() {
+            return NotificationChannel.SMS;
+        }
+
+        @Override
+        public void send(Notification notification, Order order) {
+            onSend.run();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.event.OrderCreatedEvent;
+import com.callcastlecare.api.model.NotificationDeadLetter;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.repository.NotificationDeadLetterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NotificationDispatcher.class, OrderNotificationListener.class, NotificationProperties.class,
+        OrderNotificationListenerTest.Senders.class})
+class OrderNotificationListenerTest {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private NotificationDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void onOrderCreated_DeadLetterRejectedAfterCommitIsStored() {
+        // Arrange: a stopped dispatcher rejects and dead-letters everything submitted to it
+        dispatcher.stop();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                eventPublisher.publishEvent(new OrderCreatedEvent(7L)));
+
+        // Assert
+        List<NotificationDeadLetter> deadLetters = deadLetterRepository.findAll();
+        assertEquals(1, deadLetters.size());
+        assertEquals(NotificationChannel.SMS, deadLetters.get(0).getChannel());
+        assertEquals(7L, deadLetters.get(0).getOrderId());
+        assertEquals("Dispatcher stopped", deadLetters.get(0).getLastError());
+    }
+
+    @TestConfiguration
+    static class Senders {
+
+        @Bean
+        NotificationSender smsSender() {
+            return new NotificationSender() {
+                @Override
+                public NotificationChannel channel() {
+                    return NotificationChannel.SMS;
+                }
+
+                @Override
+                public void send(Notification notification, Order order) {
+                }
+            };
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
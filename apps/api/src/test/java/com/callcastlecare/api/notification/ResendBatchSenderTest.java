@@ -0,0 +1,134 @@
+package com.callcastlecare.api.notification;
+
+import com.callcastlecare.api.client.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResendBatchSenderTest {
+
+    private FakeResendServer resend;
+    private SimpleMeterRegistry meterRegistry;
+    private ResendBatchSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resend = new FakeResendServer();
+        meterRegistry = new SimpleMeterRegistry();
+        sender = new ResendBatchSender(resend.baseUrl(), "re_test",
+                new ResendBatchSender.Settings(1000, 10, Duration.ofMillis(50), Duration.ofMillis(100),
+                        Duration.ofSeconds(5), 0),
+                new Bulkhead("resend", 4, Duration.ofSeconds(1), meterRegistry), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.close();
+        resend.close();
+    }
+
+    @Test
+    void send_GroupsEmailsIntoBatches() throws Exception {
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            results.add(sender.send(email("customer" + i + "@example.com")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(25, resend.accepted.get());
+        assertEquals(3, resend.batchSizes.size());
+        assertTrue(resend.batchSizes.stream().allMatch(size -> size <= 10));
+        assertEquals(25.0, meterRegistry.get("resend.batch.emails").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void send_FailsOnlyInvalidEmails() throws Exception {
+        // Arrange
+        resend.rejectRecipient = to -> to.startsWith("bad");
+
+        // Act
+        CompletableFuture<String> good = sender.send(email("good@example.com"));
+        CompletableFuture<String> bad = sender.send(email("bad@example"));
+
+        // Assert
+        assertNotNull(good.get(5, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NonRetryableNotificationException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("Invalid `to` field"));
+        assertEquals(1, resend.accepted.get());
+    }
+
+    @Test
+    void send_SplitsBatchRejectedAsAWhole() throws Exception {
+        // Arrange
+        resend.strict = true;
+        resend.rejectRecipient = to -> to.startsWith("bad");
+        List<CompletableFuture<String>> good = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 7; i++) {
+            good.add(sender.send(email("customer" + i + "@example.com")));
+        }
+        CompletableFuture<String> bad = sender.send(email("bad@example"));
+
+        // Assert
+        CompletableFuture.allOf(good.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NonRetryableNotificationException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("Invalid `to` field"));
+        assertEquals(7, resend.accepted.get());
+    }
+
+    @Test
+    void send_FailsWholeBatchOnServerError() {
+        // Arrange
+        resend.forcedStatus = 429;
+
+        // Act
+        CompletableFuture<String> result = sender.send(email("customer@example.com"));
+
+        // Assert
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause().getMessage().contains("HTTP 429"));
+        assertFalse(error.getCause() instanceof NonRetryableNotificationException);
+    }
+
+    @Test
+    void send_FailsBatchAndKeepsPermitWhenRequestCannotBeBuilt() throws Exception {
+        // Arrange: a line break in the API key makes the Authorization header invalid
+        Bulkhead bulkhead = new Bulkhead("resend", 1, Duration.ofMillis(100), meterRegistry);
+        ResendBatchSender broken = new ResendBatchSender(resend.baseUrl(), "re_test\n",
+                new ResendBatchSender.Settings(10, 10, Duration.ofMillis(10), Duration.ofMillis(100),
+                        Duration.ofSeconds(5), 0),
+                bulkhead, meterRegistry);
+
+        // Act
+        CompletableFuture<String> result;
+        try {
+            result = broken.send(email("customer@example.com"));
+            assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        } finally {
+            broken.close();
+        }
+
+        // Assert
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(0, resend.batchSizes.size());
+    }
+
+    private static ResendBatchSender.Email email(String to) {
+        return new ResendBatchSender.Email("noreply@callcastlecare.com", List.of(to), "Order update", "<p>Hello</p>");
+    }
+}
@@ -0,0 +1,124 @@
+package com.callcastlecare.api.notification.template;
+
+import com.callcastlecare.api.config.NotificationProperties;
+import com.callcastlecare.api.model.Address;
+import com.callcastlecare.api.model.Customer;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.notification.NotificationChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationTemplatesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void render_MatchesFormattedMessages() {
+        // Arrange
+        NotificationTemplates templates = templates("classpath:notification-templates/");
+        Order order = order("Ana");
+
+        // Act
+        String accepted = templates.get(NotificationChannel.SMS, "order-status-update", Order.OrderStatus.ACCEPTED)
+                .render(order);
+        order.setStatus(Order.OrderStatus.PENDING);
+        String pending = templates.get(NotificationChannel.SMS, "order-status-update", Order.OrderStatus.PENDING)
+                .render(order);
+
+        // Assert
+        assertEquals(String.format(
+                "CastleCare: Your %s service (Order #%d) has been assigned to %s %s. They will arrive on %s at %s.",
+                "LAWNCARE", 42L, "Sam", "Rivera", "2025-06-01", "09:30"), accepted);
+        assertEquals("CastleCare: Your LAWNCARE service (Order #42) status has been updated to PENDING.", pending);
+    }
+
+    @Test
+    void render_EscapesVariablesInHtmlAndIncludesStatusMessage() {
+        // Arrange
+        NotificationTemplates templates = templates("classpath:notification-templates/");
+        Order order = order("<script>alert('x')</script>");
+
+        // Act
+        String html = templates.get(NotificationChannel.EMAIL, "order-status-update").render(order);
+
+        // Assert
+        assertTrue(html.contains("<p>Hello &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;,</p>"));
+        assertTrue(html.contains("<p>A worker has been assigned to your order and will arrive as scheduled.</p>"));
+    }
+
+    @Test
+    void reload_PicksUpEditsAndKeepsLastGoodSet() throws IOException {
+        // Arrange
+        Path sms = Files.createDirectories(directory.resolve("sms"));
+        Files.writeString(sms.resolve("order-confirmation.txt"), "Order #{{order.id}} confirmed\n");
+        Files.writeString(sms.resolve("order-confirmation_es.txt"), "Pedido #{{order.id}} confirmado\n");
+        NotificationTemplates templates = templates(directory.toUri().toString());
+        Order order = order("Ana");
+        String before = templates.get(NotificationChannel.SMS, "order-confirmation").render(order);
+
+        // Act
+        Files.writeString(sms.resolve("order-confirmation.txt"), "Order #{{order.id}} is booked\n");
+        templates.reload();
+        String edited = templates.get(NotificationChannel.SMS, "order-confirmation").render(order);
+        Files.writeString(sms.resolve("order-confirmation.txt"), "Order #{{order.number}}\n");
+        templates.reload();
+        String afterBrokenEdit = templates.get(NotificationChannel.SMS, "order-confirmation").render(order);
+        String spanish = templates.get(NotificationChannel.SMS, "order-confirmation", null, Locale.forLanguageTag("es-MX"))
+                .render(order);
+
+        // Assert
+        assertEquals("Order #42 confirmed", before);
+        assertEquals("Order #42 is booked", edited);
+        assertEquals("Order #42 is booked", afterBrokenEdit);
+        assertEquals("Pedido #42 confirmado", spanish);
+        assertThrows(IllegalStateException.class, () -> templates.get(NotificationChannel.EMAIL, "order-confirmation"));
+    }
+
+    private static NotificationTemplates templates(String location) {
+        NotificationProperties properties = new NotificationProperties();
+        properties.getTemplates().setLocation(location);
+        return new NotificationTemplates(properties, new DefaultResourceLoader());
+    }
+
+    private static Order order(String customerFirstName) {
+        Customer customer = new Customer();
+        customer.setFirstName(customerFirstName);
+        Worker worker = new Worker();
+        worker.setFirstName("Sam");
+        worker.setLastName("Rivera");
+        Address address = new Address();
+        address.setStreet("12 Elm St");
+        address.setCity("Austin");
+        address.setState("TX");
+        address.setZip("78701");
+        PricingOption pricingOption = new PricingOption();
+        pricingOption.setName("Standard");
+
+        Order order = new Order();
+        order.setId(42L);
+        order.setCustomer(customer);
+        order.setWorker(worker);
+        order.setAddress(address);
+        order.setPricingOption(pricingOption);
+        order.setServiceType(Order.ServiceType.LAWNCARE);
+        order.setStatus(Order.OrderStatus.ACCEPTED);
+        order.setDate(LocalDate.of(2025, 6, 1));
+        order.setTimeSlot(LocalTime.of(9, 30));
+        order.setPrice(new BigDecimal("49.99"));
+        return order;
+    }
+}
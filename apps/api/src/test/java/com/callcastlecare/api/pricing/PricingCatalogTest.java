@@ -0,0 +1,80 @@
+package com.callcastlecare.api.pricing;
+
+import com.callcastlecare.api.dto.PricingOptionDto;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingCatalogTest {
+
+    @Test
+    void of_IndexesOptionsByIdServiceTypeAndBillingPeriod() {
+        // Arrange
+        List<PricingOption> options = List.of(
+                option(3L, Order.ServiceType.LAWNCARE, Order.BillingPeriod.ONE_TIME, "1+ acres"),
+                option(1L, Order.ServiceType.LAWNCARE, Order.BillingPeriod.MONTH, "0-0.5 acres"),
+                option(2L, Order.ServiceType.LAUNDRY, Order.BillingPeriod.MONTH, "Any"));
+
+        // Act
+        PricingCatalog catalog = PricingCatalog.of(options, PricingCatalogTest::toDto);
+
+        // Assert
+        assertEquals(3, catalog.size());
+        assertEquals("option-2", catalog.findById(2L).orElseThrow().getName());
+        assertTrue(catalog.findById(9L).isEmpty());
+        assertEquals(List.of(1L, 3L), ids(catalog.byServiceType(Order.ServiceType.LAWNCARE)));
+        assertEquals(List.of(1L), ids(catalog.byServiceTypeAndBillingPeriod(Order.ServiceType.LAWNCARE, Order.BillingPeriod.MONTH)));
+        assertEquals(List.of(), catalog.byServiceType(Order.ServiceType.LIGHTING));
+        assertEquals(List.of(), catalog.byServiceTypeAndBillingPeriod(Order.ServiceType.LAUNDRY, Order.BillingPeriod.ONE_TIME));
+        assertThrows(UnsupportedOperationException.class, () -> catalog.all().clear());
+    }
+
+    @Test
+    void of_CompilesSizeMatchersAndSkipsUnparseableRanges() {
+        // Arrange
+        List<PricingOption> options = List.of(
+                option(1L, Order.ServiceType.LAWNCARE, Order.BillingPeriod.MONTH, "0-0.5 acres"),
+                option(2L, Order.ServiceType.LAWNCARE, Order.BillingPeriod.MONTH, "medium yard"));
+
+        // Act
+        PricingCatalog catalog = PricingCatalog.of(options, PricingCatalogTest::toDto);
+
+        // Assert
+        assertEquals(List.of(1L), ids(catalog.matcher(Order.ServiceType.LAWNCARE).match(0.25)));
+        assertEquals(new SizeRange(0.0, 0.5), catalog.sizeRange(1L).orElseThrow());
+        assertTrue(catalog.sizeRange(2L).isEmpty());
+        assertTrue(catalog.findById(2L).isPresent());
+        assertNull(catalog.matcher(Order.ServiceType.LIGHTING));
+    }
+
+    private static PricingOption option(Long id, Order.ServiceType serviceType, Order.BillingPeriod billingPeriod,
+                                        String sizeRange) {
+        return PricingOption.builder()
+                .id(id)
+                .serviceType(serviceType)
+                .name("option-" + id)
+                .price(BigDecimal.TEN)
+                .billingPeriod(billingPeriod)
+                .sizeRange(sizeRange)
+                .build();
+    }
+
+    private static PricingOptionDto toDto(PricingOption pricingOption) {
+        return PricingOptionDto.builder()
+                .id(pricingOption.getId())
+                .serviceType(pricingOption.getServiceType())
+                .name(pricingOption.getName())
+                .billingPeriod(pricingOption.getBillingPeriod())
+                .sizeRange(pricingOption.getSizeRange())
+                .build();
+    }
+
+    private static List<Long> ids(List<PricingOptionDto> options) {
+        return options.stream().map(PricingOptionDto::getId).toList();
+    }
+}
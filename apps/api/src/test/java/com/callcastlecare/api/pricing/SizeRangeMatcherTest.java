@@ -0,0 +1,50 @@
+package com.callcastlecare.api.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizeRangeMatcherTest {
+
+    @Test
+    void parse_HandlesExistingLabels() {
+        assertEquals(new SizeRange(0.0, 0.5), SizeRange.parse("0-0.5 acres"));
+        assertEquals(new SizeRange(0.6, 1.0), SizeRange.parse("0.6-1 acre"));
+        assertEquals(new SizeRange(1.0, null), SizeRange.parse("1+ acres"));
+        assertEquals(new SizeRange(null, 1300.0), SizeRange.parse("Up to 1300 sq ft"));
+        assertEquals(new SizeRange(1350.0, 2449.0), SizeRange.parse("1,350-2,449 sq ft"));
+        assertEquals(new SizeRange(2450.0, null), SizeRange.parse("2450+ sq ft"));
+    }
+
+    @Test
+    void parse_RejectsUnknownLabels() {
+        assertThrows(IllegalArgumentException.class, () -> SizeRange.parse("medium yard"));
+    }
+
+    @Test
+    void match_ReturnsEveryRangeContainingTheSize() {
+        // Arrange
+        SizeRangeMatcher<String> matcher = SizeRangeMatcher.compile(List.of(
+                Map.entry(SizeRange.parse("1+ acres"), "large"),
+                Map.entry(SizeRange.parse("0-0.5 acres"), "small"),
+                Map.entry(SizeRange.parse("0.6-1 acre"), "medium")));
+
+        // Act & Assert
+        assertEquals(List.of("small"), matcher.match(0.25));
+        assertEquals(List.of(), matcher.match(0.55));
+        assertEquals(List.of("medium", "large"), matcher.match(1.0));
+        assertEquals(List.of("large"), matcher.match(12));
+        assertEquals(List.of(), matcher.match(-1));
+    }
+
+    @Test
+    void propertySize_ParsesLotSizeUnits() {
+        assertEquals(0.25, PropertySize.parseLotSizeAcres("0.25 acres"));
+        assertEquals(1.0, PropertySize.parseLotSizeAcres("1 acre"));
+        assertEquals(0.25, PropertySize.parseLotSizeAcres("10,890 sqft"));
+        assertThrows(IllegalArgumentException.class, () -> PropertySize.parseLotSizeAcres("big"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.callcastlecare.api.security;
+
+import com.callcastlecare.api.config.CognitoProperties;
+import com.callcastlecare.api.config.SecurityProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeyStoreTest {
+
+    @TempDir
+    private Path dir;
+
+    private Path jwksFile;
+    private RSAKey first;
+    private RSAKey second;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        jwksFile = dir.resolve("jwks.json");
+        first = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        second = new RSAKeyGenerator(2048).keyID("key-2").generate();
+    }
+
+    @Test
+    void get_ReloadsOnUnknownKeyIdAtMostOncePerInterval() throws IOException {
+        // Arrange
+        write(first);
+        JwksKeyStore store = store(Duration.ZERO, null);
+        store.refresh();
+        write(first, second);
+
+        // Act
+        int known = store.get(selector("key-1"), null).size();
+        int rotated = store.get(selector("key-2"), null).size();
+
+        // Assert
+        assertEquals(1, known);
+        assertEquals(1, rotated);
+        assertEquals(2, store.getKeys().getKeys().size());
+        assertFalse(store.getKeys().getKeys().get(0).isPrivate());
+
+        // Arrange: within the interval an unknown key does not reload
+        JwksKeyStore limited = store(Duration.ofHours(1), null);
+        write(first);
+        limited.refresh();
+        write(first, second);
+
+        // Act & Assert
+        assertTrue(limited.get(selector("key-2"), null).isEmpty());
+    }
+
+    @Test
+    void refresh_KeepsLastKnownGoodKeysAndFallsBackToBackup() throws IOException {
+        // Arrange
+        Path backup = dir.resolve("backup/jwks.json");
+        write(first);
+        JwksKeyStore store = store(Duration.ZERO, backup);
+        store.refresh();
+        Files.writeString(jwksFile, "not json");
+
+        // Act
+        store.refresh();
+        JwksKeyStore restarted = store(Duration.ZERO, backup);
+        restarted.refresh();
+
+        // Assert
+        assertEquals(1, store.get(selector("key-1"), null).size());
+        assertTrue(Files.exists(backup));
+        assertEquals(1, restarted.get(selector("key-1"), null).size());
+    }
+
+    private JwksKeyStore store(Duration minRefreshInterval, Path backup) {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getJwks().setLocation(jwksFile.toUri().toString());
+        securityProperties.getJwks().setMinRefreshInterval(minRefreshInterval);
+        securityProperties.getJwks().setBackupFile(backup != null ? backup.toString() : null);
+        return new JwksKeyStore(securityProperties, new CognitoProperties(), new DefaultResourceLoader());
+    }
+
+    private void write(RSAKey... keys) throws IOException {
+        // Private parts included on purpose; the store must only keep the public keys
+        Files.writeString(jwksFile, new JWKSet(List.of(keys)).toString(false));
+    }
+
+    private static JWKSelector selector(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+}
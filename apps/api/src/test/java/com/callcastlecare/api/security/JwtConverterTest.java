@@ -0,0 +1,61 @@
+package com.callcastlecare.api.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtConverterTest {
+
+    private final JwtConverter converter = new JwtConverter();
+
+    @Test
+    void convert_LiftsAccountIdClaimsIntoPrincipal() {
+        // Arrange
+        Jwt jwt = jwt()
+                .claim("email", "worker@example.com")
+                .claim("custom:workerId", "42")
+                .claim("cognito:groups", List.of("worker"))
+                .build();
+
+        // Act
+        AbstractAuthenticationToken authentication = converter.convert(jwt);
+
+        // Assert
+        UserPrincipal principal = assertInstanceOf(UserPrincipal.class, authentication.getPrincipal());
+        assertEquals(new UserPrincipal("user-1", "worker@example.com", null, 42L), principal);
+        assertTrue(principal.hasAccountIds());
+        assertEquals("user-1", authentication.getName());
+        assertSame(jwt, authentication.getCredentials());
+        assertTrue(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ROLE_WORKER"::equals));
+    }
+
+    @Test
+    void convert_LegacyTokenFallsBackToUsernameClaims() {
+        // Arrange
+        Jwt jwt = jwt()
+                .claim("cognito:username", "customer@example.com")
+                .claim("custom:customerId", "not-a-number")
+                .build();
+
+        // Act
+        UserPrincipal principal = (UserPrincipal) converter.convert(jwt).getPrincipal();
+
+        // Assert
+        assertEquals("customer@example.com", principal.email());
+        assertNull(principal.customerId());
+        assertFalse(principal.hasAccountIds());
+    }
+
+    private static Jwt.Builder jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("user-1");
+    }
+}
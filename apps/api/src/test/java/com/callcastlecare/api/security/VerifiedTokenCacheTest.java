@@ -0,0 +1,94 @@
+package com.callcastlecare.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new VerifiedTokenCache(delegate, 100, Duration.ofMinutes(10),
+                Clock.fixed(NOW, ZoneOffset.UTC), nanos::get);
+    }
+
+    @Test
+    void authenticate_ReusesVerifiedTokenWithRequestDetails() {
+        // Arrange
+        when(delegate.authenticate(any())).thenReturn(verified("token-a", NOW.plusSeconds(3600)));
+
+        // Act
+        Authentication first = cache.authenticate(bearer("token-a", "10.0.0.1"));
+        Authentication second = cache.authenticate(bearer("token-a", "10.0.0.2"));
+
+        // Assert
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals("10.0.0.2", second.getDetails());
+        assertTrue(second.isAuthenticated());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void authenticate_ExpiresAtTokenExpiryAndDoesNotKeepFailures() {
+        // Arrange
+        when(delegate.authenticate(any()))
+                .thenReturn(verified("token-a", NOW.plusSeconds(30)))
+                .thenReturn(verified("token-a", NOW.plusSeconds(30)))
+                .thenThrow(new InvalidBearerTokenException("bad signature"));
+
+        // Act & Assert
+        cache.authenticate(bearer("token-a", null));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.authenticate(bearer("token-a", null));
+        verify(delegate, times(2)).authenticate(any());
+
+        assertThrows(InvalidBearerTokenException.class, () -> cache.authenticate(bearer("token-b", null)));
+        assertThrows(InvalidBearerTokenException.class, () -> cache.authenticate(bearer("token-b", null)));
+        verify(delegate, times(4)).authenticate(any());
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token, Object details) {
+        BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+        bearer.setDetails(details);
+        return bearer;
+    }
+
+    private static UserAuthenticationToken verified(String token, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user-1")
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+        return new UserAuthenticationToken(jwt, UserPrincipal.from(jwt), List.of());
+    }
+}
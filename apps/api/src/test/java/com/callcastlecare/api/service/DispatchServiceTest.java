@@ -0,0 +1,65 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.dispatch.DispatchCandidate;
+import com.callcastlecare.api.dispatch.DispatchIndex;
+import com.callcastlecare.api.dispatch.DispatchOrder;
+import com.callcastlecare.api.dispatch.DispatchWorker;
+import com.callcastlecare.api.dispatch.ProximityLoadScoringPolicy;
+import com.callcastlecare.api.event.OrderStatusChangedEvent;
+import com.callcastlecare.api.event.WorkerChangedEvent;
+import com.callcastlecare.api.geo.GeoGrid;
+import com.callcastlecare.api.geo.ZipCentroids;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.repository.OrderRepository;
+import com.callcastlecare.api.repository.WorkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DispatchServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ZipCentroids zipCentroids = mock(ZipCentroids.class);
+    private DispatchIndex dispatchIndex;
+    private DispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        dispatchIndex = new DispatchIndex(new ProximityLoadScoringPolicy(100, 50, 10));
+        dispatchIndex.replaceAll(List.of(
+                new DispatchWorker(1L, "10001", Set.of("lawncare"), 2),
+                new DispatchWorker(2L, "10001", Set.of("lawncare"), 1)));
+        when(zipCentroids.lookup(anyString())).thenReturn(Optional.empty());
+        dispatchService = new DispatchService(dispatchIndex, new GeoGrid<>(0.05), zipCentroids,
+                mock(WorkerRepository.class), orderRepository);
+    }
+
+    @Test
+    void onWorkerChanged_WorkerBackInIndexKeepsActiveOrdersFromDatabase() {
+        // Arrange: worker 1 goes unavailable and accepts an order while out of the index
+        dispatchService.onWorkerChanged(workerChanged(false));
+        dispatchService.onOrderStatusChanged(new OrderStatusChangedEvent(20L, 1L, Order.OrderStatus.ACCEPTED));
+        when(orderRepository.countActiveOrdersByWorkerId(1L)).thenReturn(3L);
+
+        // Act
+        dispatchService.onWorkerChanged(workerChanged(true));
+
+        // Assert
+        List<DispatchCandidate> candidates = dispatchIndex.match(new DispatchOrder(10L, "lawncare", "10001"), 10);
+        assertEquals(List.of(2L, 1L), candidates.stream().map(DispatchCandidate::workerId).toList());
+        assertEquals(70.0, candidates.get(1).score());
+    }
+
+    private static WorkerChangedEvent workerChanged(boolean available) {
+        return new WorkerChangedEvent(1L, Worker.WorkerStatus.APPROVED, available, "10001", null, null,
+                List.of("lawncare"));
+    }
+}
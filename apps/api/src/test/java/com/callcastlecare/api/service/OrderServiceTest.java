@@ -0,0 +1,206 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.dto.OrderDto;
+import com.callcastlecare.api.dto.OrderPageDto;
+import com.callcastlecare.api.exception.OrderStatusConflictException;
+import com.callcastlecare.api.model.Address;
+import com.callcastlecare.api.model.Customer;
+import com.callcastlecare.api.model.Order;
+import com.callcastlecare.api.model.PricingOption;
+import com.callcastlecare.api.model.Worker;
+import com.callcastlecare.api.repository.OrderRepository;
+import com.callcastlecare.api.repository.WorkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private WorkerRepository workerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orderService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 3);
+        ReflectionTestUtils.setField(orderService, "maxBatchIds", 3);
+    }
+
+    @Test
+    void getOrdersByStatus_FirstPageReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        List<Order> rows = List.of(order(5L, now), order(4L, now), order(3L, now.minusMinutes(1)));
+        when(orderRepository.findByStatusOrderByCreatedAtDescIdDesc(Order.OrderStatus.PENDING, Limit.of(3)))
+                .thenReturn(rows);
+
+        // Act
+        OrderPageDto page = orderService.getOrdersByStatus(Order.OrderStatus.PENDING, null, null);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(2, page.getLimit());
+        assertEquals(new OrderCursor(now, 4L), OrderCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getOrdersByStatus_ContinuesAfterCursorAndClampsLimit() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123456000);
+        String cursor = new OrderCursor(createdAt, 4L).encode();
+        when(orderRepository.findByStatusAfter(eq(Order.OrderStatus.PENDING), eq(createdAt), eq(4L), any(Limit.class)))
+                .thenReturn(new ArrayList<>(List.of(order(3L, createdAt.minusMinutes(1)))));
+
+        // Act
+        OrderPageDto page = orderService.getOrdersByStatus(Order.OrderStatus.PENDING, cursor, 500);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(3, page.getLimit());
+        assertNull(page.getNextCursor());
+        verify(orderRepository).findByStatusAfter(Order.OrderStatus.PENDING, createdAt, 4L, Limit.of(4));
+    }
+
+    @Test
+    void getOrdersByStatus_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByStatus(Order.OrderStatus.PENDING, "not-a-cursor", null));
+    }
+
+    @Test
+    void getOrdersByIds_LoadsOnlyCacheMissesAndCachesThem() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache("orders");
+        when(cacheManager.getCache("orders")).thenReturn(cache);
+        cache.put(2L, OrderDto.builder().id(2L).build());
+        LocalDateTime now = LocalDateTime.now();
+        when(orderRepository.findAllById(List.of(3L, 1L))).thenReturn(List.of(order(1L, now), order(3L, now)));
+
+        // Act
+        List<OrderDto> orders = orderService.getOrdersByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L), orders.stream().map(OrderDto::getId).toList());
+        assertEquals(1L, ((OrderDto) cache.get(1L).get()).getId());
+        assertNotNull(cache.get(3L));
+        verify(orderRepository).findAllById(List.of(3L, 1L));
+    }
+
+    @Test
+    void getOrdersByIds_RejectsTooManyIds() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrdersByIds(List.of(1L, 2L, 3L, 4L)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void updateOrderStatus_AcceptsPendingOrderWithSingleConditionalUpdate() {
+        // Arrange
+        Order accepted = order(1L, LocalDateTime.now());
+        accepted.setStatus(Order.OrderStatus.ACCEPTED);
+        accepted.setWorker(worker(7L, Worker.WorkerStatus.APPROVED));
+        when(orderRepository.acceptIfPending(1L, 7L)).thenReturn(1);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(accepted));
+
+        // Act
+        OrderDto result = orderService.updateOrderStatus(1L, Order.OrderStatus.ACCEPTED, 7L);
+
+        // Assert
+        assertEquals(Order.OrderStatus.ACCEPTED, result.getStatus());
+        assertEquals(7L, result.getWorkerId());
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(workerRepository);
+    }
+
+    @Test
+    void updateOrderStatus_ConflictsWhenOrderAlreadyAccepted() {
+        // Arrange
+        Order taken = order(1L, LocalDateTime.now());
+        taken.setStatus(Order.OrderStatus.ACCEPTED);
+        taken.setWorker(worker(8L, Worker.WorkerStatus.APPROVED));
+        when(orderRepository.acceptIfPending(1L, 7L)).thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(taken));
+
+        // Act & Assert
+        OrderStatusConflictException e = assertThrows(OrderStatusConflictException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.ACCEPTED, 7L));
+        assertEquals(Order.OrderStatus.ACCEPTED, e.getCurrentStatus());
+    }
+
+    @Test
+    void updateOrderStatus_ReportsUnapprovedWorker() {
+        // Arrange
+        Order pending = order(1L, LocalDateTime.now());
+        pending.setStatus(Order.OrderStatus.PENDING);
+        when(orderRepository.acceptIfPending(1L, 7L)).thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pending));
+        when(workerRepository.findById(7L)).thenReturn(Optional.of(worker(7L, Worker.WorkerStatus.PENDING)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.ACCEPTED, 7L));
+    }
+
+    @Test
+    void updateOrderStatus_RejectsTransitionBackToPending() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.PENDING, null));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private Worker worker(Long id, Worker.WorkerStatus status) {
+        Worker worker = new Worker();
+        worker.setId(id);
+        worker.setStatus(status);
+        worker.setAvailability(true);
+        worker.setRoles(new ArrayList<>(List.of("lawncare")));
+        return worker;
+    }
+
+    private Order order(Long id, LocalDateTime createdAt) {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        PricingOption pricingOption = new PricingOption();
+        pricingOption.setId(1L);
+        Address address = new Address();
+        address.setId(1L);
+
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomer(customer);
+        order.setPricingOption(pricingOption);
+        order.setAddress(address);
+        order.setServiceType(Order.ServiceType.LAWNCARE);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+}
@@ -0,0 +1,160 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.model.OutboxEvent;
+import com.callcastlecare.api.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OutboxService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "outbox.relay.max-attempts=3",
+        "outbox.relay.lease-seconds=60",
+        "outbox.relay.max-backoff-seconds=300"
+})
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void enqueue_RequiresCallersTransaction() {
+        // Act
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.enqueue("Order", 1L, "OrderCreated", Map.of("orderId", 1L)));
+        OutboxEvent event = new TransactionTemplate(transactionManager).execute(status ->
+                outboxService.enqueue("Order", 1L, "OrderCreated", Map.of("orderId", 1L)));
+
+        // Assert
+        assertEquals(1, outboxEventRepository.count());
+        OutboxEvent stored = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(OutboxEvent.Status.PENDING, stored.getStatus());
+        assertEquals("{\"orderId\":1}", stored.getPayload());
+        assertFalse(stored.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void claimDue_LeasesClaimedEventsAndSkipsLockedRows() throws Exception {
+        // Arrange: another relay holds the two oldest due events
+        List<Long> ids = List.of(save(0), save(0), save(0));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRelay = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    ids.subList(0, 2).forEach(id ->
+                            entityManager.find(OutboxEvent.class, id, LockModeType.PESSIMISTIC_WRITE));
+                    locked.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<OutboxEvent> claimed = outboxService.claimDue(10);
+        release.countDown();
+        otherRelay.get(5, TimeUnit.SECONDS);
+        List<OutboxEvent> reclaimed = outboxService.claimDue(10);
+
+        // Assert
+        assertEquals(List.of(ids.get(2)), claimed.stream().map(OutboxEvent::getId).toList());
+        LocalDateTime leaseExpiry = outboxEventRepository.findById(ids.get(2)).orElseThrow().getNextAttemptAt();
+        assertTrue(leaseExpiry.isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertEquals(ids.subList(0, 2), reclaimed.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    void recordFailures_BacksOffAndParksAsFailedAfterMaxAttempts() {
+        // Arrange
+        Long id = save(0);
+
+        // Act
+        outboxService.recordFailures(Map.of(id, "SQS unavailable"));
+        OutboxEvent retrying = outboxEventRepository.findById(id).orElseThrow();
+        outboxService.recordFailures(Map.of(id, "SQS unavailable"));
+        outboxService.recordFailures(Map.of(id, "SQS still unavailable"));
+        OutboxEvent parked = outboxEventRepository.findById(id).orElseThrow();
+
+        // Assert
+        assertEquals(OutboxEvent.Status.PENDING, retrying.getStatus());
+        assertEquals(1, retrying.getAttempts());
+        assertTrue(retrying.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(1)));
+        assertEquals(OutboxEvent.Status.FAILED, parked.getStatus());
+        assertEquals(3, parked.getAttempts());
+        assertEquals("SQS still unavailable", parked.getLastError());
+        assertTrue(outboxService.claimDue(10).isEmpty());
+    }
+
+    @Test
+    void purgeSent_DeletesOnlySentEventsOlderThanRetention() {
+        // Arrange
+        Long oldSent = save(0);
+        Long recentSent = save(0);
+        Long pending = save(0);
+        outboxService.markSent(List.of(oldSent, recentSent));
+        OutboxEvent old = outboxEventRepository.findById(oldSent).orElseThrow();
+        old.setSentAt(LocalDateTime.now().minusDays(8));
+        outboxEventRepository.save(old);
+
+        // Act
+        int purged = outboxService.purgeSent(Duration.ofDays(7));
+
+        // Assert
+        assertEquals(1, purged);
+        assertEquals(List.of(recentSent, pending),
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList());
+    }
+
+    private Long save(int attempts) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("Order")
+                .aggregateId(1L)
+                .eventType("OrderCreated")
+                .payload("{}")
+                .attempts(attempts)
+                .build()).getId();
+    }
+}
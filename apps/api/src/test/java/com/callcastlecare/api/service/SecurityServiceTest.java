@@ -0,0 +1,143 @@
+package com.callcastlecare.api.service;
+
+import com.callcastlecare.api.repository.CustomerRepository;
+import com.callcastlecare.api.repository.OrderParticipants;
+import com.callcastlecare.api.repository.OrderRepository;
+import com.callcastlecare.api.repository.WorkerRepository;
+import com.callcastlecare.api.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SecurityServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private WorkerRepository workerRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private SecurityService securityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        securityService = new SecurityService(customerRepository, workerRepository, orderRepository, new RequestMemo(),
+                100, Duration.ofMinutes(5), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void isOrderParticipant_ComparesProjectedIds() {
+        // Arrange
+        when(orderRepository.findParticipantsById(1L))
+                .thenReturn(Optional.of(new OrderParticipants(1L, 10L, "customer@example.com", 20L, "worker@example.com")));
+
+        // Act & Assert
+        assertTrue(securityService.isOrderParticipant(1L, customer(10L)));
+        assertTrue(securityService.isOrderParticipant(1L, worker(20L)));
+        assertFalse(securityService.isOrderParticipant(1L, customer(11L)));
+        assertFalse(securityService.isOrderParticipant(1L, customer(20L)));
+        assertFalse(securityService.isWorkerForOrder(1L, customer(10L)));
+        verify(orderRepository, never()).findById(any());
+        verifyNoInteractions(customerRepository, workerRepository);
+    }
+
+    @Test
+    void orderChecks_ShareOneLoadWithinARequest() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(orderRepository.findParticipantsById(1L))
+                .thenReturn(Optional.of(new OrderParticipants(1L, 10L, "customer@example.com", null, null)));
+        when(orderRepository.findParticipantsById(2L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean participant = securityService.isOrderParticipant(1L, customer(10L));
+        boolean owner = securityService.isOrderOwner(1L, customer(10L));
+        boolean worker = securityService.isWorkerForOrder(1L, customer(10L));
+        boolean missing = securityService.isOrderParticipant(2L, customer(10L))
+                || securityService.isOrderOwner(2L, customer(10L));
+
+        // Assert
+        assertTrue(participant);
+        assertTrue(owner);
+        assertFalse(worker);
+        assertFalse(missing);
+        verify(orderRepository, times(1)).findParticipantsById(1L);
+        verify(orderRepository, times(1)).findParticipantsById(2L);
+    }
+
+    @Test
+    void accountOwnership_ComparesTokenIdsWithoutQueries() {
+        // Act & Assert
+        assertTrue(securityService.isCustomerOwner(10L, customer(10L)));
+        assertFalse(securityService.isCustomerOwner(11L, customer(10L)));
+        assertTrue(securityService.isWorkerOwner(20L, worker(20L)));
+        assertFalse(securityService.isWorkerOwner(20L, customer(20L)));
+        verifyNoInteractions(customerRepository, workerRepository, orderRepository);
+    }
+
+    @Test
+    void legacyTokens_ResolveIdsByEmailOnce() {
+        // Arrange
+        UserPrincipal legacy = new UserPrincipal("sub", "customer@example.com", null, null);
+        when(customerRepository.findIdByEmail("customer@example.com")).thenReturn(Optional.of(10L));
+        when(workerRepository.findIdByEmail("customer@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        boolean owner = securityService.isCustomerOwner(10L, legacy);
+        boolean otherCustomer = securityService.isCustomerOwner(11L, legacy);
+        boolean worker = securityService.isWorkerOwner(10L, legacy);
+
+        // Assert
+        assertTrue(owner);
+        assertFalse(otherCustomer);
+        assertFalse(worker);
+        verify(customerRepository, times(1)).findIdByEmail("customer@example.com");
+        verify(workerRepository, times(1)).findIdByEmail("customer@example.com");
+        verify(customerRepository, never()).findEmailById(any());
+    }
+
+    @Test
+    void untrustedClaims_AreIgnoredInFavourOfTheEmailLookup() {
+        // Arrange: a token claiming someone else's customer ID
+        SecurityService untrusting = new SecurityService(customerRepository, workerRepository, orderRepository,
+                new RequestMemo(), 100, Duration.ofMinutes(5), false);
+        when(customerRepository.findIdByEmail("customer@example.com")).thenReturn(Optional.of(99L));
+        when(workerRepository.findIdByEmail("customer@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        boolean victim = untrusting.isCustomerOwner(10L, customer(10L));
+        boolean own = untrusting.isCustomerOwner(99L, customer(10L));
+
+        // Assert
+        assertFalse(victim);
+        assertTrue(own);
+    }
+
+    private static UserPrincipal customer(Long customerId) {
+        return new UserPrincipal("sub", "customer@example.com", customerId, null);
+    }
+
+    private static UserPrincipal worker(Long workerId) {
+        return new UserPrincipal("sub", "worker@example.com", null, workerId);
+    }
+}